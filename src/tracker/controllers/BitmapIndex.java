@@ -0,0 +1,132 @@
+package tracker.controllers;
+
+import tracker.model.Task;
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+class BitmapIndex {
+    private final BitSet[] byType = new BitSet[TaskType.values().length];
+    private final BitSet[][] byStatus = new BitSet[TaskType.values().length][];
+    private final BitSet[] scheduled = new BitSet[TaskType.values().length];
+
+    BitmapIndex() {
+        for (var type : TaskType.values()) {
+            removeAll(type);
+        }
+    }
+
+    void put(Task task) {
+        int id = task.getId();
+        clear(id);
+        int type = task.getType().ordinal();
+        byType[type].set(id);
+        if (task.getStatus() != null) {
+            byStatus[type][task.getStatus().ordinal()].set(id);
+        }
+        scheduled[type].set(id, task.getStartTime() != null);
+    }
+
+    void remove(int id) {
+        clear(id);
+    }
+
+    void removeAll(TaskType type) {
+        int ordinal = type.ordinal();
+        byType[ordinal] = new BitSet();
+        byStatus[ordinal] = freshStatuses();
+        scheduled[ordinal] = new BitSet();
+    }
+
+    void resetAll(TaskType type, TaskStatus status) {
+        int ordinal = type.ordinal();
+        byStatus[ordinal] = freshStatuses();
+        byStatus[ordinal][status.ordinal()] = (BitSet) byType[ordinal].clone();
+        scheduled[ordinal] = new BitSet();
+    }
+
+    TaskType typeOf(int id) {
+        for (var type : TaskType.values()) {
+            if (byType[type.ordinal()].get(id)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    BitSet select(TaskType type, TaskStatus status, Boolean isScheduled) {
+        if (type != null) {
+            return select(type.ordinal(), status, isScheduled);
+        }
+
+        var result = new BitSet();
+        for (int ordinal = 0; ordinal < byType.length; ordinal++) {
+            result.or(select(ordinal, status, isScheduled));
+        }
+        return result;
+    }
+
+    int[] idsAfter(TaskType type, int afterId, int limit) {
+        var ids = byType[type.ordinal()];
+        int[] page = new int[Math.min(limit, 64)];
+        int size = 0;
+        for (int id = ids.nextSetBit(afterId + 1); id >= 0 && size < limit; id = ids.nextSetBit(id + 1)) {
+            if (size == page.length) {
+                page = Arrays.copyOf(page, (int) Math.min((long) size * 2, limit));
+            }
+            page[size++] = id;
+        }
+        return Arrays.copyOf(page, size);
+    }
+
+    boolean matches(int id, TaskStatus status, Boolean isScheduled) {
+        var type = typeOf(id);
+        if (type == null) {
+            return false;
+        }
+
+        int ordinal = type.ordinal();
+        return (status == null || byStatus[ordinal][status.ordinal()].get(id))
+                && (isScheduled == null || scheduled[ordinal].get(id) == isScheduled);
+    }
+
+    private BitSet select(int type, TaskStatus status, Boolean isScheduled) {
+        var result = (BitSet) byType[type].clone();
+        if (status != null) {
+            result.and(byStatus[type][status.ordinal()]);
+        }
+
+        if (isScheduled != null) {
+            if (isScheduled) {
+                result.and(scheduled[type]);
+            } else {
+                result.andNot(scheduled[type]);
+            }
+        }
+        return result;
+    }
+
+    private void clear(int id) {
+        var type = typeOf(id);
+        if (type == null) {
+            return;
+        }
+
+        int ordinal = type.ordinal();
+        byType[ordinal].clear(id);
+        for (var ids : byStatus[ordinal]) {
+            ids.clear(id);
+        }
+        scheduled[ordinal].clear(id);
+    }
+
+    private static BitSet[] freshStatuses() {
+        var statuses = new BitSet[TaskStatus.values().length];
+        for (int i = 0; i < statuses.length; i++) {
+            statuses[i] = new BitSet();
+        }
+        return statuses;
+    }
+}
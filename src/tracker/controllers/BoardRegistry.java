@@ -0,0 +1,143 @@
+package tracker.controllers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+public final class BoardRegistry implements AutoCloseable {
+    private static final Pattern BOARD_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final ConcurrentHashMap<String, Board> boards = new ConcurrentHashMap<>();
+    private final Function<String, TaskManager> factory;
+    private final long idleNanos;
+    private final ScheduledExecutorService evictor;
+
+    private static class Board {
+        private final TaskManager manager;
+        private final AtomicInteger leases = new AtomicInteger();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long lastAccess = System.nanoTime();
+
+        private Board(TaskManager manager) {
+            this.manager = manager;
+        }
+    }
+
+    public static final class Lease implements AutoCloseable {
+        private final Board board;
+        private boolean isClosed;
+
+        private Lease(Board board) {
+            this.board = board;
+        }
+
+        public TaskManager getManager() {
+            return board.manager;
+        }
+
+        @Override
+        public void close() {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            board.lastAccess = System.nanoTime();
+            board.lock.unlock();
+            board.leases.decrementAndGet();
+        }
+    }
+
+    public BoardRegistry(Function<String, TaskManager> factory, Duration idleTimeout) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Не передана фабрика трекеров для досок");
+        }
+
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Время простоя доски должно быть больше 0");
+        }
+        this.factory = factory;
+        idleNanos = idleTimeout.toNanos();
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "board-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(idleNanos / 2, TimeUnit.MILLISECONDS.toNanos(1));
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    public Lease acquire(String name) {
+        if (name == null || !BOARD_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Некорректное имя доски: " + name);
+        }
+
+        if (evictor.isShutdown()) {
+            throw new IllegalStateException("Реестр досок уже закрыт");
+        }
+
+        Board board = boards.compute(name, (key, current) -> {
+            Board acquired = current == null ? new Board(factory.apply(key)) : current;
+            acquired.leases.incrementAndGet();
+            return acquired;
+        });
+        board.lock.lock();
+        return new Lease(board);
+    }
+
+    public Set<String> getLoadedBoards() {
+        return new TreeSet<>(boards.keySet());
+    }
+
+    public int evictIdle() {
+        return evictIdle(System.nanoTime());
+    }
+
+    int evictIdle(long now) {
+        List<TaskManager> evicted = new ArrayList<>();
+        for (String name : boards.keySet()) {
+            boards.computeIfPresent(name, (key, board) -> {
+                if (board.leases.get() > 0 || now - board.lastAccess < idleNanos) {
+                    return board;
+                }
+                evicted.add(board.manager);
+                return null;
+            });
+        }
+
+        evicted.forEach(BoardRegistry::closeManager);
+        return evicted.size();
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        for (String name : boards.keySet()) {
+            var board = boards.remove(name);
+            if (board != null) {
+                closeManager(board.manager);
+            }
+        }
+    }
+
+    private static void closeManager(TaskManager manager) {
+        if (manager instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Не удалось закрыть трекер доски", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package tracker.controllers;
+
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+
+import java.util.List;
+
+public record BoardSnapshot(long version, List<Task> tasks, List<Epic> epics, List<Subtask> subtasks,
+                            List<Task> history, List<Task> prioritizedTasks) {
+}
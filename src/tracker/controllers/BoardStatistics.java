@@ -0,0 +1,141 @@
+package tracker.controllers;
+
+import tracker.model.Task;
+import tracker.util.IntObjectHashMap;
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+class BoardStatistics {
+    private static final long NOT_PENDING = Long.MIN_VALUE;
+
+    private final Bucket[] buckets = new Bucket[TaskType.values().length];
+    private long overdueBefore = Long.MIN_VALUE;
+
+    private record Contribution(TaskType type, TaskStatus status, boolean isScheduled, long minutes,
+                                long pendingEnd) {
+    }
+
+    private static class Bucket {
+        private final IntObjectHashMap<Contribution> contributions = new IntObjectHashMap<>();
+        private IntObjectHashMap<Contribution> defaults = new IntObjectHashMap<>();
+        private Contribution fallback;
+        private final int[] statuses = new int[TaskStatus.values().length];
+        private final TreeMap<Long, Integer> pendingEnds = new TreeMap<>();
+        private int scheduled;
+        private long plannedMinutes;
+        private int overdue;
+
+        private int size() {
+            return contributions.size() + defaults.size();
+        }
+    }
+
+    BoardStatistics() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    void put(Task task) {
+        remove(task.getId());
+
+        var type = task.getType();
+        var contribution = type == TaskType.EPIC
+                ? new Contribution(type, task.getStatus(), false, 0, NOT_PENDING)
+                : new Contribution(type, task.getStatus(), task.getStartTime() != null,
+                task.getDuration() == null ? 0 : task.getDuration().toMinutes(),
+                task.getStartTime() == null || task.getStatus() == TaskStatus.DONE
+                        ? NOT_PENDING : task.getEndMinute());
+        buckets[type.ordinal()].contributions.put(task.getId(), contribution);
+        apply(contribution, 1);
+    }
+
+    void remove(int id) {
+        for (var bucket : buckets) {
+            var contribution = bucket.contributions.remove(id);
+            if (contribution == null && bucket.defaults.remove(id) != null) {
+                contribution = bucket.fallback;
+            }
+
+            if (contribution != null) {
+                apply(contribution, -1);
+                return;
+            }
+        }
+    }
+
+    void removeAll(TaskType type) {
+        buckets[type.ordinal()] = new Bucket();
+    }
+
+    void resetAll(TaskType type, TaskStatus status) {
+        var previous = buckets[type.ordinal()];
+        var bucket = new Bucket();
+        if (previous.defaults.size() < previous.contributions.size()) {
+            bucket.defaults = previous.contributions;
+            previous.defaults.keySet().forEach(id -> bucket.defaults.put(id, previous.fallback));
+        } else {
+            bucket.defaults = previous.defaults;
+            previous.contributions.forEach((id, contribution) -> bucket.defaults.put((int) id, contribution));
+        }
+        bucket.fallback = new Contribution(type, status, false, 0, NOT_PENDING);
+        bucket.statuses[status.ordinal()] = bucket.defaults.size();
+        buckets[type.ordinal()] = bucket;
+    }
+
+    BoardStats snapshot(long nowMinute) {
+        for (var bucket : buckets) {
+            if (nowMinute >= overdueBefore) {
+                for (int count : bucket.pendingEnds.subMap(overdueBefore, true, nowMinute, false).values()) {
+                    bucket.overdue += count;
+                }
+            } else {
+                bucket.overdue = 0;
+                for (int count : bucket.pendingEnds.headMap(nowMinute, false).values()) {
+                    bucket.overdue += count;
+                }
+            }
+        }
+        overdueBefore = nowMinute;
+
+        var tasks = buckets[TaskType.TASK.ordinal()];
+        var epics = buckets[TaskType.EPIC.ordinal()];
+        var subtasks = buckets[TaskType.SUBTASK.ordinal()];
+        Map<TaskStatus, Integer> taskStatuses = new EnumMap<>(TaskStatus.class);
+        Map<TaskStatus, Integer> epicStatuses = new EnumMap<>(TaskStatus.class);
+        for (var status : TaskStatus.values()) {
+            taskStatuses.put(status, tasks.statuses[status.ordinal()] + subtasks.statuses[status.ordinal()]);
+            epicStatuses.put(status, epics.statuses[status.ordinal()]);
+        }
+
+        return new BoardStats(tasks.size(), epics.size(), subtasks.size(), taskStatuses, epicStatuses,
+                tasks.scheduled + subtasks.scheduled, tasks.plannedMinutes + subtasks.plannedMinutes,
+                tasks.overdue + subtasks.overdue);
+    }
+
+    private void apply(Contribution contribution, int delta) {
+        var bucket = buckets[contribution.type().ordinal()];
+        if (contribution.status() != null) {
+            bucket.statuses[contribution.status().ordinal()] += delta;
+        }
+
+        if (contribution.isScheduled()) {
+            bucket.scheduled += delta;
+        }
+        bucket.plannedMinutes += delta * contribution.minutes();
+
+        long end = contribution.pendingEnd();
+        if (end == NOT_PENDING) {
+            return;
+        }
+
+        bucket.pendingEnds.merge(end, delta, (count, change) -> count + change == 0 ? null : count + change);
+        if (end < overdueBefore) {
+            bucket.overdue += delta;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package tracker.controllers;
+
+import tracker.util.TaskStatus;
+
+import java.util.Map;
+
+public record BoardStats(int tasks, int epics, int subtasks, Map<TaskStatus, Integer> taskStatuses,
+                         Map<TaskStatus, Integer> epicStatuses, int scheduled, long plannedMinutes, int overdue) {
+}
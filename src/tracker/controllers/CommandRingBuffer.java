@@ -0,0 +1,126 @@
+package tracker.controllers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+class CommandRingBuffer {
+    private final Slot[] slots;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private long head;
+    private long tail;
+    private boolean closed;
+
+    static class Slot {
+        private Function<TaskManager, ?> command;
+        private CompletableFuture<Object> result;
+
+        Function<TaskManager, ?> getCommand() {
+            return command;
+        }
+
+        CompletableFuture<Object> getResult() {
+            return result;
+        }
+    }
+
+    CommandRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Размер очереди команд должен быть больше 0");
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        mask = size - 1;
+    }
+
+    CompletableFuture<Object> publish(Function<TaskManager, ?> command) throws InterruptedException {
+        var result = new CompletableFuture<>();
+        lock.lock();
+        try {
+            while (!closed && tail - head == slots.length) {
+                notFull.await();
+            }
+
+            if (closed) {
+                throw new IllegalStateException("Менеджер задач остановлен");
+            }
+
+            var slot = slots[(int) (tail & mask)];
+            slot.command = command;
+            slot.result = result;
+            tail++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    long awaitBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            while (!closed && tail == head) {
+                notEmpty.await();
+            }
+            return tail;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long head() {
+        return head;
+    }
+
+    Slot slot(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    void release(long upTo) {
+        lock.lock();
+        try {
+            for (long sequence = head; sequence < upTo; sequence++) {
+                var slot = slot(sequence);
+                slot.command = null;
+                slot.result = null;
+            }
+            head = upTo;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isDrained() {
+        lock.lock();
+        try {
+            return closed && tail == head;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
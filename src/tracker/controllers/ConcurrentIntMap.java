@@ -0,0 +1,31 @@
+package tracker.controllers;
+
+import tracker.util.IntMap;
+
+import java.io.Serial;
+import java.util.concurrent.ConcurrentHashMap;
+
+class ConcurrentIntMap<V> extends ConcurrentHashMap<Integer, V> implements IntMap<V> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public V get(int key) {
+        return super.get(key);
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return super.containsKey(key);
+    }
+
+    @Override
+    public V put(int key, V value) {
+        return super.put(key, value);
+    }
+
+    @Override
+    public V remove(int key) {
+        return super.remove(key);
+    }
+}
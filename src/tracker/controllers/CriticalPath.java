@@ -0,0 +1,8 @@
+package tracker.controllers;
+
+import java.util.List;
+import java.util.Map;
+
+public record CriticalPath(int epicId, List<Integer> taskIds, long durationMinutes,
+                           Map<Integer, Long> earliestStarts) {
+}
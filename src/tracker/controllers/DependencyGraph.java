@@ -0,0 +1,368 @@
+package tracker.controllers;
+
+import tracker.exceptions.DependencyCycleException;
+import tracker.model.Task;
+import tracker.util.IntObjectHashMap;
+import tracker.util.TaskType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class DependencyGraph {
+    private static final Comparator<Node> BY_ORDER = Comparator.comparingInt(node -> node.order);
+    private static final int DRAIN_BATCH = 256;
+    private static final long REMOVED = -1;
+
+    private final Partition[] partitions = new Partition[TaskType.values().length];
+    private final ArrayDeque<Partition> retired = new ArrayDeque<>();
+    private final ConcurrentLinkedQueue<Change> changes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final Housekeeper housekeeper = new Housekeeper(() -> this::drain);
+    private Iterator<Node> draining;
+    private int nextOrder;
+
+    DependencyGraph() {
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition();
+        }
+    }
+
+    private record Change(int id, long minutes) {
+    }
+
+    private static final class Partition {
+        private final IntObjectHashMap<Node> nodes = new IntObjectHashMap<>();
+        private boolean isRetired;
+    }
+
+    private static final class Node {
+        private final int id;
+        private final Partition partition;
+        private final Set<Node> predecessors = new HashSet<>();
+        private final Set<Node> successors = new HashSet<>();
+        private long minutes;
+        private int order;
+
+        private Node(int id, Partition partition, long minutes, int order) {
+            this.id = id;
+            this.partition = partition;
+            this.minutes = minutes;
+            this.order = order;
+        }
+
+        private boolean isIsolated() {
+            return predecessors.isEmpty() && successors.isEmpty();
+        }
+
+        private boolean isRetired() {
+            return partition.isRetired;
+        }
+    }
+
+    synchronized boolean link(Supplier<Task> resolveTask, Supplier<Task> resolveDependency) {
+        catchUp();
+        var task = resolveTask.get();
+        var dependsOn = resolveDependency.get();
+        if (task.getId() == dependsOn.getId()) {
+            throw new IllegalArgumentException("Задача не может зависеть сама от себя");
+        }
+
+        var from = find(dependsOn.getId());
+        var to = find(task.getId());
+        if (from != null && to != null && from.successors.contains(to)) {
+            return false;
+        }
+
+        from = from == null ? addNode(dependsOn) : from;
+        to = to == null ? addNode(task) : to;
+        if (from.order > to.order) {
+            reorder(from, to);
+        }
+        from.successors.add(to);
+        to.predecessors.add(from);
+        return true;
+    }
+
+    synchronized boolean unlink(int taskId, int dependsOnId) {
+        catchUp();
+        var from = find(dependsOnId);
+        var to = find(taskId);
+        if (from == null || to == null || !from.successors.remove(to)) {
+            return false;
+        }
+
+        to.predecessors.remove(from);
+        dropIfIsolated(from);
+        dropIfIsolated(to);
+        return true;
+    }
+
+    void update(Task task) {
+        publish(new Change(task.getId(), minutesOf(task)));
+    }
+
+    void remove(int id) {
+        publish(new Change(id, REMOVED));
+    }
+
+    synchronized void retire(TaskType type) {
+        var partition = partitions[type.ordinal()];
+        if (partition.nodes.isEmpty()) {
+            return;
+        }
+
+        partition.isRetired = true;
+        partitions[type.ordinal()] = new Partition();
+        retired.add(partition);
+        housekeeper.wake();
+    }
+
+    synchronized List<Integer> dependenciesOf(int id) {
+        catchUp();
+        var node = find(id);
+        if (node == null) {
+            return Collections.emptyList();
+        }
+
+        List<Integer> ids = new ArrayList<>(node.predecessors.size());
+        for (var predecessor : node.predecessors) {
+            if (!predecessor.isRetired()) {
+                ids.add(predecessor.id);
+            }
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    synchronized CriticalPath criticalPath(int epicId, Collection<? extends Task> subtasks) {
+        catchUp();
+        List<Node> targets = new ArrayList<>(subtasks.size());
+        List<Node> affected = new ArrayList<>();
+        Set<Node> seen = new HashSet<>();
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        for (var subtask : subtasks) {
+            var node = find(subtask.getId());
+            if (node == null) {
+                node = new Node(subtask.getId(), partitions[subtask.getType().ordinal()], minutesOf(subtask), -1);
+                affected.add(node);
+            } else if (seen.add(node)) {
+                pending.push(node);
+            }
+            targets.add(node);
+        }
+
+        int isolated = affected.size();
+        while (!pending.isEmpty()) {
+            var node = pending.pop();
+            affected.add(node);
+            for (var predecessor : node.predecessors) {
+                if (!predecessor.isRetired() && seen.add(predecessor)) {
+                    pending.push(predecessor);
+                }
+            }
+        }
+        affected.subList(isolated, affected.size()).sort(BY_ORDER);
+
+        Map<Node, Long> finishes = new HashMap<>();
+        Map<Node, Node> critical = new HashMap<>();
+        Map<Integer, Long> earliestStarts = new LinkedHashMap<>();
+        for (var node : affected) {
+            long start = 0;
+            for (var predecessor : node.predecessors) {
+                if (predecessor.isRetired()) {
+                    continue;
+                }
+
+                long finish = finishes.get(predecessor);
+                if (!critical.containsKey(node) || finish > start) {
+                    start = finish;
+                    critical.put(node, predecessor);
+                }
+            }
+            earliestStarts.put(node.id, start);
+            finishes.put(node, start + node.minutes);
+        }
+
+        Node last = null;
+        long duration = 0;
+        for (var node : targets) {
+            if (last == null || finishes.get(node) > duration) {
+                last = node;
+                duration = finishes.get(node);
+            }
+        }
+
+        List<Integer> path = new ArrayList<>();
+        for (var node = last; node != null; node = critical.get(node)) {
+            path.add(node.id);
+        }
+        Collections.reverse(path);
+        return new CriticalPath(epicId, path, duration, earliestStarts);
+    }
+
+    private void publish(Change change) {
+        changes.add(change);
+        if (backlog.incrementAndGet() == DRAIN_BATCH) {
+            housekeeper.wake();
+        }
+    }
+
+    private void catchUp() {
+        while (apply(changes.poll())) {
+            backlog.decrementAndGet();
+        }
+    }
+
+    private boolean apply(Change change) {
+        if (change == null) {
+            return false;
+        }
+
+        var node = find(change.id());
+        if (node == null) {
+            return true;
+        }
+
+        if (change.minutes() == REMOVED) {
+            node.partition.nodes.remove(node.id);
+            detach(node);
+        } else {
+            node.minutes = change.minutes();
+        }
+        return true;
+    }
+
+    private synchronized boolean drain() {
+        for (int visited = 0; visited < DRAIN_BATCH; visited++) {
+            if (apply(changes.poll())) {
+                backlog.decrementAndGet();
+                continue;
+            }
+
+            if (draining != null && draining.hasNext()) {
+                detach(draining.next());
+                continue;
+            }
+
+            var partition = retired.poll();
+            if (partition == null) {
+                draining = null;
+                return false;
+            }
+            draining = partition.nodes.values().iterator();
+        }
+        return true;
+    }
+
+    private Node find(int id) {
+        for (var partition : partitions) {
+            var node = partition.nodes.get(id);
+            if (node != null) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private Node addNode(Task task) {
+        var partition = partitions[task.getType().ordinal()];
+        var node = new Node(task.getId(), partition, minutesOf(task), nextOrder++);
+        partition.nodes.put(task.getId(), node);
+        return node;
+    }
+
+    private void detach(Node node) {
+        for (var predecessor : node.predecessors) {
+            predecessor.successors.remove(node);
+            dropIfIsolated(predecessor);
+        }
+        for (var successor : node.successors) {
+            successor.predecessors.remove(node);
+            dropIfIsolated(successor);
+        }
+        node.predecessors.clear();
+        node.successors.clear();
+    }
+
+    private void dropIfIsolated(Node node) {
+        if (!node.isRetired() && node.isIsolated()) {
+            node.partition.nodes.remove(node.id);
+        }
+    }
+
+    private void reorder(Node from, Node to) {
+        int lower = to.order;
+        int upper = from.order;
+
+        List<Node> forward = new ArrayList<>();
+        Set<Node> visited = new HashSet<>();
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(to);
+        visited.add(to);
+        while (!pending.isEmpty()) {
+            var node = pending.pop();
+            forward.add(node);
+            for (var successor : node.successors) {
+                if (successor == from) {
+                    String errorMessage = String.format("Зависимость задачи %d от задачи %d образует цикл",
+                            to.id, from.id);
+                    throw new DependencyCycleException(errorMessage);
+                }
+                if (!successor.isRetired() && successor.order < upper && visited.add(successor)) {
+                    pending.push(successor);
+                }
+            }
+        }
+
+        List<Node> backward = new ArrayList<>();
+        pending.push(from);
+        visited.add(from);
+        while (!pending.isEmpty()) {
+            var node = pending.pop();
+            backward.add(node);
+            for (var predecessor : node.predecessors) {
+                if (!predecessor.isRetired() && predecessor.order > lower && visited.add(predecessor)) {
+                    pending.push(predecessor);
+                }
+            }
+        }
+
+        forward.sort(BY_ORDER);
+        backward.sort(BY_ORDER);
+        int[] orders = new int[forward.size() + backward.size()];
+        int i = 0;
+        for (var node : backward) {
+            orders[i++] = node.order;
+        }
+        for (var node : forward) {
+            orders[i++] = node.order;
+        }
+        Arrays.sort(orders);
+
+        i = 0;
+        for (var node : backward) {
+            node.order = orders[i++];
+        }
+        for (var node : forward) {
+            node.order = orders[i++];
+        }
+    }
+
+    private static long minutesOf(Task task) {
+        return task.getDuration() == null ? 0 : task.getDuration().toMinutes();
+    }
+}
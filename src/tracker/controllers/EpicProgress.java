@@ -0,0 +1,6 @@
+package tracker.controllers;
+
+import tracker.util.TaskStatus;
+
+public record EpicProgress(int epicId, TaskStatus status, int subtasks, int doneSubtasks, long plannedMinutes) {
+}
@@ -0,0 +1,476 @@
+package tracker.controllers;
+
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+
+import java.io.File;
+
+import java.time.LocalDateTime;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class EventLoopTaskManager implements TaskManager, AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final VersionedMap<Task> tasks = new VersionedMap<>();
+    private final VersionedMap<Epic> epicTasks = new VersionedMap<>(Epic::new);
+    private final VersionedMap<Subtask> subtasks = new VersionedMap<>();
+
+    private final VersionedHistoryManager historyManager;
+    private final InMemoryTaskManager taskManager;
+    private List<Task> prioritizedTasks;
+    private long scheduleVersion;
+    private final CommandRingBuffer commands;
+    private final Thread writer;
+
+    private volatile Version current;
+
+    private record Version(BoardSnapshot snapshot, PersistentIntMap<Task> tasks,
+                           PersistentIntMap<Epic> epicTasks, PersistentIntMap<Subtask> subtasks,
+                           int subtaskGeneration) {
+    }
+
+    public EventLoopTaskManager(HistoryManager historyManager) {
+        this(historyManager, DEFAULT_CAPACITY);
+    }
+
+    public EventLoopTaskManager(HistoryManager historyManager, int capacity) {
+        commands = new CommandRingBuffer(capacity);
+        this.historyManager = new VersionedHistoryManager(historyManager);
+        taskManager = new InMemoryTaskManager(this.historyManager, tasks, epicTasks, subtasks);
+        current = takeVersion(0);
+        writer = startWriter();
+    }
+
+    public EventLoopTaskManager(File file, HistoryManager historyManager) {
+        commands = new CommandRingBuffer(DEFAULT_CAPACITY);
+        this.historyManager = new VersionedHistoryManager(historyManager);
+        var fileBacked = new FileBackedTaskManager(file, this.historyManager, tasks, epicTasks, subtasks);
+        taskManager = file.exists() ? FileBackedTaskManager.load(fileBacked) : fileBacked;
+        current = takeVersion(0);
+        writer = startWriter();
+    }
+
+    public BoardSnapshot snapshot() {
+        return current.snapshot();
+    }
+
+    private Thread startWriter() {
+        var thread = new Thread(this::runWriter, "task-manager-writer");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void runWriter() {
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        try {
+            while (!commands.isDrained()) {
+                long upTo = commands.awaitBatch();
+                for (long sequence = commands.head(); sequence < upTo; sequence++) {
+                    var slot = commands.slot(sequence);
+                    results.add(slot.getResult());
+                    try {
+                        values.add(slot.getCommand().apply(taskManager));
+                        errors.add(null);
+                    } catch (Throwable e) {
+                        values.add(null);
+                        errors.add(e);
+                    }
+                }
+
+                if (!results.isEmpty()) {
+                    current = takeVersion(current.snapshot().version() + 1);
+                }
+                commands.release(upTo);
+
+                for (int i = 0; i < results.size(); i++) {
+                    if (errors.get(i) == null) {
+                        results.get(i).complete(values.get(i));
+                    } else {
+                        results.get(i).completeExceptionally(errors.get(i));
+                    }
+                }
+                results.clear();
+                values.clear();
+                errors.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Version takeVersion(long version) {
+        var tasksVersion = tasks.snapshot();
+        var epicsVersion = epicTasks.snapshot();
+        var subtasksVersion = subtasks.snapshot();
+        var historyVersion = historyManager.snapshot();
+        int subtaskGeneration = taskManager.getSubtaskGeneration();
+        var snapshot = new BoardSnapshot(version,
+                tasksVersion.values(),
+                new LazyList<>(() -> live(epicsVersion.values(), subtaskGeneration)),
+                subtasksVersion.values(),
+                new LazyList<>(() -> liveHistory(historyVersion, tasksVersion, epicsVersion, subtasksVersion,
+                        subtaskGeneration)),
+                prioritized(tasksVersion, subtasksVersion));
+        return new Version(snapshot, tasksVersion, epicsVersion, subtasksVersion, subtaskGeneration);
+    }
+
+    private List<Task> prioritized(PersistentIntMap<Task> tasksVersion, PersistentIntMap<Subtask> subtasksVersion) {
+        long version = taskManager.getScheduleVersion();
+        if (prioritizedTasks == null || version != scheduleVersion) {
+            prioritizedTasks = new LazyList<>(() -> RecurringSchedule.prioritize(tasksVersion.values(),
+                    subtasksVersion.values()));
+            scheduleVersion = version;
+        }
+        return prioritizedTasks;
+    }
+
+    private static List<Epic> live(List<Epic> epics, int subtaskGeneration) {
+        List<Epic> live = new ArrayList<>(epics);
+        live.replaceAll(epic -> live(epic, subtaskGeneration));
+        return live;
+    }
+
+    private static Epic live(Epic epic, int subtaskGeneration) {
+        return epic.hasSubtasksBefore(subtaskGeneration) ? InMemoryTaskManager.expire(epic, subtaskGeneration) : epic;
+    }
+
+    private static List<Task> liveHistory(PersistentIntMap<Task> history, PersistentIntMap<Task> tasks,
+                                          PersistentIntMap<Epic> epicTasks, PersistentIntMap<Subtask> subtasks,
+                                          int subtaskGeneration) {
+        List<Task> live = new ArrayList<>(history.size());
+        for (var task : history.values()) {
+            var storage = switch (task.getType()) {
+                case TASK -> tasks;
+                case EPIC -> epicTasks;
+                case SUBTASK -> subtasks;
+            };
+            if (storage.get(task.getId()) != null) {
+                live.add(task instanceof Epic epic ? live(epic, subtaskGeneration) : task);
+            }
+        }
+        return live;
+    }
+
+    private static final class LazyList<T> extends AbstractList<T> implements RandomAccess {
+        private final Supplier<List<T>> source;
+        private volatile List<T> values;
+
+        private LazyList(Supplier<List<T>> source) {
+            this.source = source;
+        }
+
+        private List<T> values() {
+            var materialized = values;
+            if (materialized == null) {
+                materialized = source.get();
+                values = materialized;
+            }
+            return materialized;
+        }
+
+        @Override
+        public T get(int index) {
+            return values().get(index);
+        }
+
+        @Override
+        public int size() {
+            return values().size();
+        }
+    }
+
+    private static <T extends Task> List<T> getPage(PersistentIntMap<T> storage, int afterId, int limit) {
+        InMemoryTaskManager.checkPageBounds(afterId, limit);
+
+        List<T> page = new ArrayList<>(Math.min(limit, storage.size()));
+        if (afterId == Integer.MAX_VALUE) {
+            return page;
+        }
+
+        var cursor = storage.cursorFrom(afterId + 1);
+        while (page.size() < limit && cursor.advance()) {
+            page.add(cursor.value());
+        }
+        return page;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T execute(Function<TaskManager, T> command) {
+        try {
+            return (T) commands.publish(command).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание выполнения команды было прервано", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void executeVoid(Consumer<TaskManager> command) {
+        execute(manager -> {
+            command.accept(manager);
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        commands.close();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public int addNewTask(Task newTask) {
+        return execute(manager -> manager.addNewTask(newTask));
+    }
+
+    @Override
+    public List<Integer> addNewTasks(Collection<Task> newTasks) {
+        return execute(manager -> manager.addNewTasks(newTasks));
+    }
+
+    @Override
+    public Task updateTask(Task updatedTask) {
+        return execute(manager -> manager.updateTask(updatedTask));
+    }
+
+    @Override
+    public Task patchTask(int id, TaskPatch patch) {
+        return execute(manager -> manager.patchTask(id, patch));
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return execute(manager -> manager.getTaskById(id));
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        executeVoid(manager -> manager.deleteTaskById(id));
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        executeVoid(TaskManager::deleteAllTasks);
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return current.snapshot().tasks();
+    }
+
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        return getPage(current.tasks(), afterId, limit);
+    }
+
+    @Override
+    public int addNewEpic(Epic newEpic) {
+        return execute(manager -> manager.addNewEpic(newEpic));
+    }
+
+    @Override
+    public Epic updateEpic(Epic updatedEpic) {
+        return execute(manager -> manager.updateEpic(updatedEpic));
+    }
+
+    @Override
+    public Epic patchEpic(int epicId, TaskPatch patch) {
+        return execute(manager -> manager.patchEpic(epicId, patch));
+    }
+
+    @Override
+    public Epic getEpicById(int epicId) {
+        return execute(manager -> manager.getEpicById(epicId));
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        return current.snapshot().epics();
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        var version = current;
+        var page = getPage(version.epicTasks(), afterId, limit);
+        page.replaceAll(epic -> live(epic, version.subtaskGeneration()));
+        return page;
+    }
+
+    @Override
+    public List<Subtask> getAllEpicSubtasks(int epicId) {
+        return execute(manager -> manager.getAllEpicSubtasks(epicId));
+    }
+
+    @Override
+    public void deleteEpicById(int epicId) {
+        executeVoid(manager -> manager.deleteEpicById(epicId));
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        executeVoid(TaskManager::deleteAllEpics);
+    }
+
+    @Override
+    public int addNewSubtask(Subtask newSubtask, int epicId) {
+        return execute(manager -> manager.addNewSubtask(newSubtask, epicId));
+    }
+
+    @Override
+    public List<Integer> addNewSubtasks(Collection<Subtask> newSubtasks) {
+        return execute(manager -> manager.addNewSubtasks(newSubtasks));
+    }
+
+    @Override
+    public Subtask updateSubtask(Subtask updatedSubtask) {
+        return execute(manager -> manager.updateSubtask(updatedSubtask));
+    }
+
+    @Override
+    public Subtask patchSubtask(int subtaskId, TaskPatch patch) {
+        return execute(manager -> manager.patchSubtask(subtaskId, patch));
+    }
+
+    @Override
+    public Subtask getSubtaskById(int subtaskId) {
+        return execute(manager -> manager.getSubtaskById(subtaskId));
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return current.snapshot().subtasks();
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        return getPage(current.subtasks(), afterId, limit);
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        executeVoid(manager -> manager.deleteSubtaskById(id));
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        executeVoid(TaskManager::deleteAllSubtasks);
+    }
+
+    @Override
+    public Task getById(int id) {
+        return execute(manager -> manager.getById(id));
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return current.snapshot().history();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return current.snapshot().prioritizedTasks();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return execute(manager -> manager.getPrioritizedTasks(from, to));
+    }
+
+    @Override
+    public List<Task> getNextTasks(int count) {
+        InMemoryTaskManager.checkNextCount(count);
+        var prioritizedTasks = current.snapshot().prioritizedTasks();
+        return prioritizedTasks.subList(0, Math.min(count, prioritizedTasks.size()));
+    }
+
+    @Override
+    public List<Task> getUrgentTasks(int count) {
+        return execute(manager -> manager.getUrgentTasks(count));
+    }
+
+    @Override
+    public int detachOccurrence(int taskId, LocalDateTime start) {
+        return execute(manager -> manager.detachOccurrence(taskId, start));
+    }
+
+    @Override
+    public BoardStats getStats() {
+        return execute(TaskManager::getStats);
+    }
+
+    @Override
+    public EpicProgress getEpicProgress(int epicId) {
+        return execute(manager -> manager.getEpicProgress(epicId));
+    }
+
+    @Override
+    public void addDependency(int taskId, int dependsOnId) {
+        executeVoid(manager -> manager.addDependency(taskId, dependsOnId));
+    }
+
+    @Override
+    public void removeDependency(int taskId, int dependsOnId) {
+        executeVoid(manager -> manager.removeDependency(taskId, dependsOnId));
+    }
+
+    @Override
+    public List<Integer> getDependencies(int taskId) {
+        return execute(manager -> manager.getDependencies(taskId));
+    }
+
+    @Override
+    public CriticalPath getCriticalPath(int epicId) {
+        return execute(manager -> manager.getCriticalPath(epicId));
+    }
+
+    @Override
+    public TaskTransaction beginTransaction() {
+        return new TaskTransaction(operations -> execute(manager -> taskManager.commit(operations)));
+    }
+
+    @Override
+    public TaskEventSubscription subscribe(Consumer<TaskEvent> listener) {
+        return taskManager.subscribe(listener);
+    }
+
+    @Override
+    public List<Task> getTasksByFilter(TaskFilter filter) {
+        return execute(manager -> manager.getTasksByFilter(filter));
+    }
+
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        return execute(manager -> manager.searchTasks(query, limit));
+    }
+
+    @Override
+    public List<Task> query(TaskQuery query) {
+        return execute(manager -> manager.query(query));
+    }
+}
@@ -1,5 +1,6 @@
 package tracker.controllers;
 
+import tracker.util.IntMap;
 import tracker.util.TaskStatus;
 import tracker.util.TaskType;
 
@@ -8,10 +9,15 @@ import tracker.exceptions.FileManagerLoadException;
 import java.io.IOException;
 
 import tracker.model.Epic;
+import tracker.model.Recurrence;
 import tracker.model.Subtask;
 import tracker.model.Task;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import java.io.BufferedWriter;
 import java.io.FileWriter;
@@ -32,14 +38,20 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         this.file = file;
     }
 
+    protected FileBackedTaskManager(File file, HistoryManager historyManager, IntMap<Task> tasks,
+                                    IntMap<Epic> epicTasks, IntMap<Subtask> subtasks) {
+        super(historyManager, tasks, epicTasks, subtasks);
+        this.file = file;
+    }
+
     private void save() {
         try (BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(file))) {
-            bufferedWriter.write("id,type,name,status,description,start,duration,epic");
+            bufferedWriter.write("id,type,name,status,description,start,duration,epic,interval,until,exceptions");
             for (var task : tasks.values()) {
                 bufferedWriter.write(taskToString(task));
             }
             for (var epic : epicTasks.values()) {
-                bufferedWriter.write(epicToString(epic));
+                bufferedWriter.write(epicToString(live(epic)));
             }
             for (var sub : subtasks.values()) {
                 bufferedWriter.write(subtaskToString(sub));
@@ -57,6 +69,17 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
                     task.getStatus(), task.getDescription());
         }
 
+        if (task.isRecurring()) {
+            var recurrence = task.getRecurrence();
+            var exceptions = recurrence.getExceptions().stream()
+                    .map(start -> start.format(DATE_TIME_FORMATTER))
+                    .collect(Collectors.joining(";"));
+            return String.format("\n%d,%s,%s,%s,%s,%s,%s,,%d,%s,%s,", task.getId(), TaskType.TASK, task.getTitle(),
+                    task.getStatus(), task.getDescription(), task.getStartTime().format(DATE_TIME_FORMATTER),
+                    task.getDuration().toMinutes(), recurrence.getInterval().toMinutes(),
+                    recurrence.getUntil().format(DATE_TIME_FORMATTER), exceptions);
+        }
+
         return String.format("\n%d,%s,%s,%s,%s,%s,%s,", task.getId(), TaskType.TASK, task.getTitle(),
                 task.getStatus(), task.getDescription(), task.getStartTime().format(DATE_TIME_FORMATTER),
                 task.getDuration().toMinutes());
@@ -79,9 +102,12 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     }
 
     public static FileBackedTaskManager loadFromFile(File file) {
+        return load(new FileBackedTaskManager(file, new InMemoryHistoryManager()));
+    }
+
+    static FileBackedTaskManager load(FileBackedTaskManager taskManager) {
         try {
-            FileBackedTaskManager taskManager = new FileBackedTaskManager(file, new InMemoryHistoryManager());
-            List<String> lines = Files.readAllLines(file.toPath());
+            List<String> lines = Files.readAllLines(taskManager.file.toPath());
 
             if (!lines.isEmpty()) {
                 int[] tasksId = new int[lines.size() - 1];
@@ -110,6 +136,8 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
                     }
                 }
                 taskManager.id = getMaxId(tasksId) + 1;
+                taskManager.reindex();
+                taskManager.restoreSchedule();
             }
 
             return taskManager;
@@ -127,8 +155,19 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
             return new Task(data[2], data[4], Integer.parseInt(data[0]), TaskStatus.valueOf(data[3]));
         }
 
-        return new Task(data[2], data[4], Integer.parseInt(data[0]), TaskStatus.valueOf(data[3]),
+        var task = new Task(data[2], data[4], Integer.parseInt(data[0]), TaskStatus.valueOf(data[3]),
                 LocalDateTime.parse(data[5], DATE_TIME_FORMATTER), Duration.ofMinutes(Integer.parseInt(data[6])));
+        if (data.length > 9) {
+            Set<LocalDateTime> exceptions = new HashSet<>();
+            if (data.length > 10) {
+                for (String start : data[10].split(";")) {
+                    exceptions.add(LocalDateTime.parse(start, DATE_TIME_FORMATTER));
+                }
+            }
+            task.setRecurrence(new Recurrence(Duration.ofMinutes(Long.parseLong(data[8])),
+                    LocalDateTime.parse(data[9], DATE_TIME_FORMATTER), exceptions));
+        }
+        return task;
     }
 
     private static Epic epicFromString(String value) {
@@ -169,6 +208,20 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         return newId;
     }
 
+    @Override
+    public List<Integer> addNewTasks(Collection<Task> newTasks) {
+        var ids = super.addNewTasks(newTasks);
+        save();
+        return ids;
+    }
+
+    @Override
+    protected List<Integer> commit(List<TaskTransaction.Operation> operations) {
+        var ids = super.commit(operations);
+        save();
+        return ids;
+    }
+
     @Override
     public Task updateTask(Task updatedTask) {
         var task = super.updateTask(updatedTask);
@@ -176,6 +229,13 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         return task;
     }
 
+    @Override
+    public Task patchTask(int id, TaskPatch patch) {
+        var task = super.patchTask(id, patch);
+        save();
+        return task;
+    }
+
     @Override
     public void deleteTaskById(int id) {
         super.deleteTaskById(id);
@@ -202,6 +262,13 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         return epic;
     }
 
+    @Override
+    public Epic patchEpic(int epicId, TaskPatch patch) {
+        var epic = super.patchEpic(epicId, patch);
+        save();
+        return epic;
+    }
+
     @Override
     public void deleteEpicById(int epicId) {
         super.deleteEpicById(epicId);
@@ -221,6 +288,13 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         return newId;
     }
 
+    @Override
+    public List<Integer> addNewSubtasks(Collection<Subtask> newSubtasks) {
+        var ids = super.addNewSubtasks(newSubtasks);
+        save();
+        return ids;
+    }
+
     @Override
     public Subtask updateSubtask(Subtask updatedSub) {
         var sub = super.updateSubtask(updatedSub);
@@ -228,6 +302,13 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         return sub;
     }
 
+    @Override
+    public Subtask patchSubtask(int subtaskId, TaskPatch patch) {
+        var sub = super.patchSubtask(subtaskId, patch);
+        save();
+        return sub;
+    }
+
     @Override
     public void deleteSubtaskById(int id) {
         super.deleteSubtaskById(id);
@@ -0,0 +1,48 @@
+package tracker.controllers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+final class Housekeeper {
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "task-housekeeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Supplier<BooleanSupplier> passes;
+    private final AtomicInteger requests = new AtomicInteger();
+    private BooleanSupplier pass;
+    private int started;
+
+    Housekeeper(Supplier<BooleanSupplier> passes) {
+        this.passes = passes;
+    }
+
+    void wake() {
+        if (requests.getAndIncrement() == 0) {
+            WORKER.execute(this::sweep);
+        }
+    }
+
+    private void sweep() {
+        int requested = requests.get();
+        if (pass == null || requested != started) {
+            pass = passes.get();
+            started = requested;
+        }
+
+        if (pass.getAsBoolean()) {
+            WORKER.execute(this::sweep);
+            return;
+        }
+
+        pass = null;
+        if (!requests.compareAndSet(started, 0)) {
+            WORKER.execute(this::sweep);
+        }
+    }
+}
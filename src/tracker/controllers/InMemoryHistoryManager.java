@@ -1,18 +1,17 @@
 package tracker.controllers;
 
 import tracker.model.Task;
+import tracker.util.IntObjectHashMap;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.HashMap;
-import java.util.Map;
 
 public class InMemoryHistoryManager implements HistoryManager {
     private Node head;
     private Node tail;
 
-    private final Map<Integer, Node> idToNode;
+    private final IntObjectHashMap<Node> idToNode;
 
     private static class Node {
         private Task task;
@@ -27,14 +26,14 @@ public class InMemoryHistoryManager implements HistoryManager {
     }
 
     public InMemoryHistoryManager() {
-        idToNode = new HashMap<>();
+        idToNode = new IntObjectHashMap<>();
     }
 
     @Override
     public void add(Task task) {
         final int taskId = task.getId();
-        if (idToNode.containsKey(taskId)) {
-            Node node = idToNode.get(taskId);
+        Node node = idToNode.get(taskId);
+        if (node != null) {
             removeNode(node);
         }
         linkLast(task);
@@ -93,10 +92,10 @@ public class InMemoryHistoryManager implements HistoryManager {
 
     @Override
     public void remove(int id) {
-        if (!idToNode.containsKey(id)) {
+        Node node = idToNode.get(id);
+        if (node == null) {
             return;
         }
-        Node node = idToNode.get(id);
         removeNode(node);
     }
 }
\ No newline at end of file
@@ -5,36 +5,97 @@ import tracker.exceptions.TaskInteractionException;
 import tracker.model.Epic;
 import tracker.model.Subtask;
 import tracker.model.Task;
+import tracker.util.ChangeType;
+import tracker.util.IntMap;
+import tracker.util.IntObjectHashMap;
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
+
+import java.time.LocalDateTime;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
-import java.util.TreeSet;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
 public class InMemoryTaskManager implements TaskManager {
-    protected final Map<Integer, Task> tasks;
-    protected final Map<Integer, Epic> epicTasks;
-    protected final Map<Integer, Subtask> subtasks;
+    private static final int RECLAIM_BATCH = 64;
+
+    protected final IntMap<Task> tasks;
+    protected final IntMap<Epic> epicTasks;
+    protected final IntMap<Subtask> subtasks;
 
-    protected Set<Task> prioritizedTasks;
+    protected NavigableSet<Task> prioritizedTasks;
+    final RecurringSchedule recurring = new RecurringSchedule();
 
     private final HistoryManager historyManager;
+    private final BitmapIndex index = new BitmapIndex();
+    private final TextIndex[] textIndexes = new TextIndex[TaskType.values().length];
+    private final BoardStatistics statistics = new BoardStatistics();
+    private final UrgencyIndex urgency = new UrgencyIndex();
+    private final IndexJournal journal = new IndexJournal();
+    private IntMap<Integer> epicWeights = new ConcurrentIntMap<>();
+    private final TaskEventDispatcher events;
+    private final DependencyGraph dependencies;
+
+    private final AtomicLong scheduleVersion = new AtomicLong();
+    private volatile PrioritizedView prioritizedView;
+
+    private final int[] generations = new int[TaskType.values().length];
+    private final ConcurrentSkipListMap<Task, Task> slots;
+    private final Housekeeper reclaimer = new Housekeeper(StaleSweep::new);
 
     protected int id = 1;
 
+    private record PrioritizedView(long version, List<Task> tasks) {
+    }
+
     public InMemoryTaskManager(HistoryManager historyManager) {
-        tasks = new HashMap<>();
-        epicTasks = new HashMap<>();
-        subtasks = new HashMap<>();
-        prioritizedTasks = new TreeSet<>(Comparator.comparing(Task::getStartTime));
+        this(historyManager, new IntObjectHashMap<>(), new IntObjectHashMap<>(), new IntObjectHashMap<>());
+    }
+
+    protected InMemoryTaskManager(HistoryManager historyManager, IntMap<Task> tasks, IntMap<Epic> epicTasks,
+                                  IntMap<Subtask> subtasks) {
+        this(historyManager, tasks, epicTasks, subtasks, new TaskEventDispatcher(), new DependencyGraph());
+    }
+
+    InMemoryTaskManager(HistoryManager historyManager, TaskEventDispatcher events, DependencyGraph dependencies) {
+        this(historyManager, new IntObjectHashMap<>(), new IntObjectHashMap<>(), new IntObjectHashMap<>(), events,
+                dependencies);
+    }
+
+    private InMemoryTaskManager(HistoryManager historyManager, IntMap<Task> tasks, IntMap<Epic> epicTasks,
+                                IntMap<Subtask> subtasks,
+                                TaskEventDispatcher events, DependencyGraph dependencies) {
+        this.tasks = tasks;
+        this.epicTasks = epicTasks;
+        this.subtasks = subtasks;
+        slots = new ConcurrentSkipListMap<>(Comparator.comparingLong(Task::getStartMinute));
+        prioritizedTasks = slots.keySet();
         this.historyManager = historyManager;
+        this.events = events;
+        this.dependencies = dependencies;
+        for (int i = 0; i < textIndexes.length; i++) {
+            textIndexes[i] = new TextIndex();
+        }
     }
 
     @Override
@@ -43,20 +104,35 @@ public class InMemoryTaskManager implements TaskManager {
             throw new IllegalArgumentException("В параметр task был передан null");
         }
 
-        if (task.getStartTime() != null) {
-            if (hasInteractions(task)) {
-                String errorMessage = "Задачи не могут пересекаться по времени выполнения";
-                throw new TaskInteractionException(errorMessage);
-            }
-            prioritizedTasks.add(task);
-        }
+        schedule(null, task);
 
         int newId = generateNewId();
         task.setId(newId);
         tasks.put(newId, task);
+        indexEntry(task);
         return newId;
     }
 
+    @Override
+    public List<Integer> addNewTasks(Collection<Task> newTasks) {
+        List<Task> batch = copyBatch(newTasks, "newTasks");
+        if (batch.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        scheduleAll(Collections.emptyList(), batch);
+
+        int newId = reserveIds(batch.size());
+        List<Integer> ids = new ArrayList<>(batch.size());
+        for (var task : batch) {
+            task.setId(newId);
+            tasks.put(newId, task);
+            indexEntry(task);
+            ids.add(newId++);
+        }
+        return ids;
+    }
+
     @Override
     public Task updateTask(Task task) {
         if (task == null) {
@@ -68,22 +144,24 @@ public class InMemoryTaskManager implements TaskManager {
             throw new NoSuchElementException(errorMessage);
         }
 
-        if (task.getStartTime() != null) {
-            if (hasInteractions(task)) {
-                String errorMessage = "Задачи не могут пересекаться по времени выполнения";
-                throw new TaskInteractionException(errorMessage);
-            }
-        }
-
-        if (getPrioritizedTasks().contains(task)) {
-            prioritizedTasks.remove(tasks.get(task.getId()));
-        }
+        return replaceTask(tasks.get(task.getId()), task);
+    }
 
-        if (task.getStartTime() != null) {
-            prioritizedTasks.add(task);
+    @Override
+    public Task patchTask(int id, TaskPatch patch) {
+        checkPatch(id, patch);
+        var stored = tasks.get(id);
+        if (stored == null) {
+            String errorMessage = String.format("В трекере нет задачи с id %d", id);
+            throw new NoSuchElementException(errorMessage);
         }
+        return replaceTask(stored, patch.applyTo(stored));
+    }
 
+    private Task replaceTask(Task stored, Task task) {
+        schedule(stored, task);
         tasks.put(task.getId(), task);
+        indexEntry(task, stored);
         return task;
     }
 
@@ -93,13 +171,14 @@ public class InMemoryTaskManager implements TaskManager {
             throw new IllegalArgumentException("У тасков не может быть id меньше 1");
         }
 
-        if (!tasks.containsKey(id)) {
+        var stored = tasks.get(id);
+        if (stored == null) {
             String errorMessage = String.format("В трекере нет задачи с id %d", id);
             throw new NoSuchElementException(errorMessage);
         }
 
-        historyManager.add(tasks.get(id));
-        return tasks.get(id);
+        historyManager.add(stored);
+        return stored;
     }
 
     @Override
@@ -112,9 +191,10 @@ public class InMemoryTaskManager implements TaskManager {
             return;
         }
 
-        prioritizedTasks.remove(tasks.get(id));
+        unschedule(tasks.get(id));
         historyManager.remove(id);
         tasks.remove(id);
+        unindexEntry(TaskType.TASK, id);
     }
 
     @Override
@@ -122,9 +202,9 @@ public class InMemoryTaskManager implements TaskManager {
         if (tasks.isEmpty()) {
             return;
         }
-        tasks.values().forEach(prioritizedTasks::remove);
-        tasks.keySet().forEach(historyManager::remove);
+        recurring.clear();
         tasks.clear();
+        clearType(TaskType.TASK);
     }
 
     @Override
@@ -135,6 +215,11 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(tasks.values());
     }
 
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        return getPage(tasks, TaskType.TASK, afterId, limit);
+    }
+
     @Override
     public int addNewEpic(Epic newEpic) {
         if (newEpic == null) {
@@ -144,6 +229,7 @@ public class InMemoryTaskManager implements TaskManager {
         int newId = generateNewId();
         newEpic.setId(newId);
         epicTasks.put(newEpic.getId(), newEpic);
+        indexEntry(newEpic);
         return newId;
     }
 
@@ -158,13 +244,29 @@ public class InMemoryTaskManager implements TaskManager {
             throw new NoSuchElementException(errorMessage);
         }
 
-        Epic e = epicTasks.get(epic.getId());
+        return replaceEpic(epicTasks.get(epic.getId()), epic);
+    }
 
-        if (!e.getEpicSubtasks().isEmpty()) {
-            epic.setEpicSubtasks(e.getEpicSubtasks());
+    @Override
+    public Epic patchEpic(int id, TaskPatch patch) {
+        checkPatch(id, patch);
+        var stored = epicTasks.get(id);
+        if (stored == null) {
+            String errorMessage = String.format("В трекере нет эпика с id %d", id);
+            throw new NoSuchElementException(errorMessage);
+        }
+        return replaceEpic(stored, patch.applyTo(stored));
+    }
+
+    private Epic replaceEpic(Epic stored, Epic epic) {
+        var live = live(stored);
+        epic.deleteSubtasksBefore(generations[TaskType.SUBTASK.ordinal()]);
+        if (!live.getEpicSubtasksView().isEmpty()) {
+            epic.setEpicSubtasks(live.getEpicSubtasksView());
         }
 
         epicTasks.put(epic.getId(), epic);
+        indexEntry(epic, stored);
         return epic;
     }
 
@@ -174,13 +276,14 @@ public class InMemoryTaskManager implements TaskManager {
             throw new IllegalArgumentException("У эпика не может быть id меньше 1");
         }
 
-        if (!epicTasks.containsKey(id)) {
+        var stored = epicTasks.get(id);
+        if (stored == null) {
             String errorMessage = String.format("В трекере нет эпика с id %d", id);
             throw new NoSuchElementException(errorMessage);
         }
 
-        historyManager.add(epicTasks.get(id));
-        return epicTasks.get(id);
+        historyManager.add(stored);
+        return live(stored);
     }
 
     @Override
@@ -189,7 +292,16 @@ public class InMemoryTaskManager implements TaskManager {
             return Collections.emptyList();
         }
 
-        return new ArrayList<>(epicTasks.values());
+        List<Epic> epics = new ArrayList<>(epicTasks.values());
+        epics.replaceAll(this::live);
+        return epics;
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        var page = getPage(epicTasks, TaskType.EPIC, afterId, limit);
+        page.replaceAll(this::live);
+        return page;
     }
 
     @Override
@@ -203,13 +315,13 @@ public class InMemoryTaskManager implements TaskManager {
             throw new NoSuchElementException(errorMessage);
         }
 
-        var epic = epicTasks.get(id);
+        var epic = live(epicTasks.get(id));
 
-        if (epic.getEpicSubtasks().isEmpty()) {
+        if (epic.getEpicSubtasksView().isEmpty()) {
             return Collections.emptyList();
         }
 
-        return new ArrayList<>(epic.getEpicSubtasks());
+        return new ArrayList<>(epic.getEpicSubtasksView());
     }
 
     @Override
@@ -222,12 +334,16 @@ public class InMemoryTaskManager implements TaskManager {
             return;
         }
 
-        var epic = epicTasks.get(id);
-        epic.getEpicSubtasks().forEach(prioritizedTasks::remove);
-        epic.getEpicSubtasks().stream().map(Task::getId).forEach(historyManager::remove);
-        epic.getEpicSubtasks().stream().map(Task::getId).forEach(subtasks::remove);
+        var epic = live(epicTasks.get(id));
+        for (var sub : epic.getEpicSubtasksView()) {
+            unschedule(sub);
+            historyManager.remove(sub.getId());
+            subtasks.remove(sub.getId());
+            unindexEntry(TaskType.SUBTASK, sub.getId());
+        }
         historyManager.remove(id);
         epicTasks.remove(id);
+        unindexEntry(TaskType.EPIC, id);
     }
 
     @Override
@@ -236,11 +352,12 @@ public class InMemoryTaskManager implements TaskManager {
             return;
         }
 
-        subtasks.values().forEach(prioritizedTasks::remove);
-        subtasks.keySet().forEach(historyManager::remove);
-        epicTasks.keySet().forEach(historyManager::remove);
-        subtasks.clear();
+        if (!subtasks.isEmpty()) {
+            subtasks.clear();
+            clearType(TaskType.SUBTASK);
+        }
         epicTasks.clear();
+        clearType(TaskType.EPIC);
     }
 
     @Override
@@ -258,23 +375,62 @@ public class InMemoryTaskManager implements TaskManager {
             throw new NoSuchElementException(errorMessage);
         }
 
-        if (subtask.getStartTime() != null) {
-            if (hasInteractions(subtask)) {
-                String errorMessage = "Задачи не могут пересекаться по времени выполнения";
-                throw new TaskInteractionException(errorMessage);
-            }
-            prioritizedTasks.add(subtask);
-        }
+        schedule(null, subtask);
 
         int id = generateNewId();
         subtask.setId(id);
         subtask.setEpicId(epicId);
         subtasks.put(id, subtask);
-        var epic = epicTasks.get(epicId);
+        var epic = epicForUpdate(epicId);
         epic.addSubtaskInEpic(subtask);
+        indexEntry(subtask);
+        touchEpic(epic);
         return id;
     }
 
+    @Override
+    public List<Integer> addNewSubtasks(Collection<Subtask> newSubtasks) {
+        List<Subtask> batch = copyBatch(newSubtasks, "newSubtasks");
+        if (batch.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        for (var subtask : batch) {
+            int epicId = subtask.getEpicId();
+            if (epicId < 1) {
+                throw new IllegalArgumentException("У эпика не может быть id меньше 1");
+            }
+
+            if (!epicTasks.containsKey(epicId)) {
+                String errorMessage = String.format("В трекере нет эпика с id %d", epicId);
+                throw new NoSuchElementException(errorMessage);
+            }
+        }
+
+        scheduleAll(Collections.emptyList(), batch);
+        return insertSubtasks(batch);
+    }
+
+    List<Integer> insertSubtasks(List<Subtask> batch) {
+        Map<Integer, List<Subtask>> byEpic = new LinkedHashMap<>();
+        int newId = reserveIds(batch.size());
+        List<Integer> ids = new ArrayList<>(batch.size());
+        for (var subtask : batch) {
+            subtask.setId(newId);
+            subtasks.put(newId, subtask);
+            indexEntry(subtask);
+            byEpic.computeIfAbsent(subtask.getEpicId(), key -> new ArrayList<>()).add(subtask);
+            ids.add(newId++);
+        }
+
+        for (var entry : byEpic.entrySet()) {
+            var epic = epicForUpdate(entry.getKey());
+            epic.addSubtasksInEpic(entry.getValue());
+            touchEpic(epic);
+        }
+        return ids;
+    }
+
     @Override
     public Subtask updateSubtask(Subtask subtask) {
         if (subtask == null) {
@@ -286,28 +442,29 @@ public class InMemoryTaskManager implements TaskManager {
             throw new NoSuchElementException(errorMessage);
         }
 
-        if (subtask.getStartTime() != null) {
-            if (hasInteractions(subtask)) {
-                String errorMessage = "Задачи не могут пересекаться по времени выполнения";
-                throw new TaskInteractionException(errorMessage);
-            }
-        }
-
-        int id = subtask.getId();
-        var sub = subtasks.get(id);
-        subtask.setEpicId(sub.getEpicId());
+        return replaceSubtask(subtasks.get(subtask.getId()), subtask);
+    }
 
-        if (getPrioritizedTasks().contains(sub)) {
-            prioritizedTasks.remove(sub);
+    @Override
+    public Subtask patchSubtask(int id, TaskPatch patch) {
+        checkPatch(id, patch);
+        var stored = subtasks.get(id);
+        if (stored == null) {
+            String errorMessage = String.format("В трекере нет сабтаска с id %d", id);
+            throw new NoSuchElementException(errorMessage);
         }
+        return replaceSubtask(stored, patch.applyTo(stored));
+    }
 
-        if (subtask.getStartTime() != null) {
-            prioritizedTasks.add(subtask);
-        }
+    private Subtask replaceSubtask(Subtask stored, Subtask subtask) {
+        schedule(stored, subtask);
+        subtask.setEpicId(stored.getEpicId());
 
-        var epic = epicTasks.get(subtask.getEpicId());
+        var epic = epicForUpdate(subtask.getEpicId());
         epic.updateSubtaskInEpic(subtask);
-        subtasks.put(id, subtask);
+        subtasks.put(subtask.getId(), subtask);
+        indexEntry(subtask, stored);
+        touchEpic(epic);
         return subtask;
     }
 
@@ -317,13 +474,14 @@ public class InMemoryTaskManager implements TaskManager {
             throw new IllegalArgumentException("У сабтаска не может быть id меньше 1");
         }
 
-        if (!subtasks.containsKey(id)) {
+        var stored = subtasks.get(id);
+        if (stored == null) {
             String errorMessage = String.format("В трекере нет сабтаска с id %d", id);
             throw new NoSuchElementException(errorMessage);
         }
 
-        historyManager.add(subtasks.get(id));
-        return subtasks.get(id);
+        historyManager.add(stored);
+        return stored;
     }
 
     @Override
@@ -335,6 +493,11 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(subtasks.values());
     }
 
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        return getPage(subtasks, TaskType.SUBTASK, afterId, limit);
+    }
+
     @Override
     public void deleteSubtaskById(int id) {
         if (id < 1) {
@@ -346,11 +509,13 @@ public class InMemoryTaskManager implements TaskManager {
         }
 
         var sub = subtasks.get(id);
-        var epic = epicTasks.get(sub.getEpicId());
+        var epic = epicForUpdate(sub.getEpicId());
         epic.deleteSubtaskInEpic(id);
-        prioritizedTasks.remove(sub);
+        unschedule(sub);
         historyManager.remove(id);
         subtasks.remove(id);
+        unindexEntry(TaskType.SUBTASK, id);
+        touchEpic(epic);
     }
 
     @Override
@@ -359,36 +524,930 @@ public class InMemoryTaskManager implements TaskManager {
             return;
         }
 
-        subtasks.values().forEach(prioritizedTasks::remove);
-        subtasks.keySet().forEach(historyManager::remove);
         subtasks.clear();
-        epicTasks.values().forEach(Epic::deleteAllEpicSubtasks);
+        clearType(TaskType.SUBTASK);
+        journal.publish(() -> {
+            index.resetAll(TaskType.EPIC, TaskStatus.NEW);
+            statistics.resetAll(TaskType.EPIC, TaskStatus.NEW);
+        });
+    }
+
+    @Override
+    public Task getById(int id) {
+        if (id < 1) {
+            throw new IllegalArgumentException("У задачи не может быть id меньше 1");
+        }
+
+        var type = typeOf(id);
+        if (type == null) {
+            String errorMessage = String.format("В трекере нет задачи с id %d", id);
+            throw new NoSuchElementException(errorMessage);
+        }
+
+        return switch (type) {
+            case TASK -> getTaskById(id);
+            case EPIC -> getEpicById(id);
+            case SUBTASK -> getSubtaskById(id);
+        };
     }
 
     @Override
     public List<Task> getHistory() {
-        return historyManager.getHistory();
+        List<Task> history = historyManager.getHistory();
+        if (history.stream().noneMatch(task -> isStale(task) || task instanceof Epic epic && isExpired(epic))) {
+            return history;
+        }
+
+        List<Task> live = new ArrayList<>(history.size());
+        for (var task : history) {
+            if (isStale(task)) {
+                historyManager.remove(task.getId());
+            } else {
+                live.add(task instanceof Epic epic ? live(epic) : task);
+            }
+        }
+        return live;
     }
 
     @Override
     public List<Task> getPrioritizedTasks() {
+        long version = scheduleVersion.get();
+        var view = prioritizedView;
+        if (view != null && view.version() == version) {
+            return view.tasks();
+        }
+
+        var tasks = Collections.unmodifiableList(collectPrioritized());
+        prioritizedView = new PrioritizedView(version, tasks);
+        return tasks;
+    }
+
+    @Override
+    public List<Task> getNextTasks(int count) {
+        checkNextCount(count);
+        var view = prioritizedView;
+        if (view != null && view.version() == scheduleVersion.get() || !recurring.isEmpty()) {
+            var tasks = getPrioritizedTasks();
+            return tasks.subList(0, Math.min(count, tasks.size()));
+        }
+        return collectNext(count);
+    }
+
+    protected List<Task> collectPrioritized() {
+        if (!recurring.isEmpty()) {
+            return RecurringSchedule.merge(live(prioritizedTasks), recurring.expand());
+        }
+
         if (prioritizedTasks.isEmpty()) {
             return Collections.emptyList();
         }
-        return prioritizedTasks.stream().toList();
+        return live(prioritizedTasks);
+    }
+
+    protected List<Task> collectNext(int count) {
+        return prioritizedTasks.stream().filter(task -> !isStale(task)).limit(count).toList();
+    }
+
+    protected void invalidatePrioritized() {
+        scheduleVersion.incrementAndGet();
+    }
+
+    long getScheduleVersion() {
+        return scheduleVersion.get();
+    }
+
+    int getSubtaskGeneration() {
+        return generations[TaskType.SUBTASK.ordinal()];
+    }
+
+    static void checkNextCount(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Количество ближайших задач должно быть больше 0");
+        }
+    }
+
+    @Override
+    public List<Task> getUrgentTasks(int count) {
+        return rankUrgent(count).stream().map(UrgencyIndex.Ranked::task).toList();
+    }
+
+    List<UrgencyIndex.Ranked> rankUrgent(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Количество срочных задач должно быть больше 0");
+        }
+        return journal.read(() -> urgency.top(count));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        long fromMinute = Task.toEpochMinute(from);
+        long toMinute = Task.toEpochMinute(to);
+        var singles = prioritizedTasks.subSet(RecurringSchedule.probe(fromMinute), true,
+                RecurringSchedule.probe(toMinute), false);
+        return RecurringSchedule.merge(live(singles), recurring.expand(fromMinute, toMinute));
+    }
+
+    @Override
+    public int detachOccurrence(int taskId, LocalDateTime start) {
+        return RecurringSchedule.detach(beginTransaction(), tasks.get(taskId), taskId, start);
+    }
+
+    @Override
+    public List<Task> getTasksByFilter(TaskFilter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("В параметр filter был передан null");
+        }
+
+        if (filter.epicId() != null) {
+            var epic = live(epicTasks.get(filter.epicId()));
+            if (epic == null) {
+                String errorMessage = String.format("В трекере нет эпика с id %d", filter.epicId());
+                throw new NoSuchElementException(errorMessage);
+            }
+
+            List<Task> result = journal.read(() -> {
+                List<Task> matching = new ArrayList<>();
+                for (var sub : epic.getEpicSubtasksView()) {
+                    if (index.matches(sub.getId(), filter.status(), filter.scheduled())) {
+                        matching.add(sub);
+                    }
+                }
+                return matching;
+            });
+            result.sort(Comparator.comparingInt(Task::getId));
+            return result;
+        }
+
+        var ids = journal.read(() -> index.select(filter.type(), filter.status(), filter.scheduled()));
+        List<Task> result = new ArrayList<>(ids.cardinality());
+        for (int i = ids.nextSetBit(0); i >= 0; i = ids.nextSetBit(i + 1)) {
+            Task task = findStored(i);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        long[] ranked = rankTasks(query, limit);
+        List<Task> result = new ArrayList<>(ranked.length);
+        for (long rank : ranked) {
+            Task task = findStored((int) rank);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> query(TaskQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("В параметр query был передан null");
+        }
+
+        Iterable<? extends Task> candidates;
+        Comparator<Task> order = null;
+        if (query.epicId() != null) {
+            var epic = live(epicTasks.get(query.epicId()));
+            if (epic == null) {
+                String errorMessage = String.format("В трекере нет эпика с id %d", query.epicId());
+                throw new NoSuchElementException(errorMessage);
+            }
+            candidates = epic.getEpicSubtasksView();
+        } else if (query.text() != null) {
+            var matches = query.type() == null
+                    ? rankTasks(query.text(), Integer.MAX_VALUE)
+                    : journal.read(() -> textIndexes[query.type().ordinal()].rank(query.text(), Integer.MAX_VALUE));
+            candidates = () -> Arrays.stream(matches).mapToObj(rank -> findStored((int) rank))
+                    .filter(Objects::nonNull).iterator();
+        } else if (query.hasRange() && query.type() != TaskType.EPIC) {
+            var singles = scheduledWithin(query.from(), query.to());
+            boolean hasEpics = query.type() == null && !epicTasks.isEmpty();
+            if (recurring.isEmpty() && !hasEpics) {
+                candidates = singles;
+                order = TaskQuery.Sort.START.order();
+            } else {
+                long fromMinute = query.from() == null ? Long.MIN_VALUE / 2 : Task.toEpochMinute(query.from());
+                long toMinute = query.to() == null ? Long.MAX_VALUE / 2 : Task.toEpochMinute(query.to());
+                List<Task> scheduled = recurring.expand(fromMinute, toMinute);
+                singles.forEach(scheduled::add);
+                if (hasEpics) {
+                    epicTasks.values().forEach(epic -> scheduled.add(live(epic)));
+                }
+                candidates = scheduled;
+            }
+        } else {
+            var ids = journal.read(() -> index.select(query.type(), query.status(), null));
+            candidates = () -> ids.stream().mapToObj(this::findStored).filter(Objects::nonNull).iterator();
+            order = TaskQuery.Sort.ID.order();
+        }
+        return select(candidates, order, query);
+    }
+
+    static List<Task> select(Iterable<? extends Task> candidates, Comparator<Task> order, TaskQuery query) {
+        var wanted = query.withoutOffset();
+        List<Task> result = new ArrayList<>();
+        if (order == query.sort().order()) {
+            for (var task : candidates) {
+                if (result.size() == wanted.limit()) {
+                    break;
+                }
+
+                if (query.matches(task)) {
+                    result.add(task);
+                }
+            }
+        } else {
+            PriorityQueue<Task> head = new PriorityQueue<>(query.sort().order().reversed());
+            for (var task : candidates) {
+                if (!query.matches(task)) {
+                    continue;
+                }
+
+                head.add(task);
+                if (head.size() > wanted.limit()) {
+                    head.poll();
+                }
+            }
+            result.addAll(head);
+            result.sort(query.sort().order());
+        }
+        if (query.offset() >= result.size()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(result.subList(query.offset(), result.size()));
+    }
+
+    protected Iterable<Task> scheduledWithin(LocalDateTime from, LocalDateTime to) {
+        NavigableSet<Task> range = prioritizedTasks;
+        if (from != null) {
+            range = range.tailSet(RecurringSchedule.probe(Task.toEpochMinute(from)), true);
+        }
+
+        if (to != null) {
+            range = range.headSet(RecurringSchedule.probe(Task.toEpochMinute(to)), false);
+        }
+
+        var scheduled = range;
+        return () -> scheduled.stream().filter(task -> !isStale(task)).iterator();
+    }
+
+    long[] rankTasks(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Поисковый запрос не может быть пустым");
+        }
+
+        if (limit < 1) {
+            throw new IllegalArgumentException("Количество результатов поиска должно быть больше 0");
+        }
+
+        long[] ranked = journal.read(() -> {
+            long[] merged = new long[0];
+            for (var textIndex : textIndexes) {
+                long[] part = textIndex.rank(query, limit);
+                int size = merged.length;
+                merged = Arrays.copyOf(merged, size + part.length);
+                System.arraycopy(part, 0, merged, size, part.length);
+            }
+            return merged;
+        });
+        Arrays.sort(ranked);
+        return ranked.length > limit ? Arrays.copyOf(ranked, limit) : ranked;
+    }
+
+    @Override
+    public BoardStats getStats() {
+        return getStats(LocalDateTime.now());
+    }
+
+    BoardStats getStats(LocalDateTime now) {
+        return journal.read(() -> statistics.snapshot(Task.toEpochMinute(now)));
+    }
+
+    @Override
+    public EpicProgress getEpicProgress(int epicId) {
+        if (epicId < 1) {
+            throw new IllegalArgumentException("У эпика не может быть id меньше 1");
+        }
+
+        var epic = live(epicTasks.get(epicId));
+        if (epic == null) {
+            String errorMessage = String.format("В трекере нет эпика с id %d", epicId);
+            throw new NoSuchElementException(errorMessage);
+        }
+
+        return new EpicProgress(epicId, epic.getStatus(), epic.getEpicSubtasksView().size(),
+                epic.getDoneSubtaskCount(), epic.getPlannedMinutes());
+    }
+
+    @Override
+    public void addDependency(int taskId, int dependsOnId) {
+        link(() -> findDependent(taskId), () -> findDependent(dependsOnId));
+    }
+
+    @Override
+    public void removeDependency(int taskId, int dependsOnId) {
+        if (taskId < 1 || dependsOnId < 1) {
+            throw new IllegalArgumentException("У задачи не может быть id меньше 1");
+        }
+
+        if (!dependencies.unlink(taskId, dependsOnId)) {
+            String errorMessage = String.format("Задача %d не зависит от задачи %d", taskId, dependsOnId);
+            throw new NoSuchElementException(errorMessage);
+        }
+    }
+
+    @Override
+    public List<Integer> getDependencies(int taskId) {
+        synchronized (dependencies) {
+            findDependent(taskId);
+            return dependencies.dependenciesOf(taskId);
+        }
+    }
+
+    @Override
+    public CriticalPath getCriticalPath(int epicId) {
+        if (epicId < 1) {
+            throw new IllegalArgumentException("У эпика не может быть id меньше 1");
+        }
+
+        var epic = live(epicTasks.get(epicId));
+        if (epic == null) {
+            String errorMessage = String.format("В трекере нет эпика с id %d", epicId);
+            throw new NoSuchElementException(errorMessage);
+        }
+        return dependencies.criticalPath(epicId, epic.getEpicSubtasksView());
+    }
+
+    void link(Supplier<Task> task, Supplier<Task> dependsOn) {
+        dependencies.link(task, dependsOn);
+    }
+
+    Task findDependent(int id) {
+        if (id < 1) {
+            throw new IllegalArgumentException("У задачи не может быть id меньше 1");
+        }
+
+        var stored = findStored(id);
+        if (stored == null) {
+            String errorMessage = String.format("В трекере нет задачи с id %d", id);
+            throw new NoSuchElementException(errorMessage);
+        }
+
+        if (stored.getType() == TaskType.EPIC) {
+            throw new IllegalArgumentException("Зависимости задаются только между Тасками и Сабтасками");
+        }
+        return stored;
+    }
+
+    @Override
+    public TaskTransaction beginTransaction() {
+        return new TaskTransaction(this::commit);
+    }
+
+    protected List<Integer> commit(List<TaskTransaction.Operation> operations) {
+        List<Task> replaced = new ArrayList<>();
+        List<Task> incoming = new ArrayList<>();
+        stage(operations, replaced, incoming);
+        scheduleAll(replaced, incoming);
+        return applyOperations(operations);
+    }
+
+    void stage(List<TaskTransaction.Operation> operations, List<Task> replaced, List<Task> incoming) {
+        Map<Integer, Task> finalVersions = new HashMap<>();
+        for (var operation : operations) {
+            switch (operation.kind()) {
+                case ADD_TASK -> incoming.add(operation.task());
+                case ADD_SUBTASK -> {
+                    if (!epicTasks.containsKey(operation.id())) {
+                        String errorMessage = String.format("В трекере нет эпика с id %d", operation.id());
+                        throw new NoSuchElementException(errorMessage);
+                    }
+                    incoming.add(operation.task());
+                }
+                case UPDATE_TASK, DELETE_TASK -> stageChange(tasks, operation, "задачи", finalVersions, replaced);
+                case UPDATE_SUBTASK, DELETE_SUBTASK ->
+                        stageChange(subtasks, operation, "сабтаска", finalVersions, replaced);
+            }
+        }
+        finalVersions.values().stream().filter(Objects::nonNull).forEach(incoming::add);
+    }
+
+    List<Integer> applyOperations(List<TaskTransaction.Operation> operations) {
+        List<Integer> ids = new ArrayList<>();
+        for (var operation : operations) {
+            switch (operation.kind()) {
+                case ADD_TASK -> {
+                    var task = operation.task();
+                    task.setId(generateNewId());
+                    tasks.put(task.getId(), task);
+                    indexEntry(task);
+                    ids.add(task.getId());
+                }
+                case UPDATE_TASK -> {
+                    var stored = tasks.put(operation.id(), operation.task());
+                    indexEntry(operation.task(), stored);
+                }
+                case DELETE_TASK -> {
+                    historyManager.remove(operation.id());
+                    tasks.remove(operation.id());
+                    unindexEntry(TaskType.TASK, operation.id());
+                }
+                case ADD_SUBTASK -> {
+                    var subtask = (Subtask) operation.task();
+                    subtask.setId(generateNewId());
+                    subtask.setEpicId(operation.id());
+                    subtasks.put(subtask.getId(), subtask);
+                    var epic = epicForUpdate(operation.id());
+                    epic.addSubtaskInEpic(subtask);
+                    indexEntry(subtask);
+                    touchEpic(epic);
+                    ids.add(subtask.getId());
+                }
+                case UPDATE_SUBTASK -> {
+                    var subtask = (Subtask) operation.task();
+                    subtask.setEpicId(subtasks.get(operation.id()).getEpicId());
+                    var epic = epicForUpdate(subtask.getEpicId());
+                    epic.updateSubtaskInEpic(subtask);
+                    var stored = subtasks.put(operation.id(), subtask);
+                    indexEntry(subtask, stored);
+                    touchEpic(epic);
+                }
+                case DELETE_SUBTASK -> {
+                    var epic = epicForUpdate(subtasks.get(operation.id()).getEpicId());
+                    epic.deleteSubtaskInEpic(operation.id());
+                    historyManager.remove(operation.id());
+                    subtasks.remove(operation.id());
+                    unindexEntry(TaskType.SUBTASK, operation.id());
+                    touchEpic(epic);
+                }
+            }
+        }
+        return ids;
+    }
+
+    static void stageChange(Map<Integer, ? extends Task> storage, TaskTransaction.Operation operation,
+                            String entity, Map<Integer, Task> finalVersions, List<Task> replaced) {
+        int id = operation.id();
+        if (finalVersions.containsKey(id) ? finalVersions.get(id) == null : !storage.containsKey(id)) {
+            String errorMessage = String.format("В трекере нет %s с id %d", entity, id);
+            throw new NoSuchElementException(errorMessage);
+        }
+
+        if (!finalVersions.containsKey(id)) {
+            replaced.add(storage.get(id));
+        }
+        finalVersions.put(id, operation.task());
+    }
+
+    @Override
+    public TaskEventSubscription subscribe(Consumer<TaskEvent> listener) {
+        return events.subscribe(listener);
+    }
+
+    protected void reindex() {
+        tasks.values().forEach(this::indexEntry);
+        epicTasks.values().forEach(this::indexEntry);
+        subtasks.values().forEach(this::indexEntry);
+    }
+
+    protected void restoreSchedule() {
+        tasks.values().forEach(this::restoreSlot);
+        subtasks.values().forEach(this::restoreSlot);
+        invalidatePrioritized();
+    }
+
+    private void restoreSlot(Task task) {
+        if (task.isRecurring()) {
+            recurring.put(task);
+        } else if (task.getStartTime() != null) {
+            place(task);
+        }
+    }
+
+    private void indexEntry(Task task) {
+        indexEntry(task, null);
+    }
+
+    private void indexEntry(Task task, Task previous) {
+        var indexed = task instanceof Epic epic ? headerOf(epic) : task;
+        boolean isRetitled = previous == null || !Objects.equals(task.getTitle(), previous.getTitle())
+                || !Objects.equals(task.getDescription(), previous.getDescription());
+        var textIndex = textIndexes[task.getType().ordinal()];
+        int epicWeight = task instanceof Subtask sub ? epicWeightOf(sub.getEpicId()) : 0;
+        journal.publish(() -> {
+            index.put(indexed);
+            if (isRetitled) {
+                textIndex.put(indexed);
+            }
+            statistics.put(indexed);
+            if (!(indexed instanceof Epic)) {
+                urgency.put(indexed, epicWeight);
+            }
+        });
+        if (task instanceof Epic epic) {
+            reweigh(epic);
+        }
+        dependencies.update(task);
+        events.publish(previous == null ? ChangeType.CREATED : ChangeType.UPDATED, task.getType(), task.getId());
+    }
+
+    private void unindexEntry(TaskType type, int id) {
+        var textIndex = textIndexes[type.ordinal()];
+        journal.publish(() -> {
+            index.remove(id);
+            textIndex.remove(id);
+            statistics.remove(id);
+            urgency.remove(id);
+        });
+        if (type == TaskType.EPIC) {
+            epicWeights.remove(id);
+        }
+        dependencies.remove(id);
+        events.publish(ChangeType.DELETED, type, id);
+    }
+
+    private void reweigh(Epic epic) {
+        int weight = UrgencyIndex.weightOf(epic);
+        var previous = epicWeights.put(epic.getId(), Integer.valueOf(weight));
+        if (previous != null && previous == weight) {
+            return;
+        }
+
+        List<Subtask> rescored = new ArrayList<>(epic.getEpicSubtasksView());
+        journal.publish(() -> urgency.reweigh(rescored, weight));
+    }
+
+    private int epicWeightOf(int epicId) {
+        var weight = epicWeights.get(epicId);
+        return weight == null ? 0 : weight;
+    }
+
+    private static Epic headerOf(Epic epic) {
+        var header = new Epic(epic.getTitle(), epic.getDescription(), epic.getId());
+        header.setStatus(epic.getStatus());
+        header.setStartTime(epic.getStartTime());
+        header.setDuration(epic.getDuration());
+        header.setEndTime(epic.getEndTime());
+        return header;
+    }
+
+    private TaskType typeOf(int id) {
+        if (tasks.containsKey(id)) {
+            return TaskType.TASK;
+        } else if (epicTasks.containsKey(id)) {
+            return TaskType.EPIC;
+        } else if (subtasks.containsKey(id)) {
+            return TaskType.SUBTASK;
+        }
+        return null;
+    }
+
+    private void clearType(TaskType type) {
+        generations[type.ordinal()] = peekNextId();
+        if (type != TaskType.TASK) {
+            epicWeights = new ConcurrentIntMap<>();
+        }
+
+        var textIndex = textIndexes[type.ordinal()];
+        journal.publish(() -> {
+            index.removeAll(type);
+            textIndex.clear();
+            statistics.removeAll(type);
+            urgency.removeAll(type);
+        });
+        dependencies.retire(type);
+        if (type != TaskType.EPIC) {
+            reclaimer.wake();
+            invalidatePrioritized();
+        }
+        publishCleared(type);
+    }
+
+    protected void publishCleared(TaskType type) {
+        events.publish(ChangeType.CLEARED, type, 0);
+    }
+
+    boolean isStale(Task task) {
+        return task.getId() < generations[task.getType().ordinal()];
+    }
+
+    boolean isExpired(Epic epic) {
+        return epic.hasSubtasksBefore(generations[TaskType.SUBTASK.ordinal()]);
+    }
+
+    Epic live(Epic epic) {
+        return epic == null || !isExpired(epic) ? epic : expire(epic, generations[TaskType.SUBTASK.ordinal()]);
+    }
+
+    static Epic expire(Epic epic, int generation) {
+        var expired = new Epic(epic.getTitle(), epic.getDescription(), epic.getId());
+        expired.deleteSubtasksBefore(generation);
+        return expired;
+    }
+
+    private Epic epicForUpdate(int epicId) {
+        var epic = epicTasks.getForUpdate(epicId);
+        epic.deleteSubtasksBefore(generations[TaskType.SUBTASK.ordinal()]);
+        return epic;
+    }
+
+    private List<Task> live(Collection<Task> scheduled) {
+        return scheduled.stream().filter(task -> !isStale(task)).toList();
+    }
+
+    private final class StaleSweep implements BooleanSupplier {
+        private Task last;
+
+        @Override
+        public boolean getAsBoolean() {
+            var range = last == null ? prioritizedTasks : prioritizedTasks.tailSet(last, false);
+            var entries = range.iterator();
+            for (int visited = 0; visited < RECLAIM_BATCH; visited++) {
+                if (!entries.hasNext()) {
+                    return false;
+                }
+
+                last = entries.next();
+                if (isStale(last)) {
+                    slots.remove(last, last);
+                }
+            }
+            return true;
+        }
+    }
+
+    private void place(Task task) {
+        var twin = prioritizedTasks.floor(task);
+        if (twin != null && twin.getStartMinute() == task.getStartMinute() && isStale(twin)) {
+            slots.remove(twin, twin);
+        }
+        slots.putIfAbsent(task, task);
+    }
+
+    private void touchEpic(Epic epic) {
+        var header = headerOf(epic);
+        journal.publish(() -> {
+            index.put(header);
+            statistics.put(header);
+        });
+        reweigh(epic);
+        events.publish(ChangeType.UPDATED, TaskType.EPIC, epic.getId());
+    }
+
+    Task findStored(int id) {
+        var type = typeOf(id);
+        if (type == null) {
+            return null;
+        }
+
+        return switch (type) {
+            case TASK -> tasks.get(id);
+            case EPIC -> live(epicTasks.get(id));
+            case SUBTASK -> subtasks.get(id);
+        };
+    }
+
+    protected <T extends Task> List<T> getPage(IntMap<T> storage, TaskType type, int afterId, int limit) {
+        checkPageBounds(afterId, limit);
+        if (storage.isEmpty() || afterId == Integer.MAX_VALUE) {
+            return Collections.emptyList();
+        }
+
+        int[] ids = journal.read(() -> index.idsAfter(type, afterId, limit));
+        List<T> page = new ArrayList<>(ids.length);
+        for (int pageId : ids) {
+            T value = storage.get(pageId);
+            if (value != null) {
+                page.add(value);
+            }
+        }
+        return page;
+    }
+
+    protected static void checkPageBounds(int afterId, int limit) {
+        if (afterId < 0) {
+            throw new IllegalArgumentException("Курсор страницы не может быть меньше 0");
+        }
+
+        if (limit < 1) {
+            throw new IllegalArgumentException("Размер страницы должен быть больше 0");
+        }
+    }
+
+    static void checkPatch(int id, TaskPatch patch) {
+        if (id < 1) {
+            throw new IllegalArgumentException("У задачи не может быть id меньше 1");
+        }
+
+        if (patch == null) {
+            throw new IllegalArgumentException("В параметр patch был передан null");
+        }
     }
 
-    private boolean hasInteractions(Task task) {
-        return prioritizedTasks.stream().filter(t -> !task.equals(t))
-                .anyMatch(t -> task.getStartTime().isEqual(t.getStartTime())
-                        || task.getEndTime().isEqual(t.getEndTime())
-                        || task.getStartTime().isBefore(t.getStartTime()) && task.getEndTime().isAfter(t.getStartTime())
-                        || task.getStartTime().isBefore(t.getEndTime()) && task.getEndTime().isAfter(t.getEndTime())
-                        || task.getStartTime().isAfter(t.getStartTime()) && task.getEndTime().isBefore(t.getEndTime())
-                );
+    static void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Не передана граница интервала расписания");
+        }
+
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Конец интервала расписания не может быть раньше начала");
+        }
+    }
+
+    protected void schedule(Task oldTask, Task newTask) {
+        RecurringSchedule.check(newTask);
+        if (isSameSlot(oldTask, newTask)) {
+            reslot(oldTask, newTask);
+            return;
+        }
+
+        if (newTask.getStartTime() != null) {
+            Set<Integer> ignoredIds = oldTask == null ? Set.of() : Set.of(oldTask.getId());
+            boolean isConflicting = newTask.isRecurring()
+                    ? RecurringSchedule.conflicts(newTask, prioritizedTasks,
+                    task -> ignoredIds.contains(task.getId()) || isStale(task))
+                    : hasInteractions(newTask, oldTask);
+            if (isConflicting || recurring.conflicts(newTask, ignoredIds)) {
+                String errorMessage = "Задачи не могут пересекаться по времени выполнения";
+                throw new TaskInteractionException(errorMessage);
+            }
+        }
+
+        if (oldTask != null && oldTask.isRecurring()) {
+            recurring.remove(oldTask);
+        } else if (oldTask != null && oldTask.getStartTime() != null) {
+            prioritizedTasks.remove(oldTask);
+        }
+
+        if (newTask.isRecurring()) {
+            recurring.put(newTask);
+        } else if (newTask.getStartTime() != null) {
+            place(newTask);
+        }
+
+        if (newTask.getStartTime() != null || oldTask != null && oldTask.getStartTime() != null) {
+            invalidatePrioritized();
+        }
     }
 
-    private int generateNewId() {
+    protected void scheduleAll(Collection<? extends Task> replaced, List<? extends Task> batch) {
+        batch.forEach(RecurringSchedule::check);
+        Set<Integer> replacedIds = new HashSet<>();
+        replaced.forEach(task -> replacedIds.add(task.getId()));
+
+        List<Task> incoming = new ArrayList<>();
+        List<Task> series = new ArrayList<>();
+        for (var task : batch) {
+            if (task.getStartTime() == null) {
+                continue;
+            }
+
+            if (recurring.conflicts(task, replacedIds) || task.isRecurring()
+                    && RecurringSchedule.conflicts(task, prioritizedTasks,
+                    other -> replacedIds.contains(other.getId()) || isStale(other))) {
+                String errorMessage = "Задачи не могут пересекаться по времени выполнения";
+                throw new TaskInteractionException(errorMessage);
+            }
+            (task.isRecurring() ? series : incoming).add(task);
+        }
+
+        if (RecurringSchedule.overlapsWithin(batch)) {
+            String errorMessage = "Задачи не могут пересекаться по времени выполнения";
+            throw new TaskInteractionException(errorMessage);
+        }
+
+        if (incoming.isEmpty()) {
+            replaced.forEach(this::unschedule);
+            series.forEach(recurring::put);
+            if (!series.isEmpty()) {
+                invalidatePrioritized();
+            }
+            return;
+        }
+
+        incoming.sort(Comparator.comparingLong(Task::getStartMinute));
+
+        var existing = prioritizedTasks.iterator();
+        Task nextExisting = existing.hasNext() ? existing.next() : null;
+        int nextIncoming = 0;
+        Task previous = null;
+        Task longest = null;
+        boolean isPreviousIncoming = false;
+        boolean isLongestIncoming = false;
+        while (nextExisting != null || nextIncoming < incoming.size()) {
+            Task task;
+            boolean isIncoming = nextExisting == null || nextIncoming < incoming.size()
+                    && incoming.get(nextIncoming).getStartMinute() < nextExisting.getStartMinute();
+            if (isIncoming) {
+                task = incoming.get(nextIncoming++);
+            } else {
+                task = nextExisting;
+                nextExisting = existing.hasNext() ? existing.next() : null;
+                if (replacedIds.contains(task.getId()) || isStale(task)) {
+                    continue;
+                }
+            }
+
+            if (previous != null && (isIncoming || isPreviousIncoming) && overlaps(task, previous)
+                    || longest != null && (isIncoming || isLongestIncoming) && overlaps(task, longest)) {
+                String errorMessage = "Задачи не могут пересекаться по времени выполнения";
+                throw new TaskInteractionException(errorMessage);
+            }
+
+            previous = task;
+            isPreviousIncoming = isIncoming;
+            if (longest == null || task.getEndMinute() > longest.getEndMinute()) {
+                longest = task;
+                isLongestIncoming = isIncoming;
+            }
+        }
+
+        replaced.forEach(this::unschedule);
+        incoming.forEach(this::place);
+        series.forEach(recurring::put);
+        invalidatePrioritized();
+    }
+
+    private void reslot(Task oldTask, Task newTask) {
+        if (newTask.isRecurring()) {
+            recurring.remove(oldTask);
+            recurring.put(newTask);
+        } else if (newTask.getStartTime() != null) {
+            prioritizedTasks.remove(oldTask);
+            slots.putIfAbsent(newTask, newTask);
+        }
+
+        if (newTask.getStartTime() != null) {
+            invalidatePrioritized();
+        }
+    }
+
+    static boolean isSameSlot(Task oldTask, Task newTask) {
+        return oldTask != null && Objects.equals(oldTask.getStartTime(), newTask.getStartTime())
+                && Objects.equals(oldTask.getDuration(), newTask.getDuration())
+                && Objects.equals(oldTask.getRecurrence(), newTask.getRecurrence());
+    }
+
+    protected void unschedule(Task task) {
+        if (task.isRecurring()) {
+            recurring.remove(task);
+        } else if (task.getStartTime() != null) {
+            prioritizedTasks.remove(task);
+        }
+
+        if (task.getStartTime() != null) {
+            invalidatePrioritized();
+        }
+    }
+
+    private boolean hasInteractions(Task task, Task oldTask) {
+        return prioritizedTasks.stream()
+                .filter(t -> !t.equals(oldTask) && !isStale(t))
+                .anyMatch(t -> overlaps(task, t));
+    }
+
+    static boolean overlaps(Task task, Task t) {
+        return overlaps(task.getStartMinute(), task.getEndMinute(), t.getStartMinute(), t.getEndMinute());
+    }
+
+    static boolean overlaps(long start, long end, long otherStart, long otherEnd) {
+        return start == otherStart
+                || end == otherEnd
+                || start < otherStart && end > otherStart
+                || start < otherEnd && end > otherEnd
+                || start > otherStart && end < otherEnd;
+    }
+
+    protected int generateNewId() {
         return id++;
     }
+
+    protected int peekNextId() {
+        return id;
+    }
+
+    protected int reserveIds(int count) {
+        int firstId = id;
+        id += count;
+        return firstId;
+    }
+
+    private static <T extends Task> List<T> copyBatch(Collection<T> batch, String parameter) {
+        if (batch == null) {
+            throw new IllegalArgumentException(String.format("В параметр %s был передан null", parameter));
+        }
+
+        List<T> copy = new ArrayList<>(batch);
+        for (var task : copy) {
+            if (task == null) {
+                throw new IllegalArgumentException(String.format("В параметре %s есть null", parameter));
+            }
+        }
+        return copy;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package tracker.controllers;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+final class IndexJournal {
+    private static final int APPLY_BATCH = 1024;
+
+    private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final Housekeeper housekeeper = new Housekeeper(() -> this::applyBatch);
+
+    void publish(Runnable update) {
+        pending.add(update);
+        if (backlog.incrementAndGet() == APPLY_BATCH) {
+            housekeeper.wake();
+        }
+    }
+
+    synchronized <T> T read(Supplier<T> query) {
+        apply(Integer.MAX_VALUE);
+        return query.get();
+    }
+
+    private synchronized boolean applyBatch() {
+        return apply(APPLY_BATCH);
+    }
+
+    private boolean apply(int limit) {
+        for (int applied = 0; applied < limit; applied++) {
+            var update = pending.poll();
+            if (update == null) {
+                return false;
+            }
+
+            backlog.decrementAndGet();
+            update.run();
+        }
+        return true;
+    }
+}
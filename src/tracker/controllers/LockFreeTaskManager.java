@@ -0,0 +1,421 @@
+package tracker.controllers;
+
+import tracker.exceptions.TaskInteractionException;
+
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LockFreeTaskManager extends InMemoryTaskManager {
+    private final ConcurrentSkipListMap<LocalDateTime, Task> schedule;
+    private final AtomicInteger idGenerator;
+
+    public LockFreeTaskManager(HistoryManager historyManager) {
+        super(new SynchronizedHistoryManager(historyManager), new ConcurrentIntMap<>(),
+                new ConcurrentIntMap<>(), new ConcurrentIntMap<>());
+        schedule = new ConcurrentSkipListMap<>();
+        idGenerator = new AtomicInteger(id);
+    }
+
+    @Override
+    public Task updateTask(Task task) {
+        if (task == null) {
+            return super.updateTask(null);
+        }
+        return withEntry(tasks, task.getId(), () -> super.updateTask(task));
+    }
+
+    @Override
+    public Task patchTask(int id, TaskPatch patch) {
+        return withEntry(tasks, id, () -> super.patchTask(id, patch));
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        withEntry(tasks, id, () -> {
+            super.deleteTaskById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        tasks.keySet().forEach(this::deleteTaskById);
+    }
+
+    @Override
+    public Epic updateEpic(Epic epic) {
+        if (epic == null) {
+            return super.updateEpic(null);
+        }
+        return withEntry(epicTasks, epic.getId(), () -> super.updateEpic(epic));
+    }
+
+    @Override
+    public Epic patchEpic(int epicId, TaskPatch patch) {
+        return withEntry(epicTasks, epicId, () -> super.patchEpic(epicId, patch));
+    }
+
+    @Override
+    public List<Subtask> getAllEpicSubtasks(int epicId) {
+        return withEntry(epicTasks, epicId, () -> super.getAllEpicSubtasks(epicId));
+    }
+
+    @Override
+    public void deleteEpicById(int epicId) {
+        withEntry(epicTasks, epicId, () -> {
+            super.deleteEpicById(epicId);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        epicTasks.keySet().forEach(this::deleteEpicById);
+    }
+
+    @Override
+    public int addNewSubtask(Subtask subtask, int epicId) {
+        return withEntry(epicTasks, epicId, () -> super.addNewSubtask(subtask, epicId));
+    }
+
+    @Override
+    public List<Integer> addNewSubtasks(Collection<Subtask> newSubtasks) {
+        if (newSubtasks == null) {
+            return super.addNewSubtasks(null);
+        }
+
+        var epicIds = new TreeSet<Integer>();
+        for (var subtask : newSubtasks) {
+            if (subtask != null) {
+                epicIds.add(subtask.getEpicId());
+            }
+        }
+        return withEntries(epicTasks, new ArrayList<>(epicIds), 0, () -> super.addNewSubtasks(newSubtasks));
+    }
+
+    @Override
+    public Subtask updateSubtask(Subtask subtask) {
+        if (subtask == null) {
+            return super.updateSubtask(null);
+        }
+
+        var stored = subtasks.get(subtask.getId());
+        if (stored == null) {
+            return super.updateSubtask(subtask);
+        }
+        return withEntry(epicTasks, stored.getEpicId(), () -> super.updateSubtask(subtask));
+    }
+
+    @Override
+    public Subtask patchSubtask(int id, TaskPatch patch) {
+        var stored = subtasks.get(id);
+        if (stored == null) {
+            return super.patchSubtask(id, patch);
+        }
+        return withEntry(epicTasks, stored.getEpicId(), () -> super.patchSubtask(id, patch));
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        var stored = subtasks.get(id);
+        if (stored == null) {
+            super.deleteSubtaskById(id);
+            return;
+        }
+
+        withEntry(epicTasks, stored.getEpicId(), () -> {
+            super.deleteSubtaskById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        subtasks.keySet().forEach(this::deleteSubtaskById);
+    }
+
+    @Override
+    public EpicProgress getEpicProgress(int epicId) {
+        return withEntry(epicTasks, epicId, () -> super.getEpicProgress(epicId));
+    }
+
+    @Override
+    public CriticalPath getCriticalPath(int epicId) {
+        return withEntry(epicTasks, epicId, () -> super.getCriticalPath(epicId));
+    }
+
+    @Override
+    public List<Task> getTasksByFilter(TaskFilter filter) {
+        if (filter == null || filter.epicId() == null) {
+            return super.getTasksByFilter(filter);
+        }
+        return withEntry(epicTasks, filter.epicId(), () -> super.getTasksByFilter(filter));
+    }
+
+    @Override
+    protected List<Integer> commit(List<TaskTransaction.Operation> operations) {
+        var taskIds = new TreeSet<Integer>();
+        var epicIds = new TreeSet<Integer>();
+        for (var operation : operations) {
+            switch (operation.kind()) {
+                case UPDATE_TASK, DELETE_TASK -> taskIds.add(operation.id());
+                case ADD_SUBTASK -> epicIds.add(operation.id());
+                case UPDATE_SUBTASK, DELETE_SUBTASK -> {
+                    var stored = subtasks.get(operation.id());
+                    if (stored != null) {
+                        epicIds.add(stored.getEpicId());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return withEntries(tasks, new ArrayList<>(taskIds), 0,
+                () -> withEntries(epicTasks, new ArrayList<>(epicIds), 0, () -> super.commit(operations)));
+    }
+
+    @Override
+    protected List<Task> collectPrioritized() {
+        if (!recurring.isEmpty()) {
+            return RecurringSchedule.merge(List.copyOf(schedule.values()), recurring.expand());
+        }
+
+        if (schedule.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return List.copyOf(schedule.values());
+    }
+
+    @Override
+    protected List<Task> collectNext(int count) {
+        return schedule.values().stream().limit(count).toList();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        var singles = List.copyOf(schedule.subMap(from, true, to, false).values());
+        return RecurringSchedule.merge(singles, recurring.expand(Task.toEpochMinute(from), Task.toEpochMinute(to)));
+    }
+
+    @Override
+    public List<Task> query(TaskQuery query) {
+        if (query == null || query.epicId() == null) {
+            return super.query(query);
+        }
+        return withEntry(epicTasks, query.epicId(), () -> super.query(query));
+    }
+
+    @Override
+    protected Iterable<Task> scheduledWithin(LocalDateTime from, LocalDateTime to) {
+        NavigableMap<LocalDateTime, Task> range = schedule;
+        if (from != null) {
+            range = range.tailMap(from.truncatedTo(ChronoUnit.MINUTES), true);
+        }
+
+        if (to != null) {
+            range = range.headMap(to.truncatedTo(ChronoUnit.MINUTES), false);
+        }
+        return range.values();
+    }
+
+    @Override
+    protected void schedule(Task oldTask, Task newTask) {
+        RecurringSchedule.check(newTask);
+        try {
+            if (isSameSlot(oldTask, newTask)) {
+                reslot(oldTask, newTask);
+            } else if (newTask.isRecurring()) {
+                reserveSeries(oldTask, newTask);
+            } else if (newTask.getStartTime() != null) {
+                reserve(oldTask, newTask);
+            }
+
+            if (oldTask != null && oldTask.isRecurring()) {
+                if (!newTask.isRecurring()) {
+                    recurring.remove(oldTask);
+                }
+            } else if (oldTask != null && oldTask.getStartTime() != null
+                    && (newTask.isRecurring() || !oldTask.getStartTime().isEqual(startOf(newTask)))) {
+                schedule.remove(oldTask.getStartTime(), oldTask);
+            }
+        } finally {
+            if (newTask.getStartTime() != null || oldTask != null && oldTask.getStartTime() != null) {
+                invalidatePrioritized();
+            }
+        }
+    }
+
+    @Override
+    protected void scheduleAll(Collection<? extends Task> replaced, List<? extends Task> batch) {
+        batch.forEach(RecurringSchedule::check);
+        if (RecurringSchedule.overlapsWithin(batch)) {
+            throw new TaskInteractionException("Задачи не могут пересекаться по времени выполнения");
+        }
+
+        replaced.forEach(this::unschedule);
+        List<Task> reserved = new ArrayList<>();
+        try {
+            for (var task : batch) {
+                if (task.isRecurring()) {
+                    reserveSeries(null, task);
+                    reserved.add(task);
+                } else if (task.getStartTime() != null) {
+                    reserve(null, task);
+                    reserved.add(task);
+                }
+            }
+        } catch (TaskInteractionException e) {
+            reserved.forEach(this::unschedule);
+            for (var task : replaced) {
+                if (task.isRecurring()) {
+                    recurring.put(task);
+                } else if (task.getStartTime() != null) {
+                    schedule.putIfAbsent(task.getStartTime(), task);
+                }
+            }
+            throw e;
+        } finally {
+            invalidatePrioritized();
+        }
+    }
+
+    @Override
+    protected void unschedule(Task task) {
+        if (task.isRecurring()) {
+            recurring.remove(task);
+        } else if (task.getStartTime() != null) {
+            schedule.remove(task.getStartTime(), task);
+        }
+
+        if (task.getStartTime() != null) {
+            invalidatePrioritized();
+        }
+    }
+
+    @Override
+    protected int generateNewId() {
+        return idGenerator.getAndIncrement();
+    }
+
+    @Override
+    protected int peekNextId() {
+        return idGenerator.get();
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        return idGenerator.getAndAdd(count);
+    }
+
+    private void reserve(Task oldTask, Task newTask) {
+        var start = newTask.getStartTime();
+        var previous = schedule.putIfAbsent(start, newTask);
+        if (previous != null && (previous != oldTask || !schedule.replace(start, oldTask, newTask))) {
+            throw new TaskInteractionException("Задачи не могут пересекаться по времени выполнения");
+        }
+
+        if (overlapsNeighbours(oldTask, newTask) || recurring.conflicts(newTask, idsOf(oldTask))) {
+            if (previous == null) {
+                schedule.remove(start, newTask);
+            } else {
+                schedule.replace(start, newTask, oldTask);
+            }
+            throw new TaskInteractionException("Задачи не могут пересекаться по времени выполнения");
+        }
+    }
+
+    private void reslot(Task oldTask, Task newTask) {
+        if (newTask.isRecurring()) {
+            synchronized (recurring) {
+                recurring.remove(oldTask);
+                recurring.put(newTask);
+            }
+        } else if (newTask.getStartTime() != null) {
+            schedule.replace(newTask.getStartTime(), oldTask, newTask);
+        }
+    }
+
+    private void reserveSeries(Task oldTask, Task newTask) {
+        synchronized (recurring) {
+            if (recurring.conflicts(newTask, idsOf(oldTask))
+                    || RecurringSchedule.conflicts(newTask, schedule, idsOf(oldTask))) {
+                throw new TaskInteractionException("Задачи не могут пересекаться по времени выполнения");
+            }
+
+            if (oldTask != null) {
+                recurring.remove(oldTask);
+            }
+            recurring.put(newTask);
+        }
+    }
+
+    private static Set<Integer> idsOf(Task task) {
+        return task == null ? Set.of() : Set.of(task.getId());
+    }
+
+    private boolean overlapsNeighbours(Task oldTask, Task newTask) {
+        long start = newTask.getStartMinute();
+        long end = newTask.getEndMinute();
+
+        var lower = schedule.lowerEntry(newTask.getStartTime());
+        while (lower != null && lower.getValue() == oldTask) {
+            lower = schedule.lowerEntry(lower.getKey());
+        }
+        if (lower != null) {
+            long lowerEnd = lower.getValue().getEndMinute();
+            if (lowerEnd > start || lowerEnd == end) {
+                return true;
+            }
+        }
+
+        var higher = schedule.higherEntry(newTask.getStartTime());
+        while (higher != null && higher.getValue() == oldTask) {
+            higher = schedule.higherEntry(higher.getKey());
+        }
+        return higher != null && (higher.getValue().getStartMinute() < end || higher.getValue().getEndMinute() == end);
+    }
+
+    private static LocalDateTime startOf(Task task) {
+        return task.getStartTime() == null ? LocalDateTime.MIN : task.getStartTime();
+    }
+
+    private static <K, V, R> R withEntries(Map<K, V> map, List<K> keys, int from, Supplier<R> action) {
+        if (from == keys.size()) {
+            return action.get();
+        }
+        return withEntry(map, keys.get(from), () -> withEntries(map, keys, from + 1, action));
+    }
+
+    private static <K, V, R> R withEntry(Map<K, V> map, K key, Supplier<R> action) {
+        while (true) {
+            var entry = map.get(key);
+            if (entry == null) {
+                return action.get();
+            }
+
+            synchronized (entry) {
+                if (map.get(key) == entry) {
+                    return action.get();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,891 @@
+package tracker.controllers;
+
+import tracker.exceptions.TaskInteractionException;
+
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+
+import tracker.util.ChangeType;
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
+
+import java.time.LocalDateTime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class PartitionedTaskManager implements TaskManager {
+    private static final Comparator<Task> BY_ID = Comparator.comparingInt(Task::getId);
+    private static final Comparator<Task> BY_START = Comparator.comparingLong(Task::getStartMinute);
+
+    private final Shard[] shards;
+    private final Map<Integer, Shard> owners = new ConcurrentHashMap<>();
+    private final AtomicInteger idGenerator = new AtomicInteger(1);
+    private final ReentrantLock scheduleLock = new ReentrantLock();
+    private final HistoryManager historyManager;
+    private final TaskEventDispatcher events = new TaskEventDispatcher();
+    private final DependencyGraph dependencies = new DependencyGraph();
+    private final AtomicLong scheduleVersion = new AtomicLong();
+
+    private volatile PrioritizedView prioritized;
+
+    private record PrioritizedView(long version, List<Task> tasks) {
+    }
+
+    private class Shard extends InMemoryTaskManager {
+        private final int index;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Shard(int index) {
+            super(historyManager, events, dependencies);
+            this.index = index;
+        }
+
+        @Override
+        protected void schedule(Task oldTask, Task newTask) {
+            if (newTask.getStartTime() != null && !isSameSlot(oldTask, newTask)) {
+                checkForeign(this, oldTask == null ? List.of() : List.of(oldTask), List.of(newTask));
+            }
+            super.schedule(oldTask, newTask);
+        }
+
+        @Override
+        protected void scheduleAll(Collection<? extends Task> replaced, List<? extends Task> batch) {
+            checkForeign(this, replaced, batch);
+            super.scheduleAll(replaced, batch);
+        }
+
+        private List<Integer> addValidatedSubtasks(List<Subtask> batch) {
+            super.scheduleAll(Collections.emptyList(), batch);
+            return insertSubtasks(batch);
+        }
+
+        private List<Integer> commitValidated(List<TaskTransaction.Operation> group) {
+            List<Task> replaced = new ArrayList<>();
+            List<Task> incoming = new ArrayList<>();
+            stage(group, replaced, incoming);
+            super.scheduleAll(replaced, incoming);
+            return applyOperations(group);
+        }
+
+        @Override
+        protected void invalidatePrioritized() {
+            super.invalidatePrioritized();
+            scheduleVersion.incrementAndGet();
+        }
+
+        @Override
+        protected void publishCleared(TaskType type) {
+        }
+
+        @Override
+        protected int generateNewId() {
+            return idGenerator.getAndIncrement();
+        }
+
+        @Override
+        protected int peekNextId() {
+            return idGenerator.get();
+        }
+
+        @Override
+        protected int reserveIds(int count) {
+            return idGenerator.getAndAdd(count);
+        }
+    }
+
+    public PartitionedTaskManager(HistoryManager historyManager) {
+        this(historyManager, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PartitionedTaskManager(HistoryManager historyManager, int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Количество шардов должно быть больше 0");
+        }
+
+        this.historyManager = new SynchronizedHistoryManager(historyManager);
+        shards = new Shard[partitions];
+        for (int i = 0; i < partitions; i++) {
+            shards[i] = new Shard(i);
+        }
+    }
+
+    private Shard placeNext() {
+        int hash = idGenerator.get() * 0x9E3779B9;
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+
+    private Shard ownerOf(int id) {
+        return owners.getOrDefault(id, shards[0]);
+    }
+
+    private <R> R read(Shard shard, Function<Shard, R> action) {
+        shard.lock.lock();
+        try {
+            return action.apply(shard);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private <R> R write(Shard shard, Predicate<Shard> isScheduling, Function<Shard, R> action) {
+        shard.lock.lock();
+        try {
+            if (!isScheduling.test(shard)) {
+                return action.apply(shard);
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+
+        scheduleLock.lock();
+        shard.lock.lock();
+        try {
+            return action.apply(shard);
+        } finally {
+            shard.lock.unlock();
+            scheduleLock.unlock();
+        }
+    }
+
+    private <R> R writeAll(Collection<Shard> involved, Supplier<R> action) {
+        List<Shard> ordered = new ArrayList<>(involved);
+        ordered.sort(Comparator.comparingInt(shard -> shard.index));
+        scheduleLock.lock();
+        int locked = 0;
+        try {
+            for (var shard : ordered) {
+                shard.lock.lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                ordered.get(i).lock.unlock();
+            }
+            scheduleLock.unlock();
+        }
+    }
+
+    private static boolean isScheduled(Task task) {
+        return task != null && task.getStartTime() != null;
+    }
+
+    private void checkForeign(Shard own, Collection<? extends Task> replaced, Collection<? extends Task> incoming) {
+        Set<Integer> replacedIds = new HashSet<>();
+        replaced.forEach(task -> replacedIds.add(task.getId()));
+        for (var task : incoming) {
+            RecurringSchedule.check(task);
+            if (task.getStartTime() == null) {
+                continue;
+            }
+
+            for (var shard : shards) {
+                if (shard == own) {
+                    continue;
+                }
+
+                Predicate<Task> isIgnored = other -> replacedIds.contains(other.getId()) || shard.isStale(other);
+                boolean isConflicting = task.isRecurring()
+                        ? RecurringSchedule.conflicts(task, shard.prioritizedTasks, isIgnored)
+                        : overlapsNeighbours(shard.prioritizedTasks, task, isIgnored);
+                if (isConflicting || shard.recurring.conflicts(task, replacedIds)) {
+                    throw new TaskInteractionException("Задачи не могут пересекаться по времени выполнения");
+                }
+            }
+        }
+    }
+
+    private static boolean overlapsNeighbours(NavigableSet<Task> schedule, Task task, Predicate<Task> isIgnored) {
+        for (var lower : schedule.headSet(task, true).descendingSet()) {
+            if (!isIgnored.test(lower)) {
+                if (InMemoryTaskManager.overlaps(task, lower)) {
+                    return true;
+                }
+                break;
+            }
+        }
+
+        for (var higher : schedule.tailSet(task, false)) {
+            if (!isIgnored.test(higher)) {
+                return InMemoryTaskManager.overlaps(task, higher);
+            }
+        }
+        return false;
+    }
+
+    private static void checkBatch(Collection<? extends Task> batch) {
+        batch.forEach(RecurringSchedule::check);
+        if (RecurringSchedule.overlapsWithin(batch)) {
+            throw new TaskInteractionException("Задачи не могут пересекаться по времени выполнения");
+        }
+
+        List<Task> scheduled = new ArrayList<>();
+        for (var task : batch) {
+            if (task.getStartTime() != null && !task.isRecurring()) {
+                scheduled.add(task);
+            }
+        }
+        scheduled.sort(BY_START);
+
+        Task longest = null;
+        for (var task : scheduled) {
+            if (longest != null && InMemoryTaskManager.overlaps(task, longest)) {
+                throw new TaskInteractionException("Задачи не могут пересекаться по времени выполнения");
+            }
+
+            if (longest == null || task.getEndMinute() > longest.getEndMinute()) {
+                longest = task;
+            }
+        }
+    }
+
+    private <T extends Task> List<T> gather(Function<Shard, List<T>> query, int limit) {
+        List<List<T>> parts = new ArrayList<>(shards.length);
+        for (var shard : shards) {
+            parts.add(read(shard, query));
+        }
+        return merge(parts, BY_ID, limit);
+    }
+
+    private static <T> List<T> merge(List<List<T>> parts, Comparator<? super T> order, int limit) {
+        int total = 0;
+        for (var part : parts) {
+            total += part.size();
+        }
+
+        List<T> merged = new ArrayList<>(Math.min(total, limit));
+        PriorityQueue<int[]> heads = new PriorityQueue<>((left, right) ->
+                order.compare(parts.get(left[0]).get(left[1]), parts.get(right[0]).get(right[1])));
+        for (int i = 0; i < parts.size(); i++) {
+            if (!parts.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+
+        while (!heads.isEmpty() && merged.size() < limit) {
+            int[] head = heads.poll();
+            var part = parts.get(head[0]);
+            merged.add(part.get(head[1]));
+            if (++head[1] < part.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private static <T extends Task> List<T> sortedById(Collection<T> values) {
+        List<T> sorted = new ArrayList<>(values);
+        sorted.sort(BY_ID);
+        return sorted;
+    }
+
+    @Override
+    public int addNewTask(Task newTask) {
+        return write(placeNext(), shard -> isScheduled(newTask), shard -> {
+            int newId = shard.addNewTask(newTask);
+            owners.put(newId, shard);
+            return newId;
+        });
+    }
+
+    @Override
+    public List<Integer> addNewTasks(Collection<Task> newTasks) {
+        return write(placeNext(),
+                shard -> newTasks != null && newTasks.stream().anyMatch(PartitionedTaskManager::isScheduled),
+                shard -> {
+                    var ids = shard.addNewTasks(newTasks);
+                    ids.forEach(newId -> owners.put(newId, shard));
+                    return ids;
+                });
+    }
+
+    @Override
+    public Task updateTask(Task updatedTask) {
+        if (updatedTask == null) {
+            return read(shards[0], shard -> shard.updateTask(null));
+        }
+
+        return write(ownerOf(updatedTask.getId()),
+                shard -> isScheduled(updatedTask) || isScheduled(shard.tasks.get(updatedTask.getId())),
+                shard -> shard.updateTask(updatedTask));
+    }
+
+    @Override
+    public Task patchTask(int id, TaskPatch patch) {
+        return write(ownerOf(id), shard -> patch != null && (patch.isRetiming() || isScheduled(shard.tasks.get(id))),
+                shard -> shard.patchTask(id, patch));
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return read(ownerOf(id), shard -> shard.getTaskById(id));
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        write(ownerOf(id), shard -> isScheduled(shard.tasks.get(id)), shard -> {
+            boolean isStored = shard.tasks.containsKey(id);
+            shard.deleteTaskById(id);
+            if (isStored) {
+                owners.remove(id);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        writeAll(Arrays.asList(shards), () -> {
+            boolean isCleared = false;
+            for (var shard : shards) {
+                if (!shard.tasks.isEmpty()) {
+                    List<Integer> ids = new ArrayList<>(shard.tasks.keySet());
+                    shard.deleteAllTasks();
+                    ids.forEach(owners::remove);
+                    isCleared = true;
+                }
+            }
+
+            if (isCleared) {
+                events.publish(ChangeType.CLEARED, TaskType.TASK, 0);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return gather(shard -> sortedById(shard.tasks.values()), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        InMemoryTaskManager.checkPageBounds(afterId, limit);
+        return gather(shard -> shard.getTasksPage(afterId, limit), limit);
+    }
+
+    @Override
+    public int addNewEpic(Epic newEpic) {
+        return write(placeNext(), shard -> false, shard -> {
+            int newId = shard.addNewEpic(newEpic);
+            owners.put(newId, shard);
+            return newId;
+        });
+    }
+
+    @Override
+    public Epic updateEpic(Epic updatedEpic) {
+        if (updatedEpic == null) {
+            return read(shards[0], shard -> shard.updateEpic(null));
+        }
+        return read(ownerOf(updatedEpic.getId()), shard -> shard.updateEpic(updatedEpic));
+    }
+
+    @Override
+    public Epic patchEpic(int epicId, TaskPatch patch) {
+        return read(ownerOf(epicId), shard -> shard.patchEpic(epicId, patch));
+    }
+
+    @Override
+    public Epic getEpicById(int epicId) {
+        return read(ownerOf(epicId), shard -> shard.getEpicById(epicId));
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        return gather(shard -> {
+            List<Epic> epics = sortedById(shard.epicTasks.values());
+            epics.replaceAll(shard::live);
+            return epics;
+        }, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        InMemoryTaskManager.checkPageBounds(afterId, limit);
+        return gather(shard -> shard.getEpicsPage(afterId, limit), limit);
+    }
+
+    @Override
+    public List<Subtask> getAllEpicSubtasks(int epicId) {
+        return read(ownerOf(epicId), shard -> shard.getAllEpicSubtasks(epicId));
+    }
+
+    @Override
+    public void deleteEpicById(int epicId) {
+        write(ownerOf(epicId), shard -> {
+            var epic = shard.live(shard.epicTasks.get(epicId));
+            return epic != null && epic.getEpicSubtasksView().stream().anyMatch(PartitionedTaskManager::isScheduled);
+        }, shard -> {
+            var epic = shard.live(shard.epicTasks.get(epicId));
+            List<Integer> ids = new ArrayList<>();
+            if (epic != null) {
+                epic.getEpicSubtasksView().forEach(sub -> ids.add(sub.getId()));
+                ids.add(epicId);
+            }
+            shard.deleteEpicById(epicId);
+            ids.forEach(owners::remove);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        writeAll(Arrays.asList(shards), () -> {
+            boolean hasSubtasks = false;
+            boolean isCleared = false;
+            for (var shard : shards) {
+                if (!shard.epicTasks.isEmpty()) {
+                    hasSubtasks |= !shard.subtasks.isEmpty();
+                    List<Integer> ids = new ArrayList<>(shard.subtasks.keySet());
+                    ids.addAll(shard.epicTasks.keySet());
+                    shard.deleteAllEpics();
+                    ids.forEach(owners::remove);
+                    isCleared = true;
+                }
+            }
+
+            if (hasSubtasks) {
+                events.publish(ChangeType.CLEARED, TaskType.SUBTASK, 0);
+            }
+
+            if (isCleared) {
+                events.publish(ChangeType.CLEARED, TaskType.EPIC, 0);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public int addNewSubtask(Subtask newSubtask, int epicId) {
+        return write(ownerOf(epicId), shard -> isScheduled(newSubtask), shard -> {
+            int newId = shard.addNewSubtask(newSubtask, epicId);
+            owners.put(newId, shard);
+            return newId;
+        });
+    }
+
+    @Override
+    public List<Integer> addNewSubtasks(Collection<Subtask> newSubtasks) {
+        Map<Shard, List<Subtask>> groups = new LinkedHashMap<>();
+        if (newSubtasks != null) {
+            for (var subtask : newSubtasks) {
+                if (subtask == null) {
+                    groups.clear();
+                    break;
+                }
+                groups.computeIfAbsent(ownerOf(subtask.getEpicId()), shard -> new ArrayList<>()).add(subtask);
+            }
+        }
+
+        if (groups.size() <= 1) {
+            var target = groups.isEmpty() ? shards[0] : groups.keySet().iterator().next();
+            return write(target, shard -> newSubtasks != null
+                    && newSubtasks.stream().anyMatch(PartitionedTaskManager::isScheduled), shard -> {
+                        var ids = shard.addNewSubtasks(newSubtasks);
+                        ids.forEach(newId -> owners.put(newId, shard));
+                        return ids;
+                    });
+        }
+
+        return writeAll(groups.keySet(), () -> {
+            for (var subtask : newSubtasks) {
+                int epicId = subtask.getEpicId();
+                if (epicId < 1) {
+                    throw new IllegalArgumentException("У эпика не может быть id меньше 1");
+                }
+
+                if (!ownerOf(epicId).epicTasks.containsKey(epicId)) {
+                    String errorMessage = String.format("В трекере нет эпика с id %d", epicId);
+                    throw new NoSuchElementException(errorMessage);
+                }
+            }
+            checkBatch(newSubtasks);
+            checkForeign(null, Collections.emptyList(), newSubtasks);
+
+            Map<Subtask, Integer> assigned = new HashMap<>();
+            for (var entry : groups.entrySet()) {
+                var shard = entry.getKey();
+                var ids = shard.addValidatedSubtasks(entry.getValue());
+                for (int i = 0; i < ids.size(); i++) {
+                    owners.put(ids.get(i), shard);
+                    assigned.put(entry.getValue().get(i), ids.get(i));
+                }
+            }
+
+            List<Integer> ids = new ArrayList<>(newSubtasks.size());
+            newSubtasks.forEach(subtask -> ids.add(assigned.get(subtask)));
+            return ids;
+        });
+    }
+
+    @Override
+    public Subtask updateSubtask(Subtask updatedSubtask) {
+        if (updatedSubtask == null) {
+            return read(shards[0], shard -> shard.updateSubtask(null));
+        }
+
+        return write(ownerOf(updatedSubtask.getId()),
+                shard -> isScheduled(updatedSubtask) || isScheduled(shard.subtasks.get(updatedSubtask.getId())),
+                shard -> shard.updateSubtask(updatedSubtask));
+    }
+
+    @Override
+    public Subtask patchSubtask(int subtaskId, TaskPatch patch) {
+        return write(ownerOf(subtaskId),
+                shard -> patch != null && (patch.isRetiming() || isScheduled(shard.subtasks.get(subtaskId))),
+                shard -> shard.patchSubtask(subtaskId, patch));
+    }
+
+    @Override
+    public Subtask getSubtaskById(int subtaskId) {
+        return read(ownerOf(subtaskId), shard -> shard.getSubtaskById(subtaskId));
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return gather(shard -> sortedById(shard.subtasks.values()), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        InMemoryTaskManager.checkPageBounds(afterId, limit);
+        return gather(shard -> shard.getSubtasksPage(afterId, limit), limit);
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        write(ownerOf(id), shard -> isScheduled(shard.subtasks.get(id)), shard -> {
+            boolean isStored = shard.subtasks.containsKey(id);
+            shard.deleteSubtaskById(id);
+            if (isStored) {
+                owners.remove(id);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        writeAll(Arrays.asList(shards), () -> {
+            boolean isCleared = false;
+            for (var shard : shards) {
+                if (!shard.subtasks.isEmpty()) {
+                    List<Integer> ids = new ArrayList<>(shard.subtasks.keySet());
+                    shard.deleteAllSubtasks();
+                    ids.forEach(owners::remove);
+                    isCleared = true;
+                }
+            }
+
+            if (isCleared) {
+                events.publish(ChangeType.CLEARED, TaskType.SUBTASK, 0);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Task getById(int id) {
+        return read(ownerOf(id), shard -> shard.getById(id));
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        List<Task> history = historyManager.getHistory();
+        List<Task> live = new ArrayList<>(history.size());
+        for (var task : history) {
+            if (owners.containsKey(task.getId())) {
+                live.add(task);
+            } else {
+                historyManager.remove(task.getId());
+            }
+        }
+        return live;
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        long version = scheduleVersion.get();
+        var view = prioritized;
+        if (view != null && view.version() == version) {
+            return view.tasks();
+        }
+
+        List<List<Task>> parts = new ArrayList<>(shards.length);
+        for (var shard : shards) {
+            parts.add(read(shard, InMemoryTaskManager::getPrioritizedTasks));
+        }
+        var tasks = Collections.unmodifiableList(merge(parts, BY_START, Integer.MAX_VALUE));
+        prioritized = new PrioritizedView(version, tasks);
+        return tasks;
+    }
+
+    @Override
+    public List<Task> getNextTasks(int count) {
+        InMemoryTaskManager.checkNextCount(count);
+        var view = prioritized;
+        if (view != null && view.version() == scheduleVersion.get()) {
+            return view.tasks().subList(0, Math.min(count, view.tasks().size()));
+        }
+
+        List<List<Task>> parts = new ArrayList<>(shards.length);
+        for (var shard : shards) {
+            parts.add(read(shard, current -> current.getNextTasks(count)));
+        }
+        return merge(parts, BY_START, count);
+    }
+
+    @Override
+    public List<Task> getUrgentTasks(int count) {
+        List<List<UrgencyIndex.Ranked>> parts = new ArrayList<>(shards.length);
+        for (var shard : shards) {
+            parts.add(shard.rankUrgent(count));
+        }
+        return merge(parts, UrgencyIndex.ORDER, count).stream().map(UrgencyIndex.Ranked::task).toList();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        InMemoryTaskManager.checkRange(from, to);
+        List<List<Task>> parts = new ArrayList<>(shards.length);
+        for (var shard : shards) {
+            parts.add(read(shard, current -> current.getPrioritizedTasks(from, to)));
+        }
+        return merge(parts, BY_START, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int detachOccurrence(int taskId, LocalDateTime start) {
+        var stored = read(ownerOf(taskId), shard -> shard.tasks.get(taskId));
+        return RecurringSchedule.detach(beginTransaction(), stored, taskId, start);
+    }
+
+    @Override
+    public BoardStats getStats() {
+        var now = LocalDateTime.now();
+        int tasks = 0;
+        int epics = 0;
+        int subtasks = 0;
+        Map<TaskStatus, Integer> taskStatuses = new EnumMap<>(TaskStatus.class);
+        Map<TaskStatus, Integer> epicStatuses = new EnumMap<>(TaskStatus.class);
+        int scheduled = 0;
+        long plannedMinutes = 0;
+        int overdue = 0;
+        for (var shard : shards) {
+            var stats = shard.getStats(now);
+            tasks += stats.tasks();
+            epics += stats.epics();
+            subtasks += stats.subtasks();
+            stats.taskStatuses().forEach((status, count) -> taskStatuses.merge(status, count, Integer::sum));
+            stats.epicStatuses().forEach((status, count) -> epicStatuses.merge(status, count, Integer::sum));
+            scheduled += stats.scheduled();
+            plannedMinutes += stats.plannedMinutes();
+            overdue += stats.overdue();
+        }
+        return new BoardStats(tasks, epics, subtasks, taskStatuses, epicStatuses, scheduled, plannedMinutes, overdue);
+    }
+
+    @Override
+    public EpicProgress getEpicProgress(int epicId) {
+        return read(ownerOf(epicId), shard -> shard.getEpicProgress(epicId));
+    }
+
+    @Override
+    public void addDependency(int taskId, int dependsOnId) {
+        var taskOwner = ownerOf(taskId);
+        var dependencyOwner = ownerOf(dependsOnId);
+        writeAll(new HashSet<>(List.of(taskOwner, dependencyOwner)), () -> {
+            taskOwner.link(() -> taskOwner.findDependent(taskId), () -> dependencyOwner.findDependent(dependsOnId));
+            return null;
+        });
+    }
+
+    @Override
+    public void removeDependency(int taskId, int dependsOnId) {
+        shards[0].removeDependency(taskId, dependsOnId);
+    }
+
+    @Override
+    public List<Integer> getDependencies(int taskId) {
+        return read(ownerOf(taskId), shard -> shard.getDependencies(taskId));
+    }
+
+    @Override
+    public CriticalPath getCriticalPath(int epicId) {
+        return read(ownerOf(epicId), shard -> shard.getCriticalPath(epicId));
+    }
+
+    @Override
+    public TaskTransaction beginTransaction() {
+        return new TaskTransaction(this::commit);
+    }
+
+    private List<Integer> commit(List<TaskTransaction.Operation> operations) {
+        return writeAll(Arrays.asList(shards), () -> {
+            Map<Integer, Task> finalVersions = new HashMap<>();
+            List<Task> replaced = new ArrayList<>();
+            List<Task> incoming = new ArrayList<>();
+            Shard[] targets = new Shard[operations.size()];
+            Shard addTarget = null;
+            for (int i = 0; i < operations.size(); i++) {
+                var operation = operations.get(i);
+                var shard = ownerOf(operation.id());
+                switch (operation.kind()) {
+                    case ADD_TASK -> incoming.add(operation.task());
+                    case ADD_SUBTASK -> {
+                        if (!shard.epicTasks.containsKey(operation.id())) {
+                            String errorMessage = String.format("В трекере нет эпика с id %d", operation.id());
+                            throw new NoSuchElementException(errorMessage);
+                        }
+                        incoming.add(operation.task());
+                    }
+                    case UPDATE_TASK, DELETE_TASK -> InMemoryTaskManager.stageChange(shard.tasks, operation,
+                            "задачи", finalVersions, replaced);
+                    case UPDATE_SUBTASK, DELETE_SUBTASK -> InMemoryTaskManager.stageChange(shard.subtasks,
+                            operation, "сабтаска", finalVersions, replaced);
+                }
+
+                if (operation.kind() != TaskTransaction.Kind.ADD_TASK) {
+                    targets[i] = shard;
+                    addTarget = addTarget == null ? shard : addTarget;
+                }
+            }
+            finalVersions.values().stream().filter(Objects::nonNull).forEach(incoming::add);
+
+            checkBatch(incoming);
+            checkForeign(null, replaced, incoming);
+
+            Map<Shard, List<Integer>> groups = new TreeMap<>(Comparator.comparingInt(shard -> shard.index));
+            for (int i = 0; i < operations.size(); i++) {
+                if (targets[i] == null) {
+                    targets[i] = addTarget == null ? placeNext() : addTarget;
+                }
+                groups.computeIfAbsent(targets[i], shard -> new ArrayList<>()).add(i);
+            }
+
+            Integer[] added = new Integer[operations.size()];
+            applyGroups(operations, groups, added);
+
+            List<Integer> ids = new ArrayList<>();
+            for (Integer newId : added) {
+                if (newId != null) {
+                    ids.add(newId);
+                }
+            }
+            return ids;
+        });
+    }
+
+    private void applyGroups(List<TaskTransaction.Operation> operations, Map<Shard, List<Integer>> groups,
+                             Integer[] added) {
+        for (var entry : groups.entrySet()) {
+            var shard = entry.getKey();
+            List<TaskTransaction.Operation> group = new ArrayList<>();
+            entry.getValue().forEach(i -> group.add(operations.get(i)));
+
+            var ids = shard.commitValidated(group).iterator();
+            for (int i : entry.getValue()) {
+                var operation = operations.get(i);
+                switch (operation.kind()) {
+                    case ADD_TASK, ADD_SUBTASK -> {
+                        added[i] = ids.next();
+                        owners.put(added[i], shard);
+                    }
+                    case DELETE_TASK, DELETE_SUBTASK -> owners.remove(operation.id(), shard);
+                    default -> {
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public TaskEventSubscription subscribe(Consumer<TaskEvent> listener) {
+        return events.subscribe(listener);
+    }
+
+    @Override
+    public List<Task> getTasksByFilter(TaskFilter filter) {
+        if (filter == null || filter.epicId() != null) {
+            var shard = filter == null ? shards[0] : ownerOf(filter.epicId());
+            return read(shard, current -> current.getTasksByFilter(filter));
+        }
+        return gather(shard -> shard.getTasksByFilter(filter), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        List<long[]> parts = new ArrayList<>(shards.length);
+        int total = 0;
+        for (var shard : shards) {
+            long[] ranked = shard.rankTasks(query, limit);
+            parts.add(ranked);
+            total += ranked.length;
+        }
+
+        long[] ranked = new long[total];
+        int size = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, ranked, size, part.length);
+            size += part.length;
+        }
+        Arrays.sort(ranked);
+
+        List<Task> result = new ArrayList<>(Math.min(limit, ranked.length));
+        for (int i = 0; i < ranked.length && result.size() < limit; i++) {
+            int foundId = (int) ranked[i];
+            Task task = read(ownerOf(foundId), shard -> shard.findStored(foundId));
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> query(TaskQuery query) {
+        if (query == null || query.epicId() != null) {
+            var shard = query == null ? shards[0] : ownerOf(query.epicId());
+            return read(shard, current -> current.query(query));
+        }
+
+        var head = query.withoutOffset();
+        List<List<Task>> parts = new ArrayList<>(shards.length);
+        for (var shard : shards) {
+            parts.add(read(shard, current -> current.query(head)));
+        }
+
+        var merged = merge(parts, query.sort().order(), head.limit());
+        if (query.offset() >= merged.size()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(merged.subList(query.offset(), merged.size()));
+    }
+}
@@ -0,0 +1,290 @@
+package tracker.controllers;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+final class PersistentIntMap<V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int TOP_SHIFT = 30;
+    private static final int DEPTH = TOP_SHIFT / BITS + 1;
+
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private volatile Object[] valuesCache;
+
+    private static final class Node {
+        private final int bitmap;
+        private final Object[] slots;
+
+        private Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+    }
+
+    private PersistentIntMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int k = key ^ Integer.MIN_VALUE;
+        Node node = root;
+        for (int shift = TOP_SHIFT; node != null; shift -= BITS) {
+            int bit = 1 << ((k >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+
+            Object child = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (shift == 0) {
+                return (V) child;
+            }
+            node = (Node) child;
+        }
+        return null;
+    }
+
+    PersistentIntMap<V> put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("В PersistentIntMap нельзя сохранить null");
+        }
+
+        boolean[] added = new boolean[1];
+        Node newRoot = put(root, key ^ Integer.MIN_VALUE, TOP_SHIFT, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentIntMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    PersistentIntMap<V> remove(int key) {
+        if (get(key) == null) {
+            return this;
+        }
+
+        Node newRoot = remove(root, key ^ Integer.MIN_VALUE, TOP_SHIFT);
+        return newRoot == null ? empty() : new PersistentIntMap<>(newRoot, size - 1);
+    }
+
+    private static Node put(Node node, int k, int shift, Object value, boolean[] added) {
+        int bitmap = node == null ? 0 : node.bitmap;
+        Object[] slots = node == null ? new Object[0] : node.slots;
+        int bit = 1 << ((k >>> shift) & MASK);
+        int index = Integer.bitCount(bitmap & (bit - 1));
+
+        if ((bitmap & bit) != 0) {
+            Object child = slots[index];
+            Object newChild = shift == 0 ? value : put((Node) child, k, shift - BITS, value, added);
+            if (newChild == child) {
+                return node;
+            }
+
+            Object[] copy = slots.clone();
+            copy[index] = newChild;
+            return new Node(bitmap, copy);
+        }
+
+        added[0] = true;
+        Object newChild = shift == 0 ? value : put(null, k, shift - BITS, value, added);
+        Object[] copy = new Object[slots.length + 1];
+        System.arraycopy(slots, 0, copy, 0, index);
+        copy[index] = newChild;
+        System.arraycopy(slots, index, copy, index + 1, slots.length - index);
+        return new Node(bitmap | bit, copy);
+    }
+
+    private static Node remove(Node node, int k, int shift) {
+        int bit = 1 << ((k >>> shift) & MASK);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+
+        if (shift != 0) {
+            Node newChild = remove((Node) node.slots[index], k, shift - BITS);
+            if (newChild != null) {
+                Object[] copy = node.slots.clone();
+                copy[index] = newChild;
+                return new Node(node.bitmap, copy);
+            }
+        }
+
+        if (node.slots.length == 1) {
+            return null;
+        }
+
+        Object[] copy = new Object[node.slots.length - 1];
+        System.arraycopy(node.slots, 0, copy, 0, index);
+        System.arraycopy(node.slots, index + 1, copy, index, node.slots.length - index - 1);
+        return new Node(node.bitmap & ~bit, copy);
+    }
+
+    Cursor<V> cursor() {
+        return new Cursor<>(root);
+    }
+
+    Cursor<V> cursorFrom(int key) {
+        var cursor = new Cursor<V>(root);
+        cursor.seek(key ^ Integer.MIN_VALUE);
+        return cursor;
+    }
+
+    List<V> values() {
+        return new ValuesView<>(this);
+    }
+
+    private Object[] materializedValues() {
+        Object[] values = valuesCache;
+        if (values == null) {
+            values = new Object[size];
+            var cursor = cursor();
+            for (int i = 0; cursor.advance(); i++) {
+                values[i] = cursor.value();
+            }
+            valuesCache = values;
+        }
+        return values;
+    }
+
+    static final class Cursor<V> {
+        private final Node[] nodes = new Node[DEPTH];
+        private final int[] positions = new int[DEPTH];
+        private int level;
+        private int key;
+        private V value;
+
+        private Cursor(Node root) {
+            nodes[0] = root;
+            positions[0] = -1;
+            level = root == null ? -1 : 0;
+        }
+
+        private void seek(int k) {
+            for (int i = 0; level >= 0; i++) {
+                Node node = nodes[i];
+                int bit = 1 << ((k >>> (TOP_SHIFT - i * BITS)) & MASK);
+                int position = Integer.bitCount(node.bitmap & (bit - 1));
+                if ((node.bitmap & bit) == 0 || i == DEPTH - 1) {
+                    positions[i] = position - 1;
+                    level = i;
+                    return;
+                }
+
+                positions[i] = position;
+                nodes[i + 1] = (Node) node.slots[position];
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean advance() {
+            while (level >= 0) {
+                Node node = nodes[level];
+                int position = ++positions[level];
+                if (position >= node.slots.length) {
+                    level--;
+                    continue;
+                }
+
+                if (level == DEPTH - 1) {
+                    key = keyAt();
+                    value = (V) node.slots[position];
+                    return true;
+                }
+
+                level++;
+                nodes[level] = (Node) node.slots[position];
+                positions[level] = -1;
+            }
+            return false;
+        }
+
+        private int keyAt() {
+            int k = 0;
+            for (int i = 0; i < DEPTH; i++) {
+                k |= digit(nodes[i].bitmap, positions[i]) << (TOP_SHIFT - i * BITS);
+            }
+            return k ^ Integer.MIN_VALUE;
+        }
+
+        private static int digit(int bitmap, int position) {
+            int remaining = bitmap;
+            for (int i = 0; i < position; i++) {
+                remaining &= remaining - 1;
+            }
+            return Integer.numberOfTrailingZeros(remaining);
+        }
+
+        int key() {
+            return key;
+        }
+
+        V value() {
+            return value;
+        }
+    }
+
+    private static final class ValuesView<V> extends AbstractList<V> implements RandomAccess {
+        private final PersistentIntMap<V> map;
+
+        private ValuesView(PersistentIntMap<V> map) {
+            this.map = map;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(int index) {
+            return (V) map.materializedValues()[index];
+        }
+
+        @Override
+        public int size() {
+            return map.size;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            var cursor = map.cursor();
+            return new Iterator<>() {
+                private boolean ready;
+                private boolean hasNext;
+
+                @Override
+                public boolean hasNext() {
+                    if (!ready) {
+                        hasNext = cursor.advance();
+                        ready = true;
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public V next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    ready = false;
+                    return cursor.value();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package tracker.controllers;
+
+import tracker.model.Recurrence;
+import tracker.model.Task;
+import tracker.util.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+class RecurringSchedule {
+    static final int MAX_OCCURRENCES = 10_000;
+
+    private static final Comparator<Task> BY_START = Comparator.comparingLong(Task::getStartMinute);
+
+    private final List<Task> series = new ArrayList<>();
+
+    synchronized void put(Task task) {
+        series.add(task);
+    }
+
+    synchronized void remove(Task task) {
+        series.removeIf(stored -> stored.getId() == task.getId());
+    }
+
+    synchronized void clear() {
+        series.clear();
+    }
+
+    synchronized List<Task> getSeries() {
+        return new ArrayList<>(series);
+    }
+
+    synchronized boolean isEmpty() {
+        return series.isEmpty();
+    }
+
+    synchronized boolean conflicts(Task task, Set<Integer> ignoredIds) {
+        for (var stored : series) {
+            if (!ignoredIds.contains(stored.getId()) && overlaps(stored, task)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    synchronized List<Task> expand() {
+        List<Task> occurrences = new ArrayList<>();
+        for (var stored : series) {
+            addOccurrences(stored, 0, lastIndex(stored), occurrences);
+        }
+        occurrences.sort(BY_START);
+        return occurrences;
+    }
+
+    synchronized List<Task> expand(long fromMinute, long toMinute) {
+        List<Task> occurrences = new ArrayList<>();
+        for (var stored : series) {
+            long interval = intervalOf(stored);
+            long first = Math.max(0, Math.ceilDiv(fromMinute - stored.getStartMinute(), interval));
+            long last = Math.min(lastIndex(stored), Math.ceilDiv(toMinute - stored.getStartMinute(), interval) - 1);
+            addOccurrences(stored, first, last, occurrences);
+        }
+        occurrences.sort(BY_START);
+        return occurrences;
+    }
+
+    private static void addOccurrences(Task task, long first, long last, List<Task> occurrences) {
+        for (long k = first; k <= last; k++) {
+            var start = startOf(task, k);
+            if (!task.getRecurrence().isException(start)) {
+                occurrences.add(task.occurrenceAt(start));
+            }
+        }
+    }
+
+    static void check(Task task) {
+        if (!task.isRecurring()) {
+            return;
+        }
+
+        if (task.getType() != TaskType.TASK) {
+            throw new IllegalArgumentException("Повторяться могут только Таски");
+        }
+
+        var recurrence = task.getRecurrence();
+        new Recurrence(recurrence.getInterval(), recurrence.getUntil(), recurrence.getExceptions());
+        if (task.getStartTime() == null || task.getDuration() == null) {
+            throw new IllegalArgumentException("У повторяющейся задачи должны быть время начала и продолжительность");
+        }
+
+        if (task.getDuration().compareTo(recurrence.getInterval()) > 0) {
+            throw new IllegalArgumentException("Продолжительность задачи не может быть больше интервала повторения");
+        }
+
+        if (recurrence.getUntil().isBefore(task.getStartTime())) {
+            throw new IllegalArgumentException("Повторение не может закончиться раньше первого выполнения");
+        }
+
+        if (lastIndex(task) >= MAX_OCCURRENCES) {
+            String errorMessage = String.format("Серия не может содержать больше %d повторений", MAX_OCCURRENCES);
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
+    static boolean overlaps(Task task, Task other) {
+        if (!task.isRecurring() && !other.isRecurring()) {
+            return InMemoryTaskManager.overlaps(task, other);
+        }
+
+        if (!task.isRecurring()) {
+            return overlapsSeries(other, task.getStartMinute(), task.getEndMinute());
+        }
+
+        if (!other.isRecurring() || lastIndex(task) > lastIndex(other)) {
+            return overlaps(other, task);
+        }
+
+        long interval = intervalOf(task);
+        long minutes = task.getEndMinute() - task.getStartMinute();
+        long first = Math.max(0, Math.floorDiv(other.getStartMinute() - minutes - task.getStartMinute(), interval));
+        for (long k = first; k <= lastIndex(task); k++) {
+            long start = task.getStartMinute() + k * interval;
+            if (start > lastEnd(other)) {
+                break;
+            }
+
+            if (!task.getRecurrence().isException(startOf(task, k))
+                    && overlapsSeries(other, start, start + minutes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean conflicts(Task task, NavigableSet<Task> schedule, Predicate<Task> isIgnored) {
+        var start = probe(task.getStartMinute());
+        return conflicts(task, schedule.headSet(start, false).descendingSet(), schedule.tailSet(start, true),
+                isIgnored);
+    }
+
+    static boolean conflicts(Task task, NavigableMap<LocalDateTime, Task> schedule, Set<Integer> ignoredIds) {
+        return conflicts(task, schedule.headMap(task.getStartTime(), false).descendingMap().values(),
+                schedule.tailMap(task.getStartTime(), true).values(), other -> ignoredIds.contains(other.getId()));
+    }
+
+    private static boolean conflicts(Task task, Iterable<Task> before, Iterable<Task> after,
+                                     Predicate<Task> isIgnored) {
+        for (var lower : before) {
+            if (!isIgnored.test(lower)) {
+                if (overlaps(task, lower)) {
+                    return true;
+                }
+                break;
+            }
+        }
+
+        long end = lastEnd(task);
+        for (var candidate : after) {
+            if (candidate.getStartMinute() > end) {
+                break;
+            }
+
+            if (!isIgnored.test(candidate) && overlaps(task, candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean overlapsWithin(Collection<? extends Task> batch) {
+        List<Task> scheduled = new ArrayList<>();
+        for (var task : batch) {
+            if (task.getStartTime() != null) {
+                scheduled.add(task);
+            }
+        }
+
+        for (int i = 0; i < scheduled.size(); i++) {
+            if (!scheduled.get(i).isRecurring()) {
+                continue;
+            }
+
+            for (int j = 0; j < scheduled.size(); j++) {
+                if (i != j && (j > i || !scheduled.get(j).isRecurring())
+                        && overlaps(scheduled.get(i), scheduled.get(j))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static List<Task> prioritize(Collection<? extends Task> tasks, Collection<? extends Task> subtasks) {
+        List<Task> singles = new ArrayList<>();
+        List<Task> occurrences = new ArrayList<>();
+        for (var task : tasks) {
+            if (task.isRecurring()) {
+                addOccurrences(task, 0, lastIndex(task), occurrences);
+            } else if (task.getStartTime() != null) {
+                singles.add(task);
+            }
+        }
+
+        for (var sub : subtasks) {
+            if (sub.getStartTime() != null) {
+                singles.add(sub);
+            }
+        }
+        singles.sort(BY_START);
+        occurrences.sort(BY_START);
+        return merge(singles, occurrences);
+    }
+
+    static List<Task> merge(Collection<Task> singles, List<Task> occurrences) {
+        if (occurrences.isEmpty()) {
+            return singles.isEmpty() ? Collections.emptyList() : List.copyOf(singles);
+        }
+
+        List<Task> merged = new ArrayList<>(singles.size() + occurrences.size());
+        var single = singles.iterator();
+        Task nextSingle = single.hasNext() ? single.next() : null;
+        for (var occurrence : occurrences) {
+            while (nextSingle != null && nextSingle.getStartMinute() < occurrence.getStartMinute()) {
+                merged.add(nextSingle);
+                nextSingle = single.hasNext() ? single.next() : null;
+            }
+            merged.add(occurrence);
+        }
+        while (nextSingle != null) {
+            merged.add(nextSingle);
+            nextSingle = single.hasNext() ? single.next() : null;
+        }
+        return merged;
+    }
+
+    static Task probe(long minute) {
+        var time = LocalDateTime.ofEpochSecond(Math.multiplyExact(minute, 60), 0, ZoneOffset.UTC);
+        return new Task(null, null, 0, null, time, Duration.ZERO);
+    }
+
+    static int detach(TaskTransaction transaction, Task stored, int taskId, LocalDateTime start) {
+        if (taskId < 1) {
+            throw new IllegalArgumentException("У тасков не может быть id меньше 1");
+        }
+
+        if (stored == null) {
+            String errorMessage = String.format("В трекере нет задачи с id %d", taskId);
+            throw new NoSuchElementException(errorMessage);
+        }
+
+        if (!stored.isRecurring()) {
+            throw new IllegalArgumentException(String.format("Задача с id %d не повторяется", taskId));
+        }
+
+        if (start == null || !isOccurrence(stored, start)) {
+            String errorMessage = String.format("У задачи с id %d нет повторения в %s", taskId, start);
+            throw new NoSuchElementException(errorMessage);
+        }
+
+        var series = new Task(stored.getTitle(), stored.getDescription(), taskId, stored.getStatus(),
+                stored.getStartTime(), stored.getDuration());
+        series.setRecurrence(stored.getRecurrence().withException(start));
+        var occurrence = stored.occurrenceAt(start);
+        occurrence.setId(0);
+
+        transaction.updateTask(series);
+        transaction.addNewTask(occurrence);
+        return transaction.commit().getFirst();
+    }
+
+    private static boolean isOccurrence(Task task, LocalDateTime start) {
+        long offset = Duration.between(task.getStartTime(), start).toMinutes();
+        long interval = intervalOf(task);
+        return offset >= 0 && offset % interval == 0 && offset / interval <= lastIndex(task)
+                && startOf(task, offset / interval).equals(start) && !task.getRecurrence().isException(start);
+    }
+
+    private static boolean overlapsSeries(Task task, long start, long end) {
+        long interval = intervalOf(task);
+        long minutes = task.getEndMinute() - task.getStartMinute();
+        long first = Math.max(0, Math.floorDiv(start - minutes - task.getStartMinute(), interval));
+        long last = Math.min(lastIndex(task), Math.floorDiv(end - task.getStartMinute(), interval));
+        for (long k = first; k <= last; k++) {
+            long occurrenceStart = task.getStartMinute() + k * interval;
+            if (InMemoryTaskManager.overlaps(start, end, occurrenceStart, occurrenceStart + minutes)
+                    && !task.getRecurrence().isException(startOf(task, k))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long intervalOf(Task task) {
+        return task.getRecurrence().getInterval().toMinutes();
+    }
+
+    private static long lastIndex(Task task) {
+        return Math.floorDiv(Task.toEpochMinute(task.getRecurrence().getUntil()) - task.getStartMinute(),
+                intervalOf(task));
+    }
+
+    private static long lastEnd(Task task) {
+        if (!task.isRecurring()) {
+            return task.getEndMinute();
+        }
+        return task.getEndMinute() + lastIndex(task) * intervalOf(task);
+    }
+
+    private static LocalDateTime startOf(Task task, long index) {
+        return task.getStartTime().plusMinutes(index * intervalOf(task));
+    }
+}
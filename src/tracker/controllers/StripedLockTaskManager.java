@@ -0,0 +1,464 @@
+package tracker.controllers;
+
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+
+import java.time.LocalDateTime;
+
+import java.util.Collection;
+import java.util.List;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class StripedLockTaskManager extends InMemoryTaskManager {
+    private final ReentrantLock[] stripes;
+    private final ReentrantReadWriteLock boardLock = new ReentrantReadWriteLock();
+    private final ReentrantLock scheduleLock = new ReentrantLock();
+    private final Object idLock = new Object();
+
+    public StripedLockTaskManager(HistoryManager historyManager) {
+        this(historyManager, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public StripedLockTaskManager(HistoryManager historyManager, int concurrencyLevel) {
+        super(new SynchronizedHistoryManager(historyManager), new ConcurrentIntMap<>(),
+                new ConcurrentIntMap<>(), new ConcurrentIntMap<>());
+
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Количество блокировок должно быть больше 0");
+        }
+
+        int size = Integer.highestOneBit(concurrencyLevel);
+        if (size < concurrencyLevel) {
+            size <<= 1;
+        }
+
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    private ReentrantLock stripeFor(int id) {
+        int hash = id * 0x9E3779B9;
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    @Override
+    public int addNewTask(Task task) {
+        boardLock.readLock().lock();
+        try {
+            return super.addNewTask(task);
+        } finally {
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Integer> addNewTasks(Collection<Task> newTasks) {
+        boardLock.writeLock().lock();
+        try {
+            return super.addNewTasks(newTasks);
+        } finally {
+            boardLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Task updateTask(Task task) {
+        if (task == null) {
+            return super.updateTask(null);
+        }
+
+        boardLock.readLock().lock();
+        var stripe = stripeFor(task.getId());
+        stripe.lock();
+        try {
+            return super.updateTask(task);
+        } finally {
+            stripe.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Task patchTask(int id, TaskPatch patch) {
+        boardLock.readLock().lock();
+        var stripe = stripeFor(id);
+        stripe.lock();
+        try {
+            return super.patchTask(id, patch);
+        } finally {
+            stripe.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        boardLock.readLock().lock();
+        var stripe = stripeFor(id);
+        stripe.lock();
+        try {
+            super.deleteTaskById(id);
+        } finally {
+            stripe.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        boardLock.writeLock().lock();
+        try {
+            super.deleteAllTasks();
+        } finally {
+            boardLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int addNewEpic(Epic newEpic) {
+        boardLock.readLock().lock();
+        try {
+            return super.addNewEpic(newEpic);
+        } finally {
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Epic updateEpic(Epic epic) {
+        if (epic == null) {
+            return super.updateEpic(null);
+        }
+
+        boardLock.readLock().lock();
+        var stripe = stripeFor(epic.getId());
+        stripe.lock();
+        try {
+            return super.updateEpic(epic);
+        } finally {
+            stripe.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Epic patchEpic(int epicId, TaskPatch patch) {
+        boardLock.readLock().lock();
+        var stripe = stripeFor(epicId);
+        stripe.lock();
+        try {
+            return super.patchEpic(epicId, patch);
+        } finally {
+            stripe.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Subtask> getAllEpicSubtasks(int epicId) {
+        var stripe = stripeFor(epicId);
+        stripe.lock();
+        try {
+            return super.getAllEpicSubtasks(epicId);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public void deleteEpicById(int epicId) {
+        boardLock.readLock().lock();
+        var stripe = stripeFor(epicId);
+        stripe.lock();
+        try {
+            super.deleteEpicById(epicId);
+        } finally {
+            stripe.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        boardLock.writeLock().lock();
+        try {
+            super.deleteAllEpics();
+        } finally {
+            boardLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int addNewSubtask(Subtask subtask, int epicId) {
+        boardLock.readLock().lock();
+        var stripe = stripeFor(epicId);
+        stripe.lock();
+        try {
+            return super.addNewSubtask(subtask, epicId);
+        } finally {
+            stripe.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Integer> addNewSubtasks(Collection<Subtask> newSubtasks) {
+        boardLock.writeLock().lock();
+        try {
+            return super.addNewSubtasks(newSubtasks);
+        } finally {
+            boardLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Subtask updateSubtask(Subtask subtask) {
+        if (subtask == null) {
+            return super.updateSubtask(null);
+        }
+
+        boardLock.readLock().lock();
+        try {
+            var stored = subtasks.get(subtask.getId());
+            if (stored == null) {
+                return super.updateSubtask(subtask);
+            }
+
+            var stripe = stripeFor(stored.getEpicId());
+            stripe.lock();
+            try {
+                return super.updateSubtask(subtask);
+            } finally {
+                stripe.unlock();
+            }
+        } finally {
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Subtask patchSubtask(int id, TaskPatch patch) {
+        boardLock.readLock().lock();
+        try {
+            var stored = subtasks.get(id);
+            if (stored == null) {
+                return super.patchSubtask(id, patch);
+            }
+
+            var stripe = stripeFor(stored.getEpicId());
+            stripe.lock();
+            try {
+                return super.patchSubtask(id, patch);
+            } finally {
+                stripe.unlock();
+            }
+        } finally {
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        boardLock.readLock().lock();
+        try {
+            var stored = subtasks.get(id);
+            if (stored == null) {
+                super.deleteSubtaskById(id);
+                return;
+            }
+
+            var stripe = stripeFor(stored.getEpicId());
+            stripe.lock();
+            try {
+                super.deleteSubtaskById(id);
+            } finally {
+                stripe.unlock();
+            }
+        } finally {
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        boardLock.writeLock().lock();
+        try {
+            super.deleteAllSubtasks();
+        } finally {
+            boardLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public EpicProgress getEpicProgress(int epicId) {
+        var stripe = stripeFor(epicId);
+        stripe.lock();
+        try {
+            return super.getEpicProgress(epicId);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public CriticalPath getCriticalPath(int epicId) {
+        var stripe = stripeFor(epicId);
+        stripe.lock();
+        try {
+            return super.getCriticalPath(epicId);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getTasksByFilter(TaskFilter filter) {
+        if (filter == null || filter.epicId() == null) {
+            return super.getTasksByFilter(filter);
+        }
+
+        var stripe = stripeFor(filter.epicId());
+        stripe.lock();
+        try {
+            return super.getTasksByFilter(filter);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> query(TaskQuery query) {
+        if (query == null || query.epicId() == null) {
+            boardLock.readLock().lock();
+            scheduleLock.lock();
+            try {
+                return super.query(query);
+            } finally {
+                scheduleLock.unlock();
+                boardLock.readLock().unlock();
+            }
+        }
+
+        boardLock.readLock().lock();
+        var stripe = stripeFor(query.epicId());
+        stripe.lock();
+        try {
+            return super.query(query);
+        } finally {
+            stripe.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected List<Integer> commit(List<TaskTransaction.Operation> operations) {
+        boardLock.writeLock().lock();
+        try {
+            return super.commit(operations);
+        } finally {
+            boardLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        boardLock.readLock().lock();
+        try {
+            return super.getHistory();
+        } finally {
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        boardLock.readLock().lock();
+        scheduleLock.lock();
+        try {
+            return super.getPrioritizedTasks();
+        } finally {
+            scheduleLock.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        boardLock.readLock().lock();
+        scheduleLock.lock();
+        try {
+            return super.getPrioritizedTasks(from, to);
+        } finally {
+            scheduleLock.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getNextTasks(int count) {
+        boardLock.readLock().lock();
+        scheduleLock.lock();
+        try {
+            return super.getNextTasks(count);
+        } finally {
+            scheduleLock.unlock();
+            boardLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected void schedule(Task oldTask, Task newTask) {
+        scheduleLock.lock();
+        try {
+            super.schedule(oldTask, newTask);
+        } finally {
+            scheduleLock.unlock();
+        }
+    }
+
+    @Override
+    protected void scheduleAll(Collection<? extends Task> replaced, List<? extends Task> batch) {
+        scheduleLock.lock();
+        try {
+            super.scheduleAll(replaced, batch);
+        } finally {
+            scheduleLock.unlock();
+        }
+    }
+
+    @Override
+    protected void unschedule(Task task) {
+        scheduleLock.lock();
+        try {
+            super.unschedule(task);
+        } finally {
+            scheduleLock.unlock();
+        }
+    }
+
+    @Override
+    protected int generateNewId() {
+        synchronized (idLock) {
+            return super.generateNewId();
+        }
+    }
+
+    @Override
+    protected int peekNextId() {
+        synchronized (idLock) {
+            return super.peekNextId();
+        }
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        synchronized (idLock) {
+            return super.reserveIds(count);
+        }
+    }
+}
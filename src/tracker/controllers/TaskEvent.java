@@ -0,0 +1,7 @@
+package tracker.controllers;
+
+import tracker.util.ChangeType;
+import tracker.util.TaskType;
+
+public record TaskEvent(long version, ChangeType change, TaskType type, int id) {
+}
@@ -0,0 +1,49 @@
+package tracker.controllers;
+
+import tracker.util.ChangeType;
+import tracker.util.TaskType;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+class TaskEventDispatcher {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final List<TaskEventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private long version;
+
+    TaskEventSubscription subscribe(Consumer<TaskEvent> listener) {
+        return subscribe(listener, DEFAULT_CAPACITY);
+    }
+
+    TaskEventSubscription subscribe(Consumer<TaskEvent> listener, int capacity) {
+        if (listener == null) {
+            throw new IllegalArgumentException("В параметр listener был передан null");
+        }
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Размер очереди событий должен быть больше 0");
+        }
+
+        var subscription = new TaskEventSubscription(this, listener, capacity);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    void unsubscribe(TaskEventSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    synchronized void publish(ChangeType change, TaskType type, int id) {
+        version++;
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        var event = new TaskEvent(version, change, type, id);
+        for (var subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package tracker.controllers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class TaskEventSubscription implements AutoCloseable {
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final BlockingQueue<TaskEvent> queue;
+    private final Consumer<TaskEvent> listener;
+    private final TaskEventDispatcher dispatcher;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private final Thread worker;
+
+    private volatile boolean isClosed;
+
+    TaskEventSubscription(TaskEventDispatcher dispatcher, Consumer<TaskEvent> listener, int capacity) {
+        this.dispatcher = dispatcher;
+        this.listener = listener;
+        queue = new ArrayBlockingQueue<>(capacity);
+        worker = new Thread(this::deliver, "task-events");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    void offer(TaskEvent event) {
+        if (!queue.offer(event)) {
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    private void deliver() {
+        try {
+            while (!isClosed) {
+                var event = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    notifyListener(event);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (var event = queue.poll(); event != null; event = queue.poll()) {
+            notifyListener(event);
+        }
+    }
+
+    private void notifyListener(TaskEvent event) {
+        try {
+            listener.accept(event);
+        } catch (RuntimeException e) {
+            failedEvents.incrementAndGet();
+        }
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    public long getFailedEvents() {
+        return failedEvents.get();
+    }
+
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        dispatcher.unsubscribe(this);
+    }
+}
@@ -0,0 +1,12 @@
+package tracker.controllers;
+
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
+
+public record TaskFilter(TaskType type, TaskStatus status, Boolean scheduled, Integer epicId) {
+    public TaskFilter {
+        if (epicId != null && type != null && type != TaskType.SUBTASK) {
+            throw new IllegalArgumentException("Фильтр по эпику применим только к сабтаскам");
+        }
+    }
+}
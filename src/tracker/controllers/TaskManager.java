@@ -4,13 +4,21 @@ import tracker.model.Epic;
 import tracker.model.Subtask;
 import tracker.model.Task;
 
+import java.time.LocalDateTime;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskManager {
     int addNewTask(Task newTask);
 
+    List<Integer> addNewTasks(Collection<Task> newTasks);
+
     Task updateTask(Task updatedTask);
 
+    Task patchTask(int id, TaskPatch patch);
+
     Task getTaskById(int id);
 
     void deleteTaskById(int id);
@@ -19,14 +27,20 @@ public interface TaskManager {
 
     List<Task> getAllTasks();
 
+    List<Task> getTasksPage(int afterId, int limit);
+
     int addNewEpic(Epic newEpic);
 
     Epic updateEpic(Epic updatedEpic);
 
+    Epic patchEpic(int epicId, TaskPatch patch);
+
     Epic getEpicById(int epicId);
 
     List<Epic> getAllEpics();
 
+    List<Epic> getEpicsPage(int afterId, int limit);
+
     List<Subtask> getAllEpicSubtasks(int epicId);
 
     void deleteEpicById(int epicId);
@@ -35,17 +49,55 @@ public interface TaskManager {
 
     int addNewSubtask(Subtask newSubtask, int epicId);
 
+    List<Integer> addNewSubtasks(Collection<Subtask> newSubtasks);
+
     Subtask updateSubtask(Subtask updatedSubtask);
 
+    Subtask patchSubtask(int subtaskId, TaskPatch patch);
+
     Subtask getSubtaskById(int subtaskId);
 
     List<Subtask> getAllSubtasks();
 
+    List<Subtask> getSubtasksPage(int afterId, int limit);
+
     void deleteSubtaskById(int id);
 
     void deleteAllSubtasks();
 
+    Task getById(int id);
+
     List<Task> getHistory();
 
     List<Task> getPrioritizedTasks();
+
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
+    List<Task> getNextTasks(int count);
+
+    List<Task> getUrgentTasks(int count);
+
+    int detachOccurrence(int taskId, LocalDateTime start);
+
+    BoardStats getStats();
+
+    EpicProgress getEpicProgress(int epicId);
+
+    void addDependency(int taskId, int dependsOnId);
+
+    void removeDependency(int taskId, int dependsOnId);
+
+    List<Integer> getDependencies(int taskId);
+
+    CriticalPath getCriticalPath(int epicId);
+
+    TaskTransaction beginTransaction();
+
+    TaskEventSubscription subscribe(Consumer<TaskEvent> listener);
+
+    List<Task> getTasksByFilter(TaskFilter filter);
+
+    List<Task> searchTasks(String query, int limit);
+
+    List<Task> query(TaskQuery query);
 }
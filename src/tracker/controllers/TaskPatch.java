@@ -0,0 +1,49 @@
+package tracker.controllers;
+
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+import tracker.util.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public record TaskPatch(String title, String description, TaskStatus status, LocalDateTime startTime,
+                        Duration duration) {
+    public TaskPatch {
+        if (title == null && description == null && status == null && startTime == null && duration == null) {
+            throw new IllegalArgumentException("Патч не содержит изменяемых полей");
+        }
+    }
+
+    boolean isRetiming() {
+        return startTime != null || duration != null;
+    }
+
+    Task applyTo(Task task) {
+        var patched = new Task(pick(title, task.getTitle()), pick(description, task.getDescription()), task.getId(),
+                pick(status, task.getStatus()), pick(startTime, task.getStartTime()),
+                pick(duration, task.getDuration()));
+        patched.setRecurrence(task.getRecurrence());
+        return patched;
+    }
+
+    Subtask applyTo(Subtask sub) {
+        var patched = new Subtask(pick(title, sub.getTitle()), pick(description, sub.getDescription()), sub.getId(),
+                pick(status, sub.getStatus()), pick(startTime, sub.getStartTime()),
+                pick(duration, sub.getDuration()));
+        patched.setEpicId(sub.getEpicId());
+        return patched;
+    }
+
+    Epic applyTo(Epic epic) {
+        if (status != null || isRetiming()) {
+            throw new IllegalArgumentException("У эпика можно изменить только название и описание");
+        }
+        return new Epic(pick(title, epic.getTitle()), pick(description, epic.getDescription()), epic.getId());
+    }
+
+    private static <T> T pick(T patched, T stored) {
+        return patched == null ? stored : patched;
+    }
+}
@@ -0,0 +1,91 @@
+package tracker.controllers;
+
+import tracker.model.Subtask;
+import tracker.model.Task;
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+public record TaskQuery(TaskType type, TaskStatus status, Integer epicId, LocalDateTime from, LocalDateTime to,
+                        String text, Sort sort, int offset, int limit) {
+    public enum Sort {
+        ID(Comparator.comparingInt(Task::getId)),
+        START(Comparator.comparingLong(Task::getStartMinute).thenComparingInt(Task::getId)),
+        END(Comparator.comparingLong(Task::getEndMinute).thenComparingInt(Task::getId));
+
+        private final Comparator<Task> order;
+
+        Sort(Comparator<Task> order) {
+            this.order = order;
+        }
+
+        public Comparator<Task> order() {
+            return order;
+        }
+    }
+
+    public TaskQuery {
+        if (epicId != null && type != null && type != TaskType.SUBTASK) {
+            throw new IllegalArgumentException("Фильтр по эпику применим только к сабтаскам");
+        }
+
+        if (epicId != null && epicId < 1) {
+            throw new IllegalArgumentException("У эпика не может быть id меньше 1");
+        }
+
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("Конец интервала расписания не может быть раньше начала");
+        }
+
+        if (text != null && text.isBlank()) {
+            throw new IllegalArgumentException("Поисковый запрос не может быть пустым");
+        }
+
+        if (offset < 0) {
+            throw new IllegalArgumentException("Смещение выборки не может быть меньше 0");
+        }
+
+        if (limit < 1) {
+            throw new IllegalArgumentException("Размер выборки должен быть больше 0");
+        }
+
+        if (sort == null) {
+            sort = Sort.ID;
+        }
+    }
+
+    TaskQuery withoutOffset() {
+        int head = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        return new TaskQuery(type, status, epicId, from, to, text, sort, 0, head);
+    }
+
+    boolean hasRange() {
+        return from != null || to != null;
+    }
+
+    boolean matches(Task task) {
+        if (type != null && task.getType() != type) {
+            return false;
+        }
+
+        if (status != null && task.getStatus() != status) {
+            return false;
+        }
+
+        if (epicId != null && !(task instanceof Subtask sub && sub.getEpicId() == epicId)) {
+            return false;
+        }
+
+        if (!hasRange()) {
+            return true;
+        }
+
+        if (task.getStartTime() == null) {
+            return false;
+        }
+        return (from == null || task.getStartMinute() >= Task.toEpochMinute(from))
+                && (to == null || task.getStartMinute() < Task.toEpochMinute(to));
+    }
+}
@@ -0,0 +1,89 @@
+package tracker.controllers;
+
+import tracker.model.Subtask;
+import tracker.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class TaskTransaction {
+    private final Function<List<Operation>, List<Integer>> committer;
+    private final List<Operation> operations = new ArrayList<>();
+    private boolean isFinished;
+
+    enum Kind {
+        ADD_TASK,
+        UPDATE_TASK,
+        DELETE_TASK,
+        ADD_SUBTASK,
+        UPDATE_SUBTASK,
+        DELETE_SUBTASK
+    }
+
+    record Operation(Kind kind, Task task, int id) {
+    }
+
+    TaskTransaction(Function<List<Operation>, List<Integer>> committer) {
+        this.committer = committer;
+    }
+
+    public void addNewTask(Task newTask) {
+        stage(Kind.ADD_TASK, newTask, 0);
+    }
+
+    public void updateTask(Task updatedTask) {
+        stage(Kind.UPDATE_TASK, updatedTask, updatedTask == null ? 0 : updatedTask.getId());
+    }
+
+    public void deleteTaskById(int id) {
+        stage(Kind.DELETE_TASK, null, id);
+    }
+
+    public void addNewSubtask(Subtask newSubtask, int epicId) {
+        stage(Kind.ADD_SUBTASK, newSubtask, epicId);
+    }
+
+    public void updateSubtask(Subtask updatedSubtask) {
+        stage(Kind.UPDATE_SUBTASK, updatedSubtask, updatedSubtask == null ? 0 : updatedSubtask.getId());
+    }
+
+    public void deleteSubtaskById(int id) {
+        stage(Kind.DELETE_SUBTASK, null, id);
+    }
+
+    public List<Integer> commit() {
+        checkActive();
+        isFinished = true;
+        return committer.apply(List.copyOf(operations));
+    }
+
+    public void rollback() {
+        checkActive();
+        isFinished = true;
+        operations.clear();
+    }
+
+    private void stage(Kind kind, Task task, int id) {
+        checkActive();
+        boolean needsTask = kind != Kind.DELETE_TASK && kind != Kind.DELETE_SUBTASK;
+        if (needsTask && task == null) {
+            throw new IllegalArgumentException("В транзакцию была передана пустая задача");
+        }
+
+        if (kind == Kind.ADD_SUBTASK && id < 1) {
+            throw new IllegalArgumentException("У эпика не может быть id меньше 1");
+        }
+
+        if (!needsTask && id < 1) {
+            throw new IllegalArgumentException("У задачи не может быть id меньше 1");
+        }
+        operations.add(new Operation(kind, task, id));
+    }
+
+    private void checkActive() {
+        if (isFinished) {
+            throw new IllegalStateException("Транзакция уже завершена");
+        }
+    }
+}
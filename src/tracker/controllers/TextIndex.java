@@ -0,0 +1,198 @@
+package tracker.controllers;
+
+import tracker.model.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+class TextIndex {
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private TreeMap<String, Postings> postings = new TreeMap<>();
+    private Map<Integer, String[]> documentTerms = new HashMap<>();
+
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        private void put(int id, int weight) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                weights[position] = weight;
+                return;
+            }
+
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            System.arraycopy(weights, position, weights, position + 1, size - position);
+            ids[position] = id;
+            weights[position] = weight;
+            size++;
+        }
+
+        private void remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+            size--;
+        }
+    }
+
+    void put(Task task) {
+        remove(task.getId());
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String term : tokenize(task.getTitle())) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(task.getDescription())) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+
+        if (weights.isEmpty()) {
+            return;
+        }
+
+        for (var entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Postings()).put(task.getId(), entry.getValue());
+        }
+        documentTerms.put(task.getId(), weights.keySet().toArray(new String[0]));
+    }
+
+    void remove(int id) {
+        String[] terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+
+        for (String term : terms) {
+            var termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    void clear() {
+        postings = new TreeMap<>();
+        documentTerms = new HashMap<>();
+    }
+
+    long[] rank(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new long[0];
+        }
+
+        long[] matches = null;
+        for (int i = 0; i < terms.size(); i++) {
+            boolean isPrefix = i == terms.size() - 1;
+            long[] termMatches = collect(terms.get(i), isPrefix);
+            matches = matches == null ? termMatches : intersect(matches, termMatches);
+            if (matches.length == 0) {
+                return new long[0];
+            }
+        }
+
+        long[] ranked = new long[matches.length];
+        for (int i = 0; i < matches.length; i++) {
+            int score = (int) matches[i];
+            ranked[i] = ((long) (Integer.MAX_VALUE - score) << 32) | (matches[i] >>> 32);
+        }
+        Arrays.sort(ranked);
+        return ranked.length > limit ? Arrays.copyOf(ranked, limit) : ranked;
+    }
+
+    private long[] collect(String term, boolean isPrefix) {
+        Collection<Postings> matching;
+        if (isPrefix) {
+            matching = postings.subMap(term, true, term + Character.MAX_VALUE, false).values();
+        } else {
+            var exact = postings.get(term);
+            matching = exact == null ? List.of() : List.of(exact);
+        }
+
+        int total = 0;
+        for (var termPostings : matching) {
+            total += termPostings.size;
+        }
+
+        long[] packed = new long[total];
+        int size = 0;
+        for (var termPostings : matching) {
+            for (int i = 0; i < termPostings.size; i++) {
+                packed[size++] = ((long) termPostings.ids[i] << 32) | termPostings.weights[i];
+            }
+        }
+        Arrays.sort(packed);
+
+        int merged = 0;
+        for (int i = 0; i < size; i++) {
+            if (merged > 0 && (packed[merged - 1] >>> 32) == (packed[i] >>> 32)) {
+                packed[merged - 1] += (int) packed[i];
+            } else {
+                packed[merged++] = packed[i];
+            }
+        }
+        return Arrays.copyOf(packed, merged);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            long leftId = left[i] >>> 32;
+            long rightId = right[j] >>> 32;
+            if (leftId < rightId) {
+                i++;
+            } else if (leftId > rightId) {
+                j++;
+            } else {
+                result[size++] = (leftId << 32) | ((int) left[i] + (int) right[j]);
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        String folded = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean isTermChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (isTermChar && start < 0) {
+                start = i;
+            } else if (!isTermChar && start >= 0) {
+                terms.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,206 @@
+package tracker.controllers;
+
+import tracker.model.Epic;
+import tracker.model.Task;
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+class UrgencyIndex {
+    static final Comparator<Ranked> ORDER = Comparator.comparingLong(Ranked::score)
+            .thenComparingInt(ranked -> ranked.task().getId());
+
+    private static final long UNSCHEDULED = Long.MAX_VALUE / 2;
+    private static final long IN_PROGRESS_LEAD = 24 * 60;
+    private static final long EPIC_LEAD = 60;
+    private static final int MAX_EPIC_WEIGHT = 24;
+
+    private Heap tasks = new Heap();
+    private Heap subtasks = new Heap();
+
+    record Ranked(Task task, long score) {
+    }
+
+    private static class Heap {
+        private static final int INITIAL_SIZE = 16;
+
+        private Task[] entries = new Task[INITIAL_SIZE];
+        private long[] scores = new long[INITIAL_SIZE];
+        private int[] positionOf = new int[INITIAL_SIZE];
+        private int size;
+
+        private int positionFor(int id) {
+            return id >= 0 && id < positionOf.length ? positionOf[id] - 1 : -1;
+        }
+
+        private void put(Task task, long score) {
+            int position = positionFor(task.getId());
+            if (position < 0) {
+                position = append(task.getId());
+            }
+            entries[position] = task;
+            scores[position] = score;
+            siftUp(position);
+            siftDown(positionFor(task.getId()));
+        }
+
+        private void remove(int id) {
+            int position = positionFor(id);
+            if (position < 0) {
+                return;
+            }
+
+            int last = --size;
+            positionOf[id] = 0;
+            if (position != last) {
+                move(last, position);
+                siftUp(position);
+                siftDown(positionFor(entries[position].getId()));
+            }
+            entries[last] = null;
+        }
+
+        private int append(int id) {
+            if (id >= positionOf.length) {
+                positionOf = Arrays.copyOf(positionOf, Math.max(positionOf.length * 2, id + 1));
+            }
+
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            positionOf[id] = size + 1;
+            return size++;
+        }
+
+        private void siftUp(int position) {
+            while (position > 0) {
+                int parent = (position - 1) / 2;
+                if (!isBefore(position, parent)) {
+                    return;
+                }
+                swap(position, parent);
+                position = parent;
+            }
+        }
+
+        private void siftDown(int position) {
+            while (true) {
+                int first = position;
+                for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                    if (isBefore(child, first)) {
+                        first = child;
+                    }
+                }
+
+                if (first == position) {
+                    return;
+                }
+                swap(position, first);
+                position = first;
+            }
+        }
+
+        private boolean isBefore(int left, int right) {
+            return scores[left] < scores[right]
+                    || scores[left] == scores[right] && entries[left].getId() < entries[right].getId();
+        }
+
+        private void swap(int left, int right) {
+            var task = entries[left];
+            long score = scores[left];
+            move(right, left);
+            entries[right] = task;
+            scores[right] = score;
+            positionOf[task.getId()] = right + 1;
+        }
+
+        private void move(int from, int to) {
+            entries[to] = entries[from];
+            scores[to] = scores[from];
+            positionOf[entries[to].getId()] = to + 1;
+        }
+
+        private Ranked rankedAt(int position) {
+            return new Ranked(entries[position], scores[position]);
+        }
+    }
+
+    private record Cursor(Heap heap, int position, Ranked ranked) {
+    }
+
+    static int weightOf(Epic epic) {
+        return Math.min(epic.getEpicSubtasksView().size() - epic.getDoneSubtaskCount(), MAX_EPIC_WEIGHT);
+    }
+
+    void put(Task task, int epicWeight) {
+        var heap = heapOf(task.getType());
+        if (task.getStatus() == TaskStatus.DONE) {
+            heap.remove(task.getId());
+            return;
+        }
+        heap.put(task, score(task, epicWeight));
+    }
+
+    void reweigh(Collection<? extends Task> epicSubtasks, int epicWeight) {
+        for (var sub : epicSubtasks) {
+            int position = subtasks.positionFor(sub.getId());
+            if (position >= 0) {
+                var stored = subtasks.entries[position];
+                subtasks.put(stored, score(stored, epicWeight));
+            }
+        }
+    }
+
+    void remove(int id) {
+        tasks.remove(id);
+        subtasks.remove(id);
+    }
+
+    void removeAll(TaskType type) {
+        if (type == TaskType.TASK) {
+            tasks = new Heap();
+        } else if (type == TaskType.SUBTASK) {
+            subtasks = new Heap();
+        }
+    }
+
+    List<Ranked> top(int count) {
+        List<Ranked> result = new ArrayList<>(Math.min(count, tasks.size + subtasks.size));
+        PriorityQueue<Cursor> frontier = new PriorityQueue<>(Comparator.comparing(Cursor::ranked, ORDER));
+        offer(frontier, tasks, 0);
+        offer(frontier, subtasks, 0);
+        while (result.size() < count && !frontier.isEmpty()) {
+            var cursor = frontier.poll();
+            result.add(cursor.ranked());
+            offer(frontier, cursor.heap(), 2 * cursor.position() + 1);
+            offer(frontier, cursor.heap(), 2 * cursor.position() + 2);
+        }
+        return result;
+    }
+
+    private static void offer(PriorityQueue<Cursor> frontier, Heap heap, int position) {
+        if (position < heap.size) {
+            frontier.add(new Cursor(heap, position, heap.rankedAt(position)));
+        }
+    }
+
+    private Heap heapOf(TaskType type) {
+        return type == TaskType.SUBTASK ? subtasks : tasks;
+    }
+
+    private static long score(Task task, int epicWeight) {
+        long deadline = task.getStartTime() == null ? UNSCHEDULED : task.getEndMinute();
+        long lead = epicWeight * EPIC_LEAD;
+        if (task.getStatus() == TaskStatus.IN_PROGRESS) {
+            lead += IN_PROGRESS_LEAD;
+        }
+        return deadline - lead;
+    }
+}
@@ -0,0 +1,48 @@
+package tracker.controllers;
+
+import tracker.model.Task;
+import tracker.util.IntObjectHashMap;
+
+import java.util.List;
+
+class VersionedHistoryManager implements HistoryManager {
+    private final HistoryManager historyManager;
+    private final IntObjectHashMap<Integer> sequences = new IntObjectHashMap<>();
+
+    private PersistentIntMap<Task> entries = PersistentIntMap.empty();
+    private int sequence;
+
+    VersionedHistoryManager(HistoryManager historyManager) {
+        this.historyManager = historyManager;
+    }
+
+    PersistentIntMap<Task> snapshot() {
+        return entries;
+    }
+
+    @Override
+    public void add(Task task) {
+        historyManager.add(task);
+        var previous = sequences.get(task.getId());
+        if (previous != null) {
+            entries = entries.remove(-previous);
+        }
+        sequence++;
+        sequences.put(task.getId(), Integer.valueOf(sequence));
+        entries = entries.put(-sequence, task);
+    }
+
+    @Override
+    public void remove(int id) {
+        historyManager.remove(id);
+        var previous = sequences.remove(id);
+        if (previous != null) {
+            entries = entries.remove(-previous);
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return historyManager.getHistory();
+    }
+}
@@ -0,0 +1,148 @@
+package tracker.controllers;
+
+import tracker.util.IntMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+class VersionedMap<V> extends AbstractMap<Integer, V> implements IntMap<V> {
+    private final UnaryOperator<V> copier;
+
+    private PersistentIntMap<V> current = PersistentIntMap.empty();
+    private Set<Integer> unpublished = new HashSet<>();
+
+    VersionedMap() {
+        this(null);
+    }
+
+    VersionedMap(UnaryOperator<V> copier) {
+        this.copier = copier;
+    }
+
+    PersistentIntMap<V> snapshot() {
+        if (!unpublished.isEmpty()) {
+            unpublished = new HashSet<>();
+        }
+        return current;
+    }
+
+    @Override
+    public V get(int key) {
+        return current.get(key);
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return current.get(key) != null;
+    }
+
+    @Override
+    public V put(int key, V value) {
+        V previous = current.get(key);
+        current = current.put(key, value);
+        if (copier != null) {
+            unpublished.add(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public V remove(int key) {
+        V previous = current.get(key);
+        current = current.remove(key);
+        unpublished.remove(key);
+        return previous;
+    }
+
+    @Override
+    public V getForUpdate(int key) {
+        V value = current.get(key);
+        if (value == null || copier == null || unpublished.contains(key)) {
+            return value;
+        }
+
+        V copy = copier.apply(value);
+        put(key, copy);
+        return copy;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer id ? get((int) id) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer id && containsKey((int) id);
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put((int) key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer id ? remove((int) id) : null;
+    }
+
+    @Override
+    public void clear() {
+        current = PersistentIntMap.empty();
+        unpublished = new HashSet<>();
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return current.isEmpty();
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        final var version = current;
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<Integer, V>> iterator() {
+                var cursor = version.cursor();
+                return new Iterator<>() {
+                    private boolean ready;
+                    private boolean hasNext;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (!ready) {
+                            hasNext = cursor.advance();
+                            ready = true;
+                        }
+                        return hasNext;
+                    }
+
+                    @Override
+                    public Map.Entry<Integer, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        ready = false;
+                        return new SimpleImmutableEntry<>(cursor.key(), cursor.value());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return version.size();
+            }
+        };
+    }
+}
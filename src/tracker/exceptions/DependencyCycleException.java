@@ -0,0 +1,7 @@
+package tracker.exceptions;
+
+public class DependencyCycleException extends RuntimeException {
+    public DependencyCycleException(String message) {
+        super(message);
+    }
+}
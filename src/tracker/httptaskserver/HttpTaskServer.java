@@ -5,13 +5,21 @@ import com.sun.net.httpserver.HttpServer;
 
 import java.net.InetSocketAddress;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import tracker.controllers.BoardRegistry;
 import tracker.controllers.TaskManager;
 import tracker.httptaskserver.httphandlers.BaseHttpHandler;
 import tracker.util.Managers;
 
+import tracker.httptaskserver.httphandlers.BoardsHandler;
 import tracker.httptaskserver.httphandlers.EpicsHandler;
 import tracker.httptaskserver.httphandlers.HistoryHandler;
+import tracker.httptaskserver.httphandlers.ItemsHandler;
 import tracker.httptaskserver.httphandlers.PrioritizedHandler;
+import tracker.httptaskserver.httphandlers.QueryHandler;
+import tracker.httptaskserver.httphandlers.SearchHandler;
+import tracker.httptaskserver.httphandlers.StatsHandler;
 import tracker.httptaskserver.httphandlers.SubtasksHandler;
 import tracker.httptaskserver.httphandlers.TasksHandler;
 
@@ -19,6 +27,7 @@ public class HttpTaskServer {
     private final HttpServer httpServer;
     private final TaskManager taskManager;
     private final BaseHttpHandler baseHttpHandler;
+    private ExecutorService executor;
 
     public HttpTaskServer(TaskManager taskManager) throws IOException {
         httpServer = HttpServer.create(new InetSocketAddress(8080), 0);
@@ -29,6 +38,17 @@ public class HttpTaskServer {
         httpServer.createContext("/subtasks", new SubtasksHandler(taskManager));
         httpServer.createContext("/history", new HistoryHandler(taskManager));
         httpServer.createContext("/prioritized", new PrioritizedHandler(taskManager));
+        httpServer.createContext("/search", new SearchHandler(taskManager));
+        httpServer.createContext("/items", new ItemsHandler(taskManager));
+        httpServer.createContext("/stats", new StatsHandler(taskManager));
+        httpServer.createContext("/query", new QueryHandler(taskManager));
+    }
+
+    public HttpTaskServer(TaskManager taskManager, BoardRegistry boards) throws IOException {
+        this(taskManager);
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("board-http-", 0).daemon().factory());
+        httpServer.createContext("/boards", new BoardsHandler(boards, executor));
     }
 
     public void start() {
@@ -37,6 +57,9 @@ public class HttpTaskServer {
 
     public void stop() {
         httpServer.stop(1);
+        if (executor != null) {
+            executor.shutdown();
+        }
     }
 
     public TaskManager getManager() {
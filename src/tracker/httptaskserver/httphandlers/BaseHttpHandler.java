@@ -3,25 +3,38 @@ package tracker.httptaskserver.httphandlers;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.sun.net.httpserver.HttpExchange;
+import tracker.controllers.TaskFilter;
 import tracker.controllers.TaskManager;
+import tracker.controllers.TaskPatch;
 import tracker.exceptions.ErrorResponse;
 import tracker.httptaskserver.typeadapters.DurationAdapter;
 import tracker.httptaskserver.typeadapters.LocalDateTimeAdapter;
+import tracker.model.Task;
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 public class BaseHttpHandler {
-    protected TaskManager taskManager;
-    protected final Gson gson = new GsonBuilder()
+    protected static final int DEFAULT_PAGE_LIMIT = 100;
+
+    private static final Gson GSON = new GsonBuilder()
             .setPrettyPrinting()
             .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
             .registerTypeAdapter(Duration.class, new DurationAdapter())
             .create();
 
+    protected TaskManager taskManager;
+    protected final Gson gson = GSON;
+
     public BaseHttpHandler(TaskManager taskManager) {
         this.taskManager = taskManager;
     }
@@ -40,6 +53,74 @@ public class BaseHttpHandler {
         return new String(requestBodyBytes, StandardCharsets.UTF_8);
     }
 
+    protected Map<String, String> getQueryParameters(HttpExchange h) {
+        String query = h.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> parameters = new HashMap<>();
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator < 0) {
+                parameters.put(URLDecoder.decode(pair, StandardCharsets.UTF_8), "");
+            } else {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    protected boolean isPageRequest(Map<String, String> parameters) {
+        return parameters.containsKey("after") || parameters.containsKey("limit");
+    }
+
+    protected int getPageAfter(Map<String, String> parameters) {
+        return Integer.parseInt(parameters.getOrDefault("after", "0"));
+    }
+
+    protected int getPageLimit(Map<String, String> parameters) {
+        return Integer.parseInt(parameters.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_LIMIT)));
+    }
+
+    protected boolean isFilterRequest(Map<String, String> parameters) {
+        return parameters.containsKey("status") || parameters.containsKey("scheduled")
+                || parameters.containsKey("epic");
+    }
+
+    protected TaskFilter getFilter(Map<String, String> parameters, TaskType type) {
+        TaskStatus status = null;
+        if (parameters.containsKey("status")) {
+            status = TaskStatus.valueOf(parameters.get("status").toUpperCase());
+        }
+
+        Boolean scheduled = null;
+        if (parameters.containsKey("scheduled")) {
+            String value = parameters.get("scheduled");
+            if (!value.equals("true") && !value.equals("false")) {
+                throw new IllegalArgumentException("Параметр scheduled должен быть равен true или false");
+            }
+            scheduled = Boolean.valueOf(value);
+        }
+
+        Integer epicId = null;
+        if (parameters.containsKey("epic")) {
+            epicId = Integer.parseInt(parameters.get("epic"));
+        }
+
+        return new TaskFilter(type, status, scheduled, epicId);
+    }
+
+    protected TaskPatch getPatch(HttpExchange h) throws IOException {
+        var fields = gson.fromJson(getRequestBody(h), Task.class);
+        if (fields == null) {
+            throw new IllegalArgumentException("Тело PATCH-запроса не может быть пустым");
+        }
+        return new TaskPatch(fields.getTitle(), fields.getDescription(), fields.getStatus(), fields.getStartTime(),
+                fields.getDuration());
+    }
+
     protected void handleBadRequest(HttpExchange h) throws IOException {
         String erMessage = "Сервер обнаружил в запросе клиента синтаксическую ошибку.";
         var resp = new ErrorResponse(erMessage, 400, h.getRequestURI());
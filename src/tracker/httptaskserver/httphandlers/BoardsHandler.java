@@ -0,0 +1,80 @@
+package tracker.httptaskserver.httphandlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import tracker.controllers.BoardRegistry;
+import tracker.controllers.TaskManager;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+public class BoardsHandler extends BaseHttpHandler implements HttpHandler {
+    private final BoardRegistry boards;
+    private final Executor executor;
+
+    public BoardsHandler(BoardRegistry boards, Executor executor) {
+        super(null);
+        this.boards = boards;
+        this.executor = executor;
+    }
+
+    @Override
+    public void handle(HttpExchange h) throws IOException {
+        try {
+            executor.execute(() -> {
+                try {
+                    serve(h);
+                } catch (IOException e) {
+                    h.close();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            handleException(h, 503, "Сервер досок остановлен.");
+            h.close();
+        }
+    }
+
+    private void serve(HttpExchange h) throws IOException {
+        try {
+            String path = h.getRequestURI().getRawPath();
+            String[] pathParts = path.split("/", 4);
+            if (pathParts.length < 4) {
+                handleBadRequest(h);
+                return;
+            }
+
+            String board = pathParts[2];
+            String resource = pathParts[3].split("/", 2)[0];
+            try (var lease = boards.acquire(board)) {
+                HttpHandler handler = getHandler(resource, lease.getManager());
+                if (handler == null) {
+                    handleException(h, 404, String.format("Ресурс %s не найден.", resource));
+                    return;
+                }
+                handler.handle(new BoardExchange(h, path.substring("/boards/".length() + board.length())));
+            }
+        } catch (IllegalArgumentException e) {
+            handleException(h, 400, e.getMessage());
+        } catch (Exception e) {
+            handleException(h, 500, e.getMessage());
+        } finally {
+            h.close();
+        }
+    }
+
+    private static HttpHandler getHandler(String resource, TaskManager manager) {
+        return switch (resource) {
+            case "tasks" -> new TasksHandler(manager);
+            case "epics" -> new EpicsHandler(manager);
+            case "subtasks" -> new SubtasksHandler(manager);
+            case "history" -> new HistoryHandler(manager);
+            case "prioritized" -> new PrioritizedHandler(manager);
+            case "search" -> new SearchHandler(manager);
+            case "items" -> new ItemsHandler(manager);
+            case "stats" -> new StatsHandler(manager);
+            case "query" -> new QueryHandler(manager);
+            default -> null;
+        };
+    }
+}
@@ -5,6 +5,7 @@ import com.sun.net.httpserver.HttpHandler;
 import tracker.controllers.TaskManager;
 import tracker.exceptions.TaskInteractionException;
 import tracker.model.Epic;
+import tracker.util.TaskType;
 
 import java.io.IOException;
 import java.util.NoSuchElementException;
@@ -43,6 +44,14 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
                         handleBadRequest(h);
                     }
                     break;
+                case "PATCH":
+                    if (pathParts.length == 3) {
+                        int id = Integer.parseInt(pathParts[2]);
+                        handlePatchId(h, id);
+                    } else {
+                        handleBadRequest(h);
+                    }
+                    break;
                 case "DELETE":
                     if (pathParts.length == 3) {
                         int id = Integer.parseInt(pathParts[2]);
@@ -57,6 +66,8 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
         } catch (NumberFormatException e) {
             String erMessage = "Указанный вами идентификатор не является целым числом.";
             handleException(h, 400, erMessage);
+        } catch (IllegalArgumentException e) {
+            handleException(h, 400, e.getMessage());
         } catch (NoSuchElementException e) {
             handleException(h, 404, e.getMessage());
         } catch (TaskInteractionException e) {
@@ -70,7 +81,7 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
 
     private void handleGetIdSubtasks(HttpExchange h, int id) throws IOException {
         var epic = taskManager.getEpicById(id);
-        var epicSubs = epic.getEpicSubtasks();
+        var epicSubs = epic.getEpicSubtasksView();
         sendResponse(h, 200, gson.toJson(epicSubs));
     }
 
@@ -80,6 +91,19 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void handleGet(HttpExchange h) throws IOException {
+        var parameters = getQueryParameters(h);
+        if (isFilterRequest(parameters)) {
+            var filtered = taskManager.getTasksByFilter(getFilter(parameters, TaskType.EPIC));
+            sendResponse(h, 200, gson.toJson(filtered));
+            return;
+        }
+
+        if (isPageRequest(parameters)) {
+            var page = taskManager.getEpicsPage(getPageAfter(parameters), getPageLimit(parameters));
+            sendResponse(h, 200, gson.toJson(page));
+            return;
+        }
+
         var allEpics = taskManager.getAllEpics();
         sendResponse(h, 200, gson.toJson(allEpics));
     }
@@ -91,6 +115,11 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
         sendResponse(h, 201, gson.toJson(epic));
     }
 
+    private void handlePatchId(HttpExchange h, int id) throws IOException {
+        var patched = taskManager.patchEpic(id, getPatch(h));
+        sendResponse(h, 200, gson.toJson(patched));
+    }
+
     private void handlePost(HttpExchange h) throws IOException {
         var epic = gson.fromJson(getRequestBody(h), Epic.class);
         taskManager.addNewEpic(epic);
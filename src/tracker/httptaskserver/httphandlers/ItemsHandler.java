@@ -0,0 +1,49 @@
+package tracker.httptaskserver.httphandlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import tracker.controllers.TaskManager;
+import tracker.model.Task;
+import tracker.util.TaskType;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+public class ItemsHandler extends BaseHttpHandler implements HttpHandler {
+    private record Item(TaskType type, Task item) {
+    }
+
+    public ItemsHandler(TaskManager taskManger) {
+        super(taskManger);
+    }
+
+    @Override
+    public void handle(HttpExchange h) throws IOException {
+        try {
+            String requestMethod = h.getRequestMethod();
+            if (requestMethod.equals("GET")) {
+                String[] pathParts = h.getRequestURI().getPath().split("/");
+                if (pathParts.length == 3) {
+                    int id = Integer.parseInt(pathParts[2]);
+                    var task = taskManager.getById(id);
+                    sendResponse(h, 200, gson.toJson(new Item(task.getType(), task)));
+                } else {
+                    handleBadRequest(h);
+                }
+            } else {
+                handleMethodNotAllowed(h, requestMethod);
+            }
+        } catch (NumberFormatException e) {
+            String erMessage = "Указанный вами идентификатор не является целым числом.";
+            handleException(h, 400, erMessage);
+        } catch (IllegalArgumentException e) {
+            handleException(h, 400, e.getMessage());
+        } catch (NoSuchElementException e) {
+            handleException(h, 404, e.getMessage());
+        } catch (Exception e) {
+            handleException(h, 500, e.getMessage());
+        } finally {
+            h.close();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.sun.net.httpserver.HttpHandler;
 import tracker.controllers.TaskManager;
 import tracker.exceptions.ErrorResponse;
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 
 public class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
     public PrioritizedHandler(TaskManager taskManger) {
@@ -17,7 +19,17 @@ public class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
             String requestMethod = h.getRequestMethod();
             if (requestMethod.equals("GET")) {
                 String[] pathParts = h.getRequestURI().getPath().split("/");
-                if (pathParts.length == 2) {
+                var parameters = getQueryParameters(h);
+                if (pathParts.length == 2 && parameters.containsKey("from") && parameters.containsKey("to")) {
+                    var from = LocalDateTime.parse(parameters.get("from"));
+                    var to = LocalDateTime.parse(parameters.get("to"));
+                    sendResponse(h, 200, gson.toJson(taskManager.getPrioritizedTasks(from, to)));
+                } else if (pathParts.length == 2 && "urgency".equals(parameters.get("by"))) {
+                    sendResponse(h, 200, gson.toJson(taskManager.getUrgentTasks(getPageLimit(parameters))));
+                } else if (pathParts.length == 2 && parameters.containsKey("limit")) {
+                    int count = Integer.parseInt(parameters.get("limit"));
+                    sendResponse(h, 200, gson.toJson(taskManager.getNextTasks(count)));
+                } else if (pathParts.length == 2) {
                     var prioritizedTasks = taskManager.getPrioritizedTasks();
                     String responseBody = gson.toJson(prioritizedTasks);
                     sendResponse(h, 200, responseBody);
@@ -31,6 +43,8 @@ public class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
                 var resp = new ErrorResponse(erMessage, 405, h.getRequestURI());
                 sendResponse(h, resp.getErrorCode(), gson.toJson(resp));
             }
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            handleException(h, 400, e.getMessage());
         } catch (Exception e) {
             var resp = new ErrorResponse(e.getMessage(), 500, h.getRequestURI());
             sendResponse(h, resp.getErrorCode(), gson.toJson(resp));
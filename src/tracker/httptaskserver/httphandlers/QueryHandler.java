@@ -0,0 +1,85 @@
+package tracker.httptaskserver.httphandlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import tracker.controllers.TaskManager;
+import tracker.controllers.TaskQuery;
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+public class QueryHandler extends BaseHttpHandler implements HttpHandler {
+    public QueryHandler(TaskManager taskManger) {
+        super(taskManger);
+    }
+
+    @Override
+    public void handle(HttpExchange h) throws IOException {
+        try {
+            String requestMethod = h.getRequestMethod();
+            if (requestMethod.equals("GET")) {
+                String[] pathParts = h.getRequestURI().getPath().split("/");
+                if (pathParts.length == 2) {
+                    var found = taskManager.query(getQuery(getQueryParameters(h)));
+                    sendResponse(h, 200, gson.toJson(found));
+                } else {
+                    handleBadRequest(h);
+                }
+            } else {
+                handleMethodNotAllowed(h, requestMethod);
+            }
+        } catch (NumberFormatException e) {
+            String erMessage = "Параметры epic, offset и limit должны быть целыми числами.";
+            handleException(h, 400, erMessage);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            handleException(h, 400, e.getMessage());
+        } catch (NoSuchElementException e) {
+            handleException(h, 404, e.getMessage());
+        } catch (Exception e) {
+            handleException(h, 500, e.getMessage());
+        } finally {
+            h.close();
+        }
+    }
+
+    private TaskQuery getQuery(Map<String, String> parameters) {
+        TaskType type = null;
+        if (parameters.containsKey("type")) {
+            type = TaskType.valueOf(parameters.get("type").toUpperCase());
+        }
+
+        TaskStatus status = null;
+        if (parameters.containsKey("status")) {
+            status = TaskStatus.valueOf(parameters.get("status").toUpperCase());
+        }
+
+        Integer epicId = null;
+        if (parameters.containsKey("epic")) {
+            epicId = Integer.parseInt(parameters.get("epic"));
+        }
+
+        LocalDateTime from = null;
+        if (parameters.containsKey("from")) {
+            from = LocalDateTime.parse(parameters.get("from"));
+        }
+
+        LocalDateTime to = null;
+        if (parameters.containsKey("to")) {
+            to = LocalDateTime.parse(parameters.get("to"));
+        }
+
+        TaskQuery.Sort sort = null;
+        if (parameters.containsKey("sort")) {
+            sort = TaskQuery.Sort.valueOf(parameters.get("sort").toUpperCase());
+        }
+
+        int offset = Integer.parseInt(parameters.getOrDefault("offset", "0"));
+        return new TaskQuery(type, status, epicId, from, to, parameters.get("q"), sort, offset,
+                getPageLimit(parameters));
+    }
+}
@@ -0,0 +1,42 @@
+package tracker.httptaskserver.httphandlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import tracker.controllers.TaskManager;
+
+import java.io.IOException;
+
+public class SearchHandler extends BaseHttpHandler implements HttpHandler {
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    public SearchHandler(TaskManager taskManger) {
+        super(taskManger);
+    }
+
+    @Override
+    public void handle(HttpExchange h) throws IOException {
+        try {
+            String requestMethod = h.getRequestMethod();
+            if (requestMethod.equals("GET")) {
+                String[] pathParts = h.getRequestURI().getPath().split("/");
+                var parameters = getQueryParameters(h);
+                if (pathParts.length == 2 && parameters.containsKey("q")) {
+                    int limit = Integer.parseInt(parameters.getOrDefault("limit",
+                            String.valueOf(DEFAULT_SEARCH_LIMIT)));
+                    var found = taskManager.searchTasks(parameters.get("q"), limit);
+                    sendResponse(h, 200, gson.toJson(found));
+                } else {
+                    handleBadRequest(h);
+                }
+            } else {
+                handleMethodNotAllowed(h, requestMethod);
+            }
+        } catch (IllegalArgumentException e) {
+            handleException(h, 400, e.getMessage());
+        } catch (Exception e) {
+            handleException(h, 500, e.getMessage());
+        } finally {
+            h.close();
+        }
+    }
+}
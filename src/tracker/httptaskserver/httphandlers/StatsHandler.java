@@ -0,0 +1,45 @@
+package tracker.httptaskserver.httphandlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import tracker.controllers.TaskManager;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+public class StatsHandler extends BaseHttpHandler implements HttpHandler {
+    public StatsHandler(TaskManager taskManger) {
+        super(taskManger);
+    }
+
+    @Override
+    public void handle(HttpExchange h) throws IOException {
+        try {
+            String requestMethod = h.getRequestMethod();
+            if (requestMethod.equals("GET")) {
+                String[] pathParts = h.getRequestURI().getPath().split("/");
+                if (pathParts.length == 2) {
+                    sendResponse(h, 200, gson.toJson(taskManager.getStats()));
+                } else if (pathParts.length == 3) {
+                    int epicId = Integer.parseInt(pathParts[2]);
+                    sendResponse(h, 200, gson.toJson(taskManager.getEpicProgress(epicId)));
+                } else {
+                    handleBadRequest(h);
+                }
+            } else {
+                handleMethodNotAllowed(h, requestMethod);
+            }
+        } catch (NumberFormatException e) {
+            String erMessage = "Указанный вами идентификатор не является целым числом.";
+            handleException(h, 400, erMessage);
+        } catch (IllegalArgumentException e) {
+            handleException(h, 400, e.getMessage());
+        } catch (NoSuchElementException e) {
+            handleException(h, 404, e.getMessage());
+        } catch (Exception e) {
+            handleException(h, 500, e.getMessage());
+        } finally {
+            h.close();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.sun.net.httpserver.HttpHandler;
 import tracker.controllers.TaskManager;
 import tracker.exceptions.TaskInteractionException;
 import tracker.model.Subtask;
+import tracker.util.TaskType;
 
 import java.io.IOException;
 import java.util.NoSuchElementException;
@@ -40,6 +41,14 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
                         handleBadRequest(h);
                     }
                     break;
+                case "PATCH":
+                    if (pathParts.length == 3) {
+                        int id = Integer.parseInt(pathParts[2]);
+                        handlePatchId(h, id);
+                    } else {
+                        handleBadRequest(h);
+                    }
+                    break;
                 case "DELETE":
                     if (pathParts.length == 3) {
                         int id = Integer.parseInt(pathParts[2]);
@@ -54,6 +63,8 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
         } catch (NumberFormatException e) {
             String erMessage = "Указанный вами идентификатор не является целым числом.";
             handleException(h, 400, erMessage);
+        } catch (IllegalArgumentException e) {
+            handleException(h, 400, e.getMessage());
         } catch (NoSuchElementException e) {
             handleException(h, 404, e.getMessage());
         } catch (TaskInteractionException e) {
@@ -71,6 +82,19 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void handleGet(HttpExchange h) throws IOException {
+        var parameters = getQueryParameters(h);
+        if (isFilterRequest(parameters)) {
+            var filtered = taskManager.getTasksByFilter(getFilter(parameters, TaskType.SUBTASK));
+            sendResponse(h, 200, gson.toJson(filtered));
+            return;
+        }
+
+        if (isPageRequest(parameters)) {
+            var page = taskManager.getSubtasksPage(getPageAfter(parameters), getPageLimit(parameters));
+            sendResponse(h, 200, gson.toJson(page));
+            return;
+        }
+
         var allSubs = taskManager.getAllSubtasks();
         sendResponse(h, 200, gson.toJson(allSubs));
     }
@@ -82,6 +106,11 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
         sendResponse(h, 201, gson.toJson(sub));
     }
 
+    private void handlePatchId(HttpExchange h, int id) throws IOException {
+        var patched = taskManager.patchSubtask(id, getPatch(h));
+        sendResponse(h, 200, gson.toJson(patched));
+    }
+
     private void handlePost(HttpExchange h) throws IOException {
         var sub = gson.fromJson(getRequestBody(h), Subtask.class);
         taskManager.addNewSubtask(sub, sub.getEpicId());
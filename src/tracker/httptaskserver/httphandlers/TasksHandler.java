@@ -6,6 +6,7 @@ import com.sun.net.httpserver.HttpHandler;
 import tracker.exceptions.TaskInteractionException;
 import tracker.model.Task;
 import tracker.controllers.TaskManager;
+import tracker.util.TaskType;
 import java.io.IOException;
 import java.util.NoSuchElementException;
 
@@ -40,6 +41,14 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
                         handleBadRequest(h);
                     }
                     break;
+                case "PATCH":
+                    if (pathParts.length == 3) {
+                        int id = Integer.parseInt(pathParts[2]);
+                        handlePatchId(h, id);
+                    } else {
+                        handleBadRequest(h);
+                    }
+                    break;
                 case "DELETE":
                     if (pathParts.length == 3) {
                         int id = Integer.parseInt(pathParts[2]);
@@ -54,6 +63,8 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
         } catch (NumberFormatException e) {
             String erMessage = "Указанный вами идентификатор не является целым числом.";
             handleException(h, 400, erMessage);
+        } catch (IllegalArgumentException e) {
+            handleException(h, 400, e.getMessage());
         } catch (NoSuchElementException e) {
             handleException(h, 404, e.getMessage());
         } catch (TaskInteractionException e) {
@@ -71,6 +82,19 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void handleGet(HttpExchange h) throws IOException {
+        var parameters = getQueryParameters(h);
+        if (isFilterRequest(parameters)) {
+            var filtered = taskManager.getTasksByFilter(getFilter(parameters, TaskType.TASK));
+            sendResponse(h, 200, gson.toJson(filtered));
+            return;
+        }
+
+        if (isPageRequest(parameters)) {
+            var page = taskManager.getTasksPage(getPageAfter(parameters), getPageLimit(parameters));
+            sendResponse(h, 200, gson.toJson(page));
+            return;
+        }
+
         var allTasks = taskManager.getAllTasks();
         sendResponse(h, 200, gson.toJson(allTasks));
     }
@@ -82,6 +106,11 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
         sendResponse(h, 201, gson.toJson(task));
     }
 
+    private void handlePatchId(HttpExchange h, int id) throws IOException {
+        var patched = taskManager.patchTask(id, getPatch(h));
+        sendResponse(h, 200, gson.toJson(patched));
+    }
+
     private void handlePost(HttpExchange h) throws IOException {
         var task = gson.fromJson(getRequestBody(h), Task.class);
         taskManager.addNewTask(task);
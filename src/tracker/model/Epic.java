@@ -1,39 +1,117 @@
 package tracker.model;
 
+import tracker.util.IntObjectHashMap;
 import tracker.util.TaskStatus;
+import tracker.util.TaskType;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.TreeMap;
 
 public class Epic extends Task {
-    private final Map<Integer, Subtask> epicSubtasks;
+    private final IntObjectHashMap<Subtask> epicSubtasks;
     private LocalDateTime endTime;
+    private transient Rollup rollup;
+    private transient int subtaskGeneration;
 
     public Epic(String title, String description, int id) {
         super(title, description, id, TaskStatus.NEW);
-        epicSubtasks = new HashMap<>();
+        epicSubtasks = new IntObjectHashMap<>();
     }
 
-    private void calculateEpicStatus() {
-        int newSubtasks = 0;
-        int inProgressSubtasks = 0;
-        int doneSubtasks = 0;
-
-        for (Subtask sub : epicSubtasks.values()) {
-            if (sub.getStatus() == TaskStatus.NEW) {
-                newSubtasks += 1;
-            } else if (sub.getStatus() == TaskStatus.IN_PROGRESS) {
-                inProgressSubtasks += 1;
+    public Epic(Epic epic) {
+        super(epic.getTitle(), epic.getDescription(), epic.getId(), epic.getStatus(), epic.getStartTime(),
+                epic.getDuration());
+        epicSubtasks = new IntObjectHashMap<>(epic.epicSubtasks.size());
+        epic.epicSubtasks.values().forEach(sub -> epicSubtasks.put(sub.getId(), sub));
+        endTime = epic.endTime;
+        subtaskGeneration = epic.subtaskGeneration;
+    }
+
+    private static class Rollup {
+        private record Contribution(TaskStatus status, LocalDateTime start, LocalDateTime end, long minutes) {
+        }
+
+        private final IntObjectHashMap<Contribution> contributions = new IntObjectHashMap<>();
+        private final TreeMap<LocalDateTime, Integer> starts = new TreeMap<>();
+        private final TreeMap<LocalDateTime, Integer> ends = new TreeMap<>();
+        private int newSubtasks;
+        private int inProgressSubtasks;
+        private int doneSubtasks;
+        private long durationMinutes;
+
+        private void put(Subtask sub) {
+            remove(sub.getId());
+
+            var contribution = new Contribution(sub.getStatus(), sub.getStartTime(), sub.getEndTime(),
+                    sub.getDuration() == null ? 0 : sub.getDuration().toMinutes());
+            contributions.put(sub.getId(), contribution);
+            count(contribution.status(), 1);
+            durationMinutes += contribution.minutes();
+            if (contribution.start() != null) {
+                starts.merge(contribution.start(), 1, Integer::sum);
+                ends.merge(contribution.end(), 1, Integer::sum);
+            }
+        }
+
+        private void remove(int subId) {
+            var contribution = contributions.remove(subId);
+            if (contribution == null) {
+                return;
+            }
+
+            count(contribution.status(), -1);
+            durationMinutes -= contribution.minutes();
+            if (contribution.start() != null) {
+                release(starts, contribution.start());
+                release(ends, contribution.end());
+            }
+        }
+
+        private void clear() {
+            contributions.clear();
+            starts.clear();
+            ends.clear();
+            newSubtasks = 0;
+            inProgressSubtasks = 0;
+            doneSubtasks = 0;
+            durationMinutes = 0;
+        }
+
+        private void count(TaskStatus status, int delta) {
+            if (status == TaskStatus.NEW) {
+                newSubtasks += delta;
+            } else if (status == TaskStatus.IN_PROGRESS) {
+                inProgressSubtasks += delta;
             } else {
-                doneSubtasks += 1;
+                doneSubtasks += delta;
             }
         }
 
+        private static void release(TreeMap<LocalDateTime, Integer> times, LocalDateTime time) {
+            times.computeIfPresent(time, (key, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private Rollup rollup() {
+        if (rollup == null) {
+            rollup = new Rollup();
+            epicSubtasks.values().forEach(rollup::put);
+        }
+        return rollup;
+    }
+
+    private void calculateEpicStatus() {
+        var counts = rollup();
+        int newSubtasks = counts.newSubtasks;
+        int inProgressSubtasks = counts.inProgressSubtasks;
+        int doneSubtasks = counts.doneSubtasks;
+
         if (epicSubtasks.isEmpty() || (newSubtasks > 0 && (inProgressSubtasks == 0 && doneSubtasks == 0))) {
             setStatus(TaskStatus.NEW);
         } else if ((newSubtasks == 0 && inProgressSubtasks == 0) && doneSubtasks > 0) {
@@ -48,58 +126,27 @@ public class Epic extends Task {
             resetEpicTimeFields();
             return;
         }
-        calculateEpicStartTime();
-        calculateEpicDuration();
-        calculateEpicEndTime();
-    }
-
-    private void resetEpicTimeFields() {
-        setStartTime(null);
-        setDuration(null);
-        setEndTime(null);
-    }
 
-    private void calculateEpicStartTime() {
-        LocalDateTime epicStartTime = LocalDateTime.MAX;
-        for (Subtask sub : epicSubtasks.values()) {
-            if (sub.getStartTime() != null) {
-                if (sub.getStartTime().isBefore(epicStartTime)) {
-                    epicStartTime = sub.getStartTime();
-                }
-            }
+        var times = rollup();
+        if (!times.starts.isEmpty()) {
+            setStartTime(times.starts.firstKey());
+            setEndTime(times.ends.lastKey());
         }
 
-        if (!epicStartTime.isEqual(LocalDateTime.MAX)) {
-            setStartTime(epicStartTime);
+        if (times.durationMinutes > 0) {
+            setDuration(Duration.ofMinutes(times.durationMinutes));
         }
     }
 
-    private void calculateEpicDuration() {
-        long epicDuration = 0;
-        for (Subtask sub : epicSubtasks.values()) {
-            if (sub.getDuration() != null) {
-                epicDuration += sub.getDuration().toMinutes();
-            }
-        }
-
-        if (epicDuration > 0) {
-            setDuration(Duration.ofMinutes(epicDuration));
-        }
+    private void resetEpicTimeFields() {
+        setStartTime(null);
+        setDuration(null);
+        setEndTime(null);
     }
 
-    private void calculateEpicEndTime() {
-        LocalDateTime epicEndTime = LocalDateTime.MIN;
-        for (Subtask sub : epicSubtasks.values()) {
-            if (sub.getEndTime() != null) {
-                if (sub.getEndTime().isAfter(epicEndTime)) {
-                    epicEndTime = sub.getEndTime();
-                }
-            }
-        }
-
-        if (!epicEndTime.isEqual(LocalDateTime.MIN)) {
-            setEndTime(epicEndTime);
-        }
+    @Override
+    public TaskType getType() {
+        return TaskType.EPIC;
     }
 
     @Override
@@ -107,6 +154,11 @@ public class Epic extends Task {
         return endTime;
     }
 
+    @Override
+    public long getEndMinute() {
+        return endTime == null ? Long.MIN_VALUE : toEpochMinute(endTime);
+    }
+
     public void setEndTime(LocalDateTime endTime) {
         this.endTime = endTime;
     }
@@ -114,14 +166,27 @@ public class Epic extends Task {
     public void addSubtaskInEpic(Subtask subtask) {
         subtask.setEpicId(getId());
         epicSubtasks.put(subtask.getId(), subtask);
+        rollup().put(subtask);
         calculateEpicStatus();
         if (subtask.getStartTime() != null) {
             calculateEpicTimeFields();
         }
     }
 
+    public void addSubtasksInEpic(Collection<Subtask> subtasks) {
+        var counts = rollup();
+        for (Subtask subtask : subtasks) {
+            subtask.setEpicId(getId());
+            epicSubtasks.put(subtask.getId(), subtask);
+            counts.put(subtask);
+        }
+        calculateEpicStatus();
+        calculateEpicTimeFields();
+    }
+
     public void deleteSubtaskInEpic(int subId) {
         epicSubtasks.remove(subId);
+        rollup().remove(subId);
         calculateEpicStatus();
         calculateEpicTimeFields();
     }
@@ -129,23 +194,52 @@ public class Epic extends Task {
     public void deleteAllEpicSubtasks() {
         if (!epicSubtasks.isEmpty()) {
             epicSubtasks.clear();
+            rollup().clear();
             calculateEpicStatus();
             calculateEpicTimeFields();
         }
     }
 
+    public boolean hasSubtasksBefore(int generation) {
+        return generation > subtaskGeneration && !epicSubtasks.isEmpty();
+    }
+
+    public void deleteSubtasksBefore(int generation) {
+        if (generation > subtaskGeneration) {
+            subtaskGeneration = generation;
+            deleteAllEpicSubtasks();
+        }
+    }
+
+    public int getDoneSubtaskCount() {
+        return rollup().doneSubtasks;
+    }
+
+    public long getPlannedMinutes() {
+        return rollup().durationMinutes;
+    }
+
     public List<Subtask> getEpicSubtasks() {
         return new ArrayList<>(epicSubtasks.values());
     }
 
-    public void setEpicSubtasks(List<Subtask> subtasks) {
-        subtasks.forEach(s -> epicSubtasks.put(s.getId(), s));
+    public Collection<Subtask> getEpicSubtasksView() {
+        return Collections.unmodifiableCollection(epicSubtasks.values());
+    }
+
+    public void setEpicSubtasks(Collection<Subtask> subtasks) {
+        var counts = rollup();
+        subtasks.forEach(s -> {
+            epicSubtasks.put(s.getId(), s);
+            counts.put(s);
+        });
         calculateEpicStatus();
         calculateEpicTimeFields();
     }
 
     public void updateSubtaskInEpic(Subtask s) {
         epicSubtasks.put(s.getId(), s);
+        rollup().put(s);
         calculateEpicStatus();
         calculateEpicTimeFields();
     }
@@ -160,7 +254,7 @@ public class Epic extends Task {
                 ", startTime=" + getStartTime() +
                 ", duration=" + getDuration() +
                 ", endTime=" + endTime +
-                ", epicSubtasks=" + getEpicSubtasks() +
+                ", epicSubtasks=" + getEpicSubtasksView() +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package tracker.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+public final class Recurrence {
+    private final Duration interval;
+    private final LocalDateTime until;
+    private final Set<LocalDateTime> exceptions;
+
+    public Recurrence(Duration interval, LocalDateTime until) {
+        this(interval, until, Collections.emptySet());
+    }
+
+    public Recurrence(Duration interval, LocalDateTime until, Set<LocalDateTime> exceptions) {
+        if (interval == null || interval.toMinutes() < 1 || interval.toSeconds() % 60 != 0) {
+            throw new IllegalArgumentException("Интервал повторения должен быть целым числом минут больше 0");
+        }
+
+        if (until == null) {
+            throw new IllegalArgumentException("У повторения должна быть дата окончания");
+        }
+        this.interval = interval;
+        this.until = until;
+        this.exceptions = exceptions == null || exceptions.isEmpty()
+                ? Collections.emptySet() : Collections.unmodifiableSet(new TreeSet<>(exceptions));
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public Set<LocalDateTime> getExceptions() {
+        return exceptions == null ? Collections.emptySet() : exceptions;
+    }
+
+    public boolean isException(LocalDateTime start) {
+        return getExceptions().contains(start);
+    }
+
+    public Recurrence withException(LocalDateTime start) {
+        Set<LocalDateTime> updated = new TreeSet<>(getExceptions());
+        updated.add(start);
+        return new Recurrence(interval, until, updated);
+    }
+
+    @Override
+    public String toString() {
+        return "tracker.model.Recurrence{" +
+                "interval=" + interval +
+                ", until=" + until +
+                ", exceptions=" + getExceptions() +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Recurrence that = (Recurrence) o;
+        return interval.equals(that.interval) && until.equals(that.until)
+                && getExceptions().equals(that.getExceptions());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(interval, until, getExceptions());
+    }
+}
@@ -1,6 +1,7 @@
 package tracker.model;
 
 import tracker.util.TaskStatus;
+import tracker.util.TaskType;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -17,6 +18,11 @@ public class Subtask extends Task {
         super(title, description, id, status);
     }
 
+    @Override
+    public TaskType getType() {
+        return TaskType.SUBTASK;
+    }
+
     public int getEpicId() {
         return epicId;
     }
@@ -1,11 +1,13 @@
 package tracker.model;
 
 import tracker.util.TaskStatus;
+import tracker.util.TaskType;
 
 import java.util.Objects;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 public class Task {
     private String title;
@@ -14,6 +16,12 @@ public class Task {
     private TaskStatus status;
     private Duration duration;
     private LocalDateTime startTime;
+    private Recurrence recurrence;
+
+    private transient long startMinute;
+    private transient long endMinute;
+    private transient LocalDateTime cachedEndTime;
+    private transient volatile boolean timeResolved;
 
     public Task(String title, String description, int id, TaskStatus status,
                 LocalDateTime startTime, Duration duration) {
@@ -23,6 +31,7 @@ public class Task {
         this.status = status;
         this.startTime = startTime;
         this.duration = duration;
+        resolveTime();
     }
 
     public Task(String title, String description, int id, TaskStatus status) {
@@ -32,12 +41,47 @@ public class Task {
         this.status = status;
     }
 
+    public TaskType getType() {
+        return TaskType.TASK;
+    }
+
     public LocalDateTime getEndTime() {
-        if (startTime != null) {
-            return startTime.plusMinutes(duration.toMinutes());
+        if (!timeResolved) {
+            resolveTime();
+        }
+        return cachedEndTime;
+    }
+
+    public long getStartMinute() {
+        if (!timeResolved) {
+            resolveTime();
         }
+        return startMinute;
+    }
 
-        return null;
+    public long getEndMinute() {
+        if (!timeResolved) {
+            resolveTime();
+        }
+        return endMinute;
+    }
+
+    private void resolveTime() {
+        if (startTime == null) {
+            startMinute = Long.MIN_VALUE;
+            endMinute = Long.MIN_VALUE;
+            cachedEndTime = null;
+        } else {
+            long minutes = duration == null ? 0 : duration.toMinutes();
+            startMinute = toEpochMinute(startTime);
+            endMinute = startMinute + minutes;
+            cachedEndTime = startTime.plusMinutes(minutes);
+        }
+        timeResolved = true;
+    }
+
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
     }
 
     public String getTitle() {
@@ -78,6 +122,7 @@ public class Task {
 
     public void setStartTime(LocalDateTime startTime) {
         this.startTime = startTime;
+        resolveTime();
     }
 
     public Duration getDuration() {
@@ -86,6 +131,23 @@ public class Task {
 
     public void setDuration(Duration duration) {
         this.duration = duration;
+        resolveTime();
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+
+    public Task occurrenceAt(LocalDateTime start) {
+        return new Task(title, description, id, status, start, duration);
     }
 
     @Override
@@ -98,6 +160,7 @@ public class Task {
                 ", startTime=" + startTime +
                 ", duration=" + duration +
                 ", endTime=" + getEndTime() +
+                (recurrence == null ? "" : ", recurrence=" + recurrence) +
                 '}';
     }
 
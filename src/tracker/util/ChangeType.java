@@ -0,0 +1,8 @@
+package tracker.util;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    CLEARED
+}
@@ -0,0 +1,17 @@
+package tracker.util;
+
+import java.util.Map;
+
+public interface IntMap<V> extends Map<Integer, V> {
+    V get(int key);
+
+    boolean containsKey(int key);
+
+    V put(int key, V value);
+
+    V remove(int key);
+
+    default V getForUpdate(int key) {
+        return get(key);
+    }
+}
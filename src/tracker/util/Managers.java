@@ -1,5 +1,6 @@
 package tracker.util;
 
+import tracker.controllers.BoardRegistry;
 import tracker.controllers.FileBackedTaskManager;
 import tracker.controllers.HistoryManager;
 import tracker.controllers.InMemoryHistoryManager;
@@ -7,6 +8,7 @@ import tracker.controllers.InMemoryTaskManager;
 import tracker.controllers.TaskManager;
 
 import java.io.File;
+import java.time.Duration;
 
 public class Managers {
     public static TaskManager getDefault() {
@@ -19,6 +21,17 @@ public class Managers {
         return new FileBackedTaskManager(file, historyManager);
     }
 
+    public static BoardRegistry getBoardRegistry(File directory, Duration idleTimeout) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Не удалось создать каталог для досок: " + directory);
+        }
+
+        return new BoardRegistry(board -> {
+            File file = new File(directory, board + ".csv");
+            return file.exists() ? FileBackedTaskManager.loadFromFile(file) : getDefault(file);
+        }, idleTimeout);
+    }
+
     private static HistoryManager getDefaultHistoryManager() {
         return new InMemoryHistoryManager();
     }
@@ -0,0 +1,124 @@
+package tracker.controllers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import tracker.model.Task;
+import tracker.util.Managers;
+import tracker.util.TaskStatus;
+
+class BoardRegistryTest {
+    private static final Duration IDLE_TIMEOUT = Duration.ofHours(1);
+
+    private File directory;
+    private BoardRegistry boards;
+
+    @BeforeEach
+    void init() throws IOException {
+        directory = Files.createTempDirectory("boards").toFile();
+        boards = Managers.getBoardRegistry(directory, IDLE_TIMEOUT);
+    }
+
+    @AfterEach
+    void shutDown() {
+        boards.close();
+    }
+
+    @Test
+    @DisplayName("Доски используют отдельные трекеры и файлы")
+    void shouldIsolateBoards() {
+        // Добавляем задачу на доску alpha
+        try (var lease = boards.acquire("alpha")) {
+            lease.getManager().addNewTask(new Task("Задача alpha", "Описание", 0, TaskStatus.NEW));
+        }
+
+        // На доске beta задач нет, а у каждой доски свой файл
+        try (var lease = boards.acquire("beta")) {
+            assertTrue(lease.getManager().getAllTasks().isEmpty(), "Задачи досок не должны пересекаться");
+        }
+        assertEquals(Set.of("alpha", "beta"), boards.getLoadedBoards(), "Некорректный список загруженных досок");
+        assertTrue(new File(directory, "alpha.csv").exists(), "Файл доски alpha не создан");
+    }
+
+    @Test
+    @DisplayName("Простаивающая доска выгружается и загружается из файла заново")
+    void shouldEvictIdleBoardAndReloadFromFile() {
+        // Добавляем задачу и запоминаем трекер доски
+        TaskManager first;
+        try (var lease = boards.acquire("alpha")) {
+            first = lease.getManager();
+            first.addNewTask(new Task("Задача alpha", "Описание", 0, TaskStatus.NEW));
+        }
+
+        // Пока доска занята, она не выгружается
+        try (var lease = boards.acquire("alpha")) {
+            assertSame(first, lease.getManager(), "Трекер доски должен переиспользоваться");
+            assertEquals(0, boards.evictIdle(afterIdleTimeout()), "Занятая доска не должна выгружаться");
+        }
+
+        // После простоя доска выгружается, а при следующем обращении восстанавливается из файла
+        assertEquals(1, boards.evictIdle(afterIdleTimeout()), "Простаивающая доска должна выгрузиться");
+        assertTrue(boards.getLoadedBoards().isEmpty(), "После выгрузки досок в памяти быть не должно");
+        try (var lease = boards.acquire("alpha")) {
+            assertNotSame(first, lease.getManager(), "Доска должна загрузиться заново");
+            assertEquals("Задача alpha", lease.getManager().getAllTasks().get(0).getTitle(),
+                    "Задачи доски должны восстановиться из файла");
+        }
+    }
+
+    @Test
+    @DisplayName("Обращения к одной доске выполняются по очереди")
+    void shouldSerializeLeasesOfSameBoard() throws Exception {
+        // Занимаем доску alpha и пытаемся занять её из другого потока
+        TaskManager first;
+        CompletableFuture<TaskManager> second;
+        try (var lease = boards.acquire("alpha")) {
+            first = lease.getManager();
+            second = CompletableFuture.supplyAsync(() -> {
+                try (var other = boards.acquire("alpha")) {
+                    return other.getManager();
+                }
+            });
+
+            // Пока первая аренда не закрыта, вторая ждёт, а другие доски доступны
+            Thread.sleep(100);
+            assertFalse(second.isDone(), "Вторая аренда доски не должна выдаваться до закрытия первой");
+            try (var other = boards.acquire("beta")) {
+                assertNotSame(lease.getManager(), other.getManager(), "Другая доска не должна блокироваться");
+            }
+        }
+
+        // После закрытия первой аренды вторая получает тот же трекер
+        assertSame(first, second.get(1, TimeUnit.SECONDS), "Вторая аренда должна выдаться после закрытия первой");
+    }
+
+    private static long afterIdleTimeout() {
+        return System.nanoTime() + IDLE_TIMEOUT.toNanos() + 1;
+    }
+
+    @Test
+    @DisplayName("Некорректное имя доски")
+    void shouldRejectInvalidBoardName() {
+        assertThrows(IllegalArgumentException.class, () -> boards.acquire("../alpha"),
+                "Имя доски не должно выходить за пределы каталога");
+        assertThrows(IllegalArgumentException.class, () -> boards.acquire(""),
+                "Имя доски не может быть пустым");
+    }
+}
@@ -0,0 +1,155 @@
+package tracker.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import tracker.exceptions.TaskInteractionException;
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+abstract class ConcurrentTaskManagerTest<T extends TaskManager> extends TaskManagerTest<T> {
+    @Test
+    @DisplayName("Параллельное добавление сабтасков в разные эпики")
+    void shouldAddSubtasksToDifferentEpicsConcurrently() throws Exception {
+        // Создаём по эпику на каждый поток
+        final int threads = 8;
+        final int subtasksPerEpic = 200;
+        final var start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Integer> epicIds = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            epicIds.add(taskManager.addNewEpic(new Epic("Эпик " + i, "Описание", 0)));
+        }
+
+        // Каждый поток добавляет сабтаски в свой эпик в непересекающиеся временные слоты
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final int thread = i;
+            futures.add(executor.submit(() -> {
+                ready.await();
+                for (int j = 0; j < subtasksPerEpic; j++) {
+                    var slot = start.plusMinutes(10L * (thread * subtasksPerEpic + j));
+                    taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW,
+                            slot, Duration.ofMinutes(5)), epicIds.get(thread));
+                }
+                return null;
+            }));
+        }
+        ready.countDown();
+        for (var future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Проверяем, что ни одна операция не потерялась
+        assertEquals(threads * subtasksPerEpic, taskManager.getAllSubtasks().size(),
+                "Количество сабтасков в трекере некорректно");
+        assertEquals(threads * subtasksPerEpic, taskManager.getPrioritizedTasks().size(),
+                "Количество задач в списке приоритетов некорректно");
+        for (int epicId : epicIds) {
+            assertEquals(subtasksPerEpic, taskManager.getAllEpicSubtasks(epicId).size(),
+                    "Количество сабтасков в эпике некорректно");
+        }
+    }
+
+    @Test
+    @DisplayName("Из параллельных задач на один временной слот сохраняется только одна")
+    void shouldAcceptOnlyOneOfConcurrentConflictingTasks() throws Exception {
+        // Несколько потоков одновременно пытаются занять один и тот же слот
+        final int threads = 8;
+        final var slot = LocalDateTime.of(2025, 1, 1, 12, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW,
+                            slot, Duration.ofMinutes(30)));
+                } catch (TaskInteractionException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        ready.countDown();
+        for (var future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Проверяем, что слот занял ровно один Таск
+        assertEquals(1, taskManager.getAllTasks().size(), "В трекере должен остаться один Таск");
+        assertEquals(threads - 1, rejected.get(), "Остальные Таски должны быть отклонены");
+    }
+
+    @Test
+    @DisplayName("Индексы согласованы после параллельных записей и чтений")
+    void shouldKeepIndexesConsistentUnderConcurrentWrites() throws Exception {
+        // Каждый поток добавляет свои Таски и переводит их в DONE, пока читатель опрашивает индексы
+        final int threads = 8;
+        final int tasksPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch ready = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final int thread = i;
+            futures.add(executor.submit(() -> {
+                ready.await();
+                for (int j = 0; j < tasksPerThread; j++) {
+                    int id = taskManager.addNewTask(new Task("Черновик " + thread, "Описание", 0, TaskStatus.NEW));
+                    taskManager.updateTask(new Task("Готово " + thread, "Описание", id, TaskStatus.DONE));
+                }
+                written.countDown();
+                return null;
+            }));
+        }
+        futures.add(executor.submit(() -> {
+            ready.await();
+            while (written.getCount() > 0) {
+                taskManager.getStats();
+                taskManager.getTasksByFilter(new TaskFilter(TaskType.TASK, TaskStatus.NEW, null, null));
+                taskManager.searchTasks("черновик", 10);
+                taskManager.getUrgentTasks(10);
+            }
+            return null;
+        }));
+        ready.countDown();
+        for (var future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Проверяем, что статистика, фильтры, поиск и срочные задачи отражают последние версии Тасков
+        final int total = threads * tasksPerThread;
+        var stats = taskManager.getStats();
+        assertEquals(total, stats.tasks(), "Количество Тасков в статистике некорректно");
+        assertEquals(total, stats.taskStatuses().get(TaskStatus.DONE), "Все Таски должны быть в статусе DONE");
+        assertEquals(total, taskManager.getTasksByFilter(new TaskFilter(TaskType.TASK, TaskStatus.DONE, null,
+                null)).size(), "Фильтр по статусу DONE должен вернуть все Таски");
+        assertEquals(0, taskManager.searchTasks("черновик", total).size(), "Старые заголовки не должны находиться");
+        assertEquals(total, taskManager.searchTasks("готово", total).size(), "Новые заголовки должны находиться");
+        assertEquals(0, taskManager.getUrgentTasks(10).size(), "Выполненные Таски не должны быть срочными");
+    }
+}
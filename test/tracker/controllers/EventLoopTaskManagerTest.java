@@ -0,0 +1,122 @@
+package tracker.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+import tracker.util.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+class EventLoopTaskManagerTest extends ConcurrentTaskManagerTest<EventLoopTaskManager> {
+    @BeforeEach
+    void init() {
+        taskManager = new EventLoopTaskManager(new InMemoryHistoryManager(), 16);
+    }
+
+    @AfterEach
+    void shutDown() {
+        taskManager.close();
+    }
+
+    @Test
+    @DisplayName("Снимок для чтения обновляется до завершения команды")
+    void shouldPublishSnapshotBeforeCompletingCommand() {
+        // Добавляем Таск и сразу читаем список задач
+        var taskId = taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW));
+        var tasks = taskManager.getAllTasks();
+
+        // Проверяем, что читатель видит собственную запись
+        assertEquals(1, tasks.size(), "В снимке должен быть один Таск");
+        assertEquals(taskId, tasks.getFirst().getId(), "В снимке должен быть добавленный Таск");
+
+        // Проверяем, что опубликованный снимок нельзя изменить
+        assertThrows(UnsupportedOperationException.class, () -> tasks.add(new Task("Таск", "Описание", 0,
+                TaskStatus.NEW)), "Снимок должен быть неизменяемым");
+    }
+
+    @Test
+    @DisplayName("Полученный снимок не меняется при последующих изменениях трекера")
+    void shouldKeepSnapshotImmutableAfterLaterWrites() {
+        // Добавляем Таск и запоминаем текущий снимок трекера
+        var firstId = taskManager.addNewTask(new Task("Таск 1", "Описание", 0, TaskStatus.NEW));
+        var snapshot = taskManager.snapshot();
+
+        // Изменяем трекер после получения снимка
+        taskManager.addNewTask(new Task("Таск 2", "Описание", 0, TaskStatus.NEW));
+        taskManager.deleteTaskById(firstId);
+
+        // Проверяем, что старый снимок остался прежним, а новый получил более позднюю версию
+        assertEquals(1, snapshot.tasks().size(), "В старом снимке должен остаться один Таск");
+        assertEquals(firstId, snapshot.tasks().getFirst().getId(), "В старом снимке должен быть первый Таск");
+        assertTrue(taskManager.snapshot().version() > snapshot.version(), "Версия снимка должна увеличиться");
+        assertEquals(1, taskManager.getAllTasks().size(), "В новом снимке должен быть один Таск");
+        assertNotEquals(firstId, taskManager.getAllTasks().getFirst().getId(),
+                "Первый Таск должен быть удалён из нового снимка");
+    }
+
+    @Test
+    @DisplayName("Эпик в старом снимке не меняется при добавлении Сабтаска")
+    void shouldCopyEpicOnWrite() {
+        // Добавляем Эпик с Сабтаском и запоминаем текущий снимок трекера
+        var epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        taskManager.addNewSubtask(new Subtask("Сабтаск 1", "Описание", 0, TaskStatus.NEW), epicId);
+        var snapshot = taskManager.snapshot();
+
+        // Добавляем в Эпик ещё один выполненный Сабтаск
+        taskManager.addNewSubtask(new Subtask("Сабтаск 2", "Описание", 0, TaskStatus.DONE), epicId);
+
+        // Проверяем, что Эпик из старого снимка остался прежним
+        var oldEpic = snapshot.epics().getFirst();
+        assertEquals(1, oldEpic.getEpicSubtasks().size(), "В старом снимке у Эпика должен быть один Сабтаск");
+        assertEquals(TaskStatus.NEW, oldEpic.getStatus(), "Статус Эпика в старом снимке не должен меняться");
+        assertEquals(2, taskManager.getEpicById(epicId).getEpicSubtasks().size(),
+                "В новом снимке у Эпика должно быть два Сабтаска");
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpicById(epicId).getStatus(),
+                "Статус Эпика в новом снимке должен пересчитаться");
+    }
+
+    @Test
+    @DisplayName("После остановки менеджер не принимает новые команды")
+    void shouldRejectCommandsAfterClose() {
+        // Добавляем Таск и останавливаем менеджер
+        taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW));
+        taskManager.close();
+
+        // Проверяем, что чтение последнего снимка доступно, а запись — нет
+        assertEquals(1, taskManager.getAllTasks().size(), "Последний снимок должен оставаться доступным");
+        assertThrows(IllegalStateException.class, () -> {
+            taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW));
+        }, "Остановленный менеджер должен отклонять команды");
+    }
+
+    @Test
+    @DisplayName("Менеджер с файлом загружает сохранённые задачи")
+    void shouldLoadExistingFile() throws IOException {
+        // Сохраняем Таск в файл обычным файловым трекером
+        File file = File.createTempFile("data", ".csv");
+        final int taskId = new FileBackedTaskManager(file, new InMemoryHistoryManager())
+                .addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW));
+
+        // Открываем файл через цикл событий и добавляем Эпик
+        try (var manager = new EventLoopTaskManager(file, new InMemoryHistoryManager())) {
+            assertEquals(taskId, manager.getAllTasks().getFirst().getId(), "Таск из файла должен загрузиться");
+            final int epicId = manager.addNewEpic(new Epic("Эпик", "Описание", 0));
+
+            // Проверяем, что новый Эпик не занял id Таска и файл сохранил обе записи
+            assertNotEquals(taskId, epicId, "Эпик не должен переиспользовать id из файла");
+            assertEquals(3, Files.readAllLines(file.toPath()).size(), "В файле должны остаться Таск и Эпик");
+        }
+    }
+}
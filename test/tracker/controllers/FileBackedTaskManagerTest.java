@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.File;
 import java.nio.file.Files;
@@ -14,6 +15,8 @@ import java.io.FileWriter;
 import java.io.Writer;
 import java.io.IOException;
 
+import tracker.exceptions.TaskInteractionException;
+import tracker.model.Recurrence;
 import tracker.model.Task;
 import tracker.model.Epic;
 import tracker.model.Subtask;
@@ -47,7 +50,7 @@ class FileBackedTaskManagerTest extends TaskManagerTest<TaskManager> {
     void shouldLoadFromFile() throws IOException {
         // Создаём поток вывода и делаем запись в файл tmpFile
         Writer fileWriter = new FileWriter(tmpFile);
-        fileWriter.write("id,type,name,status,description,start,duration,epic");
+        fileWriter.write("id,type,name,status,description,start,duration,epic,interval,until,exceptions");
         fileWriter.write("\n1,TASK,Task1,NEW,Description task1,16.03.2025 12:14,10,");
         fileWriter.write("\n2,EPIC,Epic2,DONE,Description epic2,");
         fileWriter.write("\n3,SUBTASK,Subtask3,DONE,Description subtask3,17.03.2025 13:15,25,2");
@@ -183,6 +186,32 @@ class FileBackedTaskManagerTest extends TaskManagerTest<TaskManager> {
         assertEquals(expectedTaskLine, lines.get(1), "Таск не обновился в файле");
     }
 
+    @Test
+    @DisplayName("Частичное обновление задач сохраняется в файл")
+    void shouldSavePatchesToFile() throws IOException {
+        // Добавляем в трекер Таск, Эпик и Сабтаск
+        final int taskId = taskManager.addNewTask(new Task("Task1", "Description task1", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 3, 16, 12, 14), Duration.ofMinutes(10)));
+        final int epicId = taskManager.addNewEpic(new Epic("Epic2", "Description epic2", 0));
+        final int subId = taskManager.addNewSubtask(new Subtask("Subtask3", "Description subtask3", 0,
+                TaskStatus.NEW), epicId);
+
+        // Меняем статус Таска и Сабтаска и название Эпика
+        taskManager.patchTask(taskId, new TaskPatch(null, null, TaskStatus.DONE, null, null));
+        taskManager.patchEpic(epicId, new TaskPatch("Epic2_PATCHED", null, null, null, null));
+        taskManager.patchSubtask(subId, new TaskPatch(null, null, TaskStatus.IN_PROGRESS, null, null));
+
+        // Проверяем, что изменения попали в файл и восстанавливаются из него
+        var lines = Files.readAllLines(tmpFile.toPath());
+        assertEquals("1,TASK,Task1,DONE,Description task1,16.03.2025 12:14,10,", lines.get(1),
+                "Изменение Таска не сохранилось в файл");
+        var restored = FileBackedTaskManager.loadFromFile(tmpFile);
+        assertEquals(TaskStatus.DONE, restored.getTaskById(taskId).getStatus(), "Статус Таска не восстановился");
+        assertEquals("Epic2_PATCHED", restored.getEpicById(epicId).getTitle(), "Название Эпика не восстановилось");
+        assertEquals(TaskStatus.IN_PROGRESS, restored.getSubtaskById(subId).getStatus(),
+                "Статус Сабтаска не восстановился");
+    }
+
     @Test
     @DisplayName("Удаление Таска из файла")
     void shouldDeleteTaskInFile() throws IOException {
@@ -198,7 +227,7 @@ class FileBackedTaskManagerTest extends TaskManagerTest<TaskManager> {
 
         // Считываем из файла данные
         var fileWithoutTask = Files.readAllLines(tmpFile.toPath());
-        var testLine = "id,type,name,status,description,start,duration,epic";
+        var testLine = "id,type,name,status,description,start,duration,epic,interval,until,exceptions";
 
         // Проверяем, что Таск удалился из файла
         assertFalse(fileWithoutTask.isEmpty(), "Файл не должен быть пустым");
@@ -226,7 +255,7 @@ class FileBackedTaskManagerTest extends TaskManagerTest<TaskManager> {
 
         // Считываем из файла данные
         var fileWithoutTasks = Files.readAllLines(tmpFile.toPath());
-        var testLine = "id,type,name,status,description,start,duration,epic";
+        var testLine = "id,type,name,status,description,start,duration,epic,interval,until,exceptions";
 
         // Проверяем, что трекер очистил файл от всех трех Тасков
         assertFalse(fileWithoutTasks.isEmpty(), "Файл не должен быть пустым");
@@ -265,7 +294,7 @@ class FileBackedTaskManagerTest extends TaskManagerTest<TaskManager> {
 
         // Получаем содержимое файла
         var lines = Files.readAllLines(tmpFile.toPath());
-        var expectedLine = "id,type,name,status,description,start,duration,epic";
+        var expectedLine = "id,type,name,status,description,start,duration,epic,interval,until,exceptions";
 
         // Проверяем, удалился ли Эпик из файла
         assertFalse(lines.isEmpty(), "Файл не должен быть пустым");
@@ -286,7 +315,7 @@ class FileBackedTaskManagerTest extends TaskManagerTest<TaskManager> {
 
         // Получаем содержимое файла для проверки
         var lines = Files.readAllLines(tmpFile.toPath());
-        var expectedLine = "id,type,name,status,description,start,duration,epic";
+        var expectedLine = "id,type,name,status,description,start,duration,epic,interval,until,exceptions";
 
         // Смотрим, что все три Эпика успешно удалились из файла
         assertFalse(lines.isEmpty(), "Файл не должен быть пустым");
@@ -396,4 +425,35 @@ class FileBackedTaskManagerTest extends TaskManagerTest<TaskManager> {
         assertFalse(lines.isEmpty(), "Файл не должен быть пустым");
         assertEquals(2, lines.size(), "В файле должно остаться 2 строки");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Повторяющийся Таск сохраняется в файл одной строкой")
+    void shouldSaveAndLoadRecurringTask() throws IOException {
+        // Добавляем ежедневный Таск на неделю и выносим одно повторение в отдельную задачу
+        var standup = new Task("Standup", "Daily", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 11, 3, 9, 0), Duration.ofMinutes(15));
+        standup.setRecurrence(new Recurrence(Duration.ofDays(1), LocalDateTime.of(2025, 11, 9, 9, 0)));
+        final int standupId = taskManager.addNewTask(standup);
+        taskManager.detachOccurrence(standupId, LocalDateTime.of(2025, 11, 5, 9, 0));
+
+        // Проверяем, что вся серия занимает одну строку, а исключение хранится в ней же
+        var lines = Files.readAllLines(tmpFile.toPath());
+        assertEquals(3, lines.size(), "В файле должны быть заголовок, серия и вынесенное повторение");
+        assertEquals("1,TASK,Standup,NEW,Daily,03.11.2025 09:00,15,,1440,09.11.2025 09:00,05.11.2025 09:00,",
+                lines.get(1), "Строка повторяющегося Таска отличается");
+
+        // Восстанавливаем трекер и проверяем правило повторения
+        var restored = FileBackedTaskManager.loadFromFile(tmpFile);
+        var recurrence = restored.getTaskById(standupId).getRecurrence();
+        assertNotNull(recurrence, "Правило повторения должно восстановиться");
+        assertEquals(Duration.ofDays(1), recurrence.getInterval(), "Интервал повторения отличается");
+        assertEquals(1, recurrence.getExceptions().size(), "Исключение из серии должно восстановиться");
+
+        // Проверяем, что повторения вернулись в расписание и по-прежнему защищают своё время
+        assertEquals(7, restored.getPrioritizedTasks().size(),
+                "В расписании должны быть повторения серии и вынесенное повторение");
+        assertThrows(TaskInteractionException.class, () -> restored.addNewTask(new Task("Call", "Description", 0,
+                TaskStatus.NEW, LocalDateTime.of(2025, 11, 7, 9, 5), Duration.ofMinutes(30))),
+                "Задача не должна пересекаться с восстановленным повторением");
+    }
+}
@@ -3,20 +3,30 @@ package tracker.controllers;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import tracker.exceptions.TaskInteractionException;
+import tracker.model.Epic;
+import tracker.model.Subtask;
 import tracker.model.Task;
 
+import tracker.util.ChangeType;
 import tracker.util.Managers;
 import tracker.util.TaskStatus;
+import tracker.util.TaskType;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
 class InMemoryTaskManagerTest extends TaskManagerTest<TaskManager> {
     @BeforeEach
     void init() {
@@ -127,4 +137,63 @@ class InMemoryTaskManagerTest extends TaskManagerTest<TaskManager> {
             taskManager.addNewTask(task);
         }, "Ситуация, когда начало одной задачи совпадает с концом другой, не должна приводить к исключению");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Массовое удаление Тасков публикует одно событие очистки")
+    void shouldPublishSingleClearedEvent() throws InterruptedException {
+        // Добавляем несколько Тасков и подписываемся на события
+        for (int i = 0; i < 100; i++) {
+            taskManager.addNewTask(new Task("Таск " + i, "Описание", 0, TaskStatus.NEW));
+        }
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        try (var subscription = taskManager.subscribe(received::add)) {
+            // Удаляем все Таски и добавляем Эпик
+            taskManager.deleteAllTasks();
+            final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+
+            // Проверяем, что вместо события на каждый Таск пришло одно событие очистки
+            var cleared = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(cleared, "Событие очистки не было доставлено");
+            assertEquals(ChangeType.CLEARED, cleared.change(), "Ожидалось событие очистки");
+            assertEquals(TaskType.TASK, cleared.type(), "Очищен не тот тип задач");
+            var created = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(created, "Событие о новом Эпике не было доставлено");
+            assertEquals(epicId, created.id(), "После очистки должно прийти событие о новом Эпике");
+        }
+    }
+
+    @Test
+    @DisplayName("Очищение Сабтасок не рассылает события по Эпикам и освобождает расписание в фоне")
+    void shouldClearSubtasksWithoutTouchingEachEpic() throws InterruptedException {
+        // Добавляем Эпики с запланированными Сабтасками и подписываемся на события
+        var manager = new InMemoryTaskManager(new InMemoryHistoryManager());
+        for (int i = 0; i < 100; i++) {
+            final int epicId = manager.addNewEpic(new Epic("Эпик " + i, "Описание", 0));
+            manager.addNewSubtask(new Subtask("Сабтаск " + i, "Описание", 0, TaskStatus.DONE,
+                    LocalDateTime.of(2025, 8, 1, 10, 0).plusHours(i), Duration.ofMinutes(30)), epicId);
+        }
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        try (var subscription = manager.subscribe(received::add)) {
+            // Удаляем все Сабтаски и добавляем Таск
+            manager.deleteAllSubtasks();
+            final int taskId = manager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW));
+
+            // Проверяем, что пришло одно событие очистки без обновлений Эпиков
+            var cleared = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(cleared, "Событие очистки не было доставлено");
+            assertEquals(ChangeType.CLEARED, cleared.change(), "Ожидалось событие очистки");
+            assertEquals(TaskType.SUBTASK, cleared.type(), "Очищен не тот тип задач");
+            var created = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(created, "Событие о новом Таске не было доставлено");
+            assertEquals(taskId, created.id(), "После очистки должно прийти событие о новом Таске");
+        }
+
+        // Проверяем, что Эпики сброшены, а фоновая очистка убрала удалённые Сабтаски из расписания
+        assertEquals(100, manager.getTasksByFilter(new TaskFilter(TaskType.EPIC, TaskStatus.NEW, null, null))
+                .size(), "Все Эпики должны получить статус NEW");
+        for (int i = 0; i < 500 && !manager.prioritizedTasks.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(manager.prioritizedTasks.isEmpty(), "Удалённые Сабтаски должны уйти из расписания в фоне");
+    }
+}
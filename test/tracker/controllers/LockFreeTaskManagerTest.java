@@ -0,0 +1,50 @@
+package tracker.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import tracker.exceptions.TaskInteractionException;
+import tracker.model.Task;
+import tracker.util.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+class LockFreeTaskManagerTest extends ConcurrentTaskManagerTest<TaskManager> {
+    @BeforeEach
+    void init() {
+        taskManager = new LockFreeTaskManager(new InMemoryHistoryManager());
+    }
+
+    @Test
+    @DisplayName("Неудачный перенос задачи не освобождает её прежний временной слот")
+    void shouldKeepOldSlotWhenRescheduleFails() {
+        // Добавляем в трекер два Таска, идущих друг за другом
+        var firstId = taskManager.addNewTask(new Task("Таск 1", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 5, 1, 10, 0), Duration.ofMinutes(30)));
+        taskManager.addNewTask(new Task("Таск 2", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 5, 1, 11, 0), Duration.ofMinutes(30)));
+
+        // Пробуем перенести первый Таск на время, пересекающееся со вторым
+        assertThrows(TaskInteractionException.class, () -> {
+            taskManager.updateTask(new Task("Таск 1", "Описание", firstId, TaskStatus.NEW,
+                    LocalDateTime.of(2025, 5, 1, 10, 45), Duration.ofMinutes(30)));
+        }, "Пересечение временных интервалов задач должно приводить к исключению");
+
+        // Проверяем, что первый Таск остался на прежнем месте в списке приоритетов
+        var prioritizedTasks = taskManager.getPrioritizedTasks();
+        assertEquals(2, prioritizedTasks.size(), "В списке приоритетных задач должно быть 2 элемента");
+        assertEquals(LocalDateTime.of(2025, 5, 1, 10, 0), prioritizedTasks.getFirst().getStartTime(),
+                "Первый Таск должен сохранить своё время начала");
+
+        // Переносим первый Таск внутри собственного слота — это не пересечение
+        taskManager.updateTask(new Task("Таск 1", "Описание", firstId, TaskStatus.NEW,
+                LocalDateTime.of(2025, 5, 1, 10, 0), Duration.ofMinutes(45)));
+        assertEquals(Duration.ofMinutes(45), taskManager.getPrioritizedTasks().getFirst().getDuration(),
+                "Длительность первого Таска должна обновиться");
+    }
+}
@@ -0,0 +1,145 @@
+package tracker.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import tracker.exceptions.TaskInteractionException;
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+import tracker.util.ChangeType;
+import tracker.util.TaskStatus;
+import tracker.util.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+class PartitionedTaskManagerTest extends ConcurrentTaskManagerTest<TaskManager> {
+    @BeforeEach
+    void init() {
+        taskManager = new PartitionedTaskManager(new InMemoryHistoryManager(), 4);
+    }
+
+    @Test
+    @DisplayName("Задачи разных шардов сливаются по id и времени начала и не пересекаются между собой")
+    void shouldMergeShardsAndCheckInteractionsAcrossThem() {
+        // Добавляем Таски и Эпики с Сабтасками, которые распределятся по разным шардам
+        final var start = LocalDateTime.of(2025, 10, 1, 0, 0);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ids.add(taskManager.addNewTask(new Task("Таск " + i, "Описание", 0, TaskStatus.NEW,
+                    start.plusHours(16 - 2L * i), Duration.ofMinutes(30))));
+            int epicId = taskManager.addNewEpic(new Epic("Эпик " + i, "Описание", 0));
+            taskManager.addNewSubtask(new Subtask("Сабтаск " + i, "Описание", 0, TaskStatus.NEW,
+                    start.plusHours(17 - 2L * i), Duration.ofMinutes(30)), epicId);
+        }
+
+        // Проверяем, что списки собраны по возрастанию id, а расписание — по времени начала
+        assertEquals(ids, taskManager.getAllTasks().stream().map(Task::getId).toList(),
+                "Таски должны идти по возрастанию id");
+        var prioritized = taskManager.getPrioritizedTasks();
+        assertEquals(16, prioritized.size(), "В расписании должны быть все задачи");
+        for (int i = 1; i < prioritized.size(); i++) {
+            assertEquals(-1, prioritized.get(i - 1).getStartTime().compareTo(prioritized.get(i).getStartTime()),
+                    "Расписание должно быть упорядочено по времени начала");
+        }
+
+        // Проверяем, что пересечение обнаруживается независимо от шарда
+        for (int i = 0; i < 8; i++) {
+            final var slot = start.plusHours(16 - 2L * i).plusMinutes(15);
+            assertThrows(TaskInteractionException.class, () -> taskManager.addNewTask(new Task("Таск", "Описание",
+                    0, TaskStatus.NEW, slot, Duration.ofMinutes(30))), "Пересечение должно находиться во всех шардах");
+        }
+        assertEquals(8, taskManager.getAllTasks().size(), "Пересекающиеся Таски не должны добавиться");
+    }
+
+    @Test
+    @DisplayName("Транзакция и пакет Сабтасков затрагивают несколько шардов")
+    void shouldApplyOperationsSpanningShards() {
+        // Добавляем несколько Тасков и Эпиков, чтобы они попали в разные шарды
+        final var start = LocalDateTime.of(2025, 11, 1, 10, 0);
+        List<Integer> taskIds = new ArrayList<>();
+        List<Integer> epicIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            taskIds.add(taskManager.addNewTask(new Task("Таск " + i, "Описание", 0, TaskStatus.NEW,
+                    start.plusHours(i), Duration.ofMinutes(60))));
+            epicIds.add(taskManager.addNewEpic(new Epic("Эпик " + i, "Описание", 0)));
+        }
+
+        // Сдвигаем все Таски на час вперёд по кругу в одной транзакции
+        var transaction = taskManager.beginTransaction();
+        for (int i = 0; i < 4; i++) {
+            transaction.updateTask(new Task("Таск " + i, "Описание", taskIds.get(i), TaskStatus.NEW,
+                    start.plusHours((i + 1) % 4), Duration.ofMinutes(60)));
+        }
+        transaction.commit();
+        assertEquals(List.of(taskIds.get(3), taskIds.get(0), taskIds.get(1), taskIds.get(2)),
+                taskManager.getPrioritizedTasks().stream().map(Task::getId).toList(),
+                "Таски должны сдвинуться по кругу");
+
+        // Добавляем пачку Сабтасков в разные Эпики и проверяем порядок выданных id
+        List<Subtask> batch = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            var sub = new Subtask("Сабтаск " + i, "Описание", 0, TaskStatus.NEW,
+                    start.plusHours(8 + i), Duration.ofMinutes(60));
+            sub.setEpicId(epicIds.get(i));
+            batch.add(sub);
+        }
+        var subIds = taskManager.addNewSubtasks(batch);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(epicIds.get(i), taskManager.getSubtaskById(subIds.get(i)).getEpicId(),
+                    "Сабтаск должен попасть в свой Эпик");
+        }
+
+        // Пачка, пересекающаяся сама с собой в разных Эпиках, не добавляется целиком
+        var first = new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW, start.plusHours(20),
+                Duration.ofMinutes(60));
+        first.setEpicId(epicIds.get(0));
+        var second = new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW, start.plusHours(20).plusMinutes(30),
+                Duration.ofMinutes(60));
+        second.setEpicId(epicIds.get(1));
+        assertThrows(TaskInteractionException.class, () -> taskManager.addNewSubtasks(List.of(first, second)),
+                "Пересечение внутри пачки должно приводить к исключению");
+        assertEquals(4, taskManager.getAllSubtasks().size(), "Ни один Сабтаск пачки не должен добавиться");
+    }
+
+    @Test
+    @DisplayName("Массовое удаление во всех шардах публикует одно событие на тип")
+    void shouldClearAllShardsWithSingleEvent() throws InterruptedException {
+        // Добавляем Таски и Эпики с Сабтасками, которые распределятся по разным шардам
+        for (int i = 0; i < 8; i++) {
+            taskManager.addNewTask(new Task("Таск " + i, "Описание", 0, TaskStatus.NEW));
+            int epicId = taskManager.addNewEpic(new Epic("Эпик " + i, "Описание", 0));
+            taskManager.addNewSubtask(new Subtask("Сабтаск " + i, "Описание", 0, TaskStatus.NEW), epicId);
+        }
+
+        // Подписываемся на события и удаляем все Таски, а затем все Эпики
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        try (var subscription = taskManager.subscribe(received::add)) {
+            taskManager.deleteAllTasks();
+            taskManager.deleteAllEpics();
+
+            // Проверяем, что на каждый тип пришло ровно одно событие очистки
+            List<TaskEvent> events = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                events.add(received.poll(5, TimeUnit.SECONDS));
+            }
+            assertEquals(List.of(ChangeType.CLEARED, ChangeType.CLEARED, ChangeType.CLEARED),
+                    events.stream().map(TaskEvent::change).toList(), "Очистка должна публиковать одно событие");
+            assertEquals(List.of(TaskType.TASK, TaskType.SUBTASK, TaskType.EPIC),
+                    events.stream().map(TaskEvent::type).toList(), "Некорректные типы событий очистки");
+            assertNull(received.poll(100, TimeUnit.MILLISECONDS), "Лишних событий очистки быть не должно");
+            assertEquals(0, subscription.getDroppedEvents(), "События не должны теряться");
+        }
+    }
+}
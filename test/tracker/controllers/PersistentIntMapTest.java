@@ -0,0 +1,59 @@
+package tracker.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+class PersistentIntMapTest {
+    @Test
+    @DisplayName("Изменения создают новую версию и не затрагивают старую")
+    void shouldKeepOldVersionUnchanged() {
+        // Создаём версию с двумя значениями
+        PersistentIntMap<String> first = PersistentIntMap.<String>empty().put(1, "один").put(2, "два");
+
+        // Получаем из неё новые версии
+        var second = first.put(3, "три").remove(1);
+
+        // Проверяем, что старая версия не изменилась
+        assertEquals(2, first.size(), "В первой версии должно быть 2 значения");
+        assertEquals("один", first.get(1), "Первая версия должна содержать ключ 1");
+        assertNull(first.get(3), "Первая версия не должна содержать ключ 3");
+        assertEquals(List.of("два", "три"), second.values(), "Вторая версия должна содержать ключи 2 и 3");
+    }
+
+    @Test
+    @DisplayName("Случайные вставки и удаления совпадают с TreeMap")
+    void shouldMatchTreeMapOnRandomOperations() {
+        // Выполняем одинаковые операции над PersistentIntMap и TreeMap
+        var random = new Random(42);
+        var expected = new TreeMap<Integer, Integer>();
+        PersistentIntMap<Integer> actual = PersistentIntMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextBoolean() ? random.nextInt(5_000) : random.nextInt();
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.remove(key);
+            } else {
+                expected.put(key, i);
+                actual = actual.put(key, i);
+            }
+        }
+
+        // Проверяем размер, порядок обхода и ключи курсора
+        assertEquals(expected.size(), actual.size(), "Размеры коллекций отличаются");
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(actual.values()),
+                "Порядок значений отличается");
+        var cursor = actual.cursor();
+        for (var key : expected.keySet()) {
+            cursor.advance();
+            assertEquals(key, cursor.key(), "Ключи курсора отличаются");
+        }
+    }
+}
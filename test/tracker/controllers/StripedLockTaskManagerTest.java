@@ -0,0 +1,10 @@
+package tracker.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+
+class StripedLockTaskManagerTest extends ConcurrentTaskManagerTest<TaskManager> {
+    @BeforeEach
+    void init() {
+        taskManager = new StripedLockTaskManager(new InMemoryHistoryManager());
+    }
+}
@@ -2,21 +2,33 @@ package tracker.controllers;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import tracker.exceptions.DependencyCycleException;
+import tracker.exceptions.TaskInteractionException;
 import tracker.model.Epic;
+import tracker.model.Recurrence;
 import tracker.model.Subtask;
 import tracker.model.Task;
+import tracker.util.ChangeType;
 import tracker.util.TaskStatus;
+import tracker.util.TaskType;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 abstract class TaskManagerTest<T extends TaskManager> {
     protected T taskManager;
@@ -322,6 +334,36 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertTrue(epics.getFirst().getEpicSubtasks().isEmpty(), "Список Сабтасок Эпика должен быть пустым");
     }
 
+    @Test
+    @DisplayName("После очищения Сабтасок Эпик и зависимости не видят удалённые Сабтаски")
+    void shouldForgetClearedSubtasksInEpicsAndDependencies() {
+        // Добавляем Эпик с выполненным Сабтаском и Таск, зависящий от этого Сабтаска
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int subId = taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.DONE,
+                LocalDateTime.of(2025, 7, 1, 10, 0), Duration.ofMinutes(30)), epicId);
+        final int taskId = taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW));
+        taskManager.addDependency(taskId, subId);
+
+        // Удаляем все Сабтаски
+        taskManager.deleteAllSubtasks();
+
+        // Проверяем, что Эпик сброшен, а зависимость от удалённого Сабтаска исчезла
+        var epic = taskManager.getEpicById(epicId);
+        assertEquals(TaskStatus.NEW, epic.getStatus(), "Эпик без Сабтасков должен получить статус NEW");
+        assertNull(epic.getStartTime(), "У Эпика без Сабтасков не должно быть времени начала");
+        assertTrue(taskManager.getDependencies(taskId).isEmpty(), "Зависимость от удалённого Сабтаска осталась");
+
+        // Добавляем новый Сабтаск в тот же слот и проверяем, что Эпик видит только его
+        final int newSubId = taskManager.addNewSubtask(new Subtask("Новый Сабтаск", "Описание", 0,
+                TaskStatus.IN_PROGRESS, LocalDateTime.of(2025, 7, 1, 10, 0), Duration.ofMinutes(30)), epicId);
+        epic = taskManager.getEpicById(epicId);
+        assertEquals(List.of(newSubId), epic.getEpicSubtasks().stream().map(Subtask::getId).toList(),
+                "Эпик должен содержать только новый Сабтаск");
+        assertEquals(TaskStatus.IN_PROGRESS, epic.getStatus(), "Статус Эпика должен пересчитаться по новому Сабтаску");
+        assertEquals(1, taskManager.getAllEpics().getFirst().getEpicSubtasks().size(),
+                "В списке Эпиков у Эпика должен быть один Сабтаск");
+    }
+
     @Test
     @DisplayName("Получение пустой истории просмотренных задач")
     void shouldReturnEmptyHistory() {
@@ -459,4 +501,732 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(thirdPriorityTask, prioritizedTasks.getLast(), "Сабтаск thirdPriorityTask должен идти" +
                 " последним в списке приоритетных задач");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Постраничное получение Тасков по курсору")
+    void shouldReturnTasksPageAfterCursor() {
+        // Добавляем Таски вперемешку с Эпиком и Сабтасками, чтобы в идентификаторах Тасков были пропуски
+        final int firstId = taskManager.addNewTask(new Task("Таск 1", "Описание", 0, TaskStatus.NEW));
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        for (int i = 0; i < 10; i++) {
+            taskManager.addNewSubtask(new Subtask("Сабтаск " + i, "Описание", 0, TaskStatus.NEW), epicId);
+        }
+        final int secondId = taskManager.addNewTask(new Task("Таск 2", "Описание", 0, TaskStatus.NEW));
+        final int thirdId = taskManager.addNewTask(new Task("Таск 3", "Описание", 0, TaskStatus.NEW));
+
+        // Получаем Таски страницами по два элемента
+        final var firstPage = taskManager.getTasksPage(0, 2);
+        final var secondPage = taskManager.getTasksPage(firstPage.getLast().getId(), 2);
+        final var lastPage = taskManager.getTasksPage(thirdId, 2);
+
+        // Проверяем, что страницы идут по возрастанию id и не пересекаются
+        assertEquals(2, firstPage.size(), "На первой странице должно быть 2 Таска");
+        assertEquals(firstId, firstPage.getFirst().getId(), "Первая страница должна начинаться с Таска 1");
+        assertEquals(secondId, firstPage.getLast().getId(), "Первая страница должна заканчиваться Таском 2");
+        assertEquals(1, secondPage.size(), "На второй странице должен быть 1 Таск");
+        assertEquals(thirdId, secondPage.getFirst().getId(), "Вторая страница должна содержать Таск 3");
+        assertTrue(lastPage.isEmpty(), "После последнего Таска страница должна быть пустой");
+
+        // Проверяем постраничное получение Сабтасков
+        final var subtasksPage = taskManager.getSubtasksPage(epicId, 4);
+        assertEquals(4, subtasksPage.size(), "На странице должно быть 4 Сабтаска");
+        assertEquals(epicId + 1, subtasksPage.getFirst().getId(), "Страница должна начинаться с первого Сабтаска");
+    }
+
+    @Test
+    @DisplayName("Некорректные параметры страницы должны приводить к исключению")
+    void shouldThrowOnInvalidPageBounds() {
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getTasksPage(-1, 10),
+                "Отрицательный курсор должен приводить к исключению");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getEpicsPage(0, 0),
+                "Пустой размер страницы должен приводить к исключению");
+    }
+
+    @Test
+    @DisplayName("Фильтрация задач по статусу, типу, наличию времени и эпику")
+    void shouldFilterTasksByIndexedFields() {
+        // Добавляем Таск со временем начала и Эпик с двумя Сабтасками
+        final int taskId = taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.IN_PROGRESS,
+                LocalDateTime.of(2025, 6, 1, 10, 0), Duration.ofMinutes(30)));
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int scheduledSubId = taskManager.addNewSubtask(new Subtask("Сабтаск 1", "Описание", 0,
+                TaskStatus.IN_PROGRESS, LocalDateTime.of(2025, 6, 1, 11, 0), Duration.ofMinutes(30)), epicId);
+        final int plainSubId = taskManager.addNewSubtask(new Subtask("Сабтаск 2", "Описание", 0,
+                TaskStatus.NEW), epicId);
+
+        // Проверяем составной фильтр по статусу и наличию времени начала
+        var inProgressScheduledSubs = taskManager.getTasksByFilter(new TaskFilter(TaskType.SUBTASK,
+                TaskStatus.IN_PROGRESS, true, null));
+        assertEquals(1, inProgressScheduledSubs.size(), "Фильтру должен соответствовать один Сабтаск");
+        assertEquals(scheduledSubId, inProgressScheduledSubs.getFirst().getId(), "Найден не тот Сабтаск");
+
+        // Проверяем фильтр по статусу без учёта типа — Таск, Эпик и Сабтаск в работе
+        var inProgress = taskManager.getTasksByFilter(new TaskFilter(null, TaskStatus.IN_PROGRESS, null, null));
+        assertEquals(3, inProgress.size(), "Фильтру должны соответствовать три задачи");
+        assertEquals(taskId, inProgress.getFirst().getId(), "Задачи должны идти по возрастанию id");
+
+        // Проверяем фильтр по эпику
+        var unscheduledEpicSubs = taskManager.getTasksByFilter(new TaskFilter(TaskType.SUBTASK, null, false,
+                epicId));
+        assertEquals(1, unscheduledEpicSubs.size(), "Фильтру должен соответствовать один Сабтаск эпика");
+        assertEquals(plainSubId, unscheduledEpicSubs.getFirst().getId(), "Найден не тот Сабтаск эпика");
+
+        // Переводим Сабтаски в статус DONE и проверяем, что индекс обновил и статус Эпика
+        taskManager.updateSubtask(new Subtask("Сабтаск 1", "Описание", scheduledSubId, TaskStatus.DONE,
+                LocalDateTime.of(2025, 6, 1, 11, 0), Duration.ofMinutes(30)));
+        taskManager.updateSubtask(new Subtask("Сабтаск 2", "Описание", plainSubId, TaskStatus.DONE));
+        var doneEpics = taskManager.getTasksByFilter(new TaskFilter(TaskType.EPIC, TaskStatus.DONE, null, null));
+        assertEquals(1, doneEpics.size(), "Эпик должен попасть в индекс со статусом DONE");
+
+        // Удаляем Сабтаски и проверяем, что они исчезли из индекса
+        taskManager.deleteAllSubtasks();
+        assertTrue(taskManager.getTasksByFilter(new TaskFilter(TaskType.SUBTASK, null, null, null)).isEmpty(),
+                "После удаления Сабтасков фильтр должен возвращать пустой список");
+        assertEquals(1, taskManager.getTasksByFilter(new TaskFilter(TaskType.EPIC, TaskStatus.NEW, null, null))
+                .size(), "Эпик без Сабтасков должен получить статус NEW");
+    }
+
+    @Test
+    @DisplayName("Полнотекстовый поиск учитывает обновление и удаление задач")
+    void shouldSearchTasksByWords() {
+        // Добавляем Таск и Эпик с Сабтаском, в текстах которых есть общие слова
+        final int taskId = taskManager.addNewTask(new Task("Документация сервиса", "Раздел API", 0,
+                TaskStatus.NEW));
+        final int epicId = taskManager.addNewEpic(new Epic("Документация", "Новый раздел", 0));
+        final int subId = taskManager.addNewSubtask(new Subtask("Черновик", "Документация по API", 0,
+                TaskStatus.NEW), epicId);
+
+        // Ищем по двум словам, последнее из которых задано префиксом
+        var found = taskManager.searchTasks("документация ap", 10);
+        assertEquals(2, found.size(), "Должны найтись Таск и Сабтаск");
+        assertEquals(taskId, found.getFirst().getId(), "Совпадение в названии должно идти первым");
+        assertEquals(subId, found.getLast().getId(), "Сабтаск должен идти вторым");
+
+        // Обновляем Таск и проверяем, что старые слова больше не находятся
+        taskManager.updateTask(new Task("Исправить сборку", "Раздел CI", taskId, TaskStatus.NEW));
+        assertTrue(taskManager.searchTasks("сервиса", 10).isEmpty(), "Старое название не должно находиться");
+        assertEquals(taskId, taskManager.searchTasks("СБОРК", 10).getFirst().getId(),
+                "Поиск должен находить новое название без учёта регистра");
+
+        // Удаляем Эпик вместе с Сабтаском и проверяем, что они исчезли из поиска
+        taskManager.deleteEpicById(epicId);
+        assertTrue(taskManager.searchTasks("документация", 10).isEmpty(),
+                "Удалённые задачи не должны находиться");
+    }
+
+    @Test
+    @DisplayName("Пакетное добавление Тасков и Сабтасков")
+    void shouldAddTasksAndSubtasksInBatch() {
+        // Добавляем пачку Тасков, в которой задачи идут не по порядку времени начала
+        var taskIds = taskManager.addNewTasks(List.of(
+                new Task("Таск 1", "Описание", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 8, 1, 12, 0), Duration.ofMinutes(30)),
+                new Task("Таск 2", "Описание", 0, TaskStatus.NEW),
+                new Task("Таск 3", "Описание", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 8, 1, 10, 0), Duration.ofMinutes(30))));
+
+        // Проверяем, что id выданы подряд в порядке пачки
+        assertEquals(List.of(1, 2, 3), taskIds, "Id Тасков должны идти подряд");
+        assertEquals("Таск 3", taskManager.getPrioritizedTasks().getFirst().getTitle(),
+                "Первым по времени должен идти Таск 3");
+
+        // Добавляем пачку Сабтасков для Эпика
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        var first = new Subtask("Сабтаск 1", "Описание", 0, TaskStatus.DONE,
+                LocalDateTime.of(2025, 8, 2, 10, 0), Duration.ofMinutes(15));
+        var second = new Subtask("Сабтаск 2", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 8, 2, 11, 0), Duration.ofMinutes(45));
+        first.setEpicId(epicId);
+        second.setEpicId(epicId);
+        var subIds = taskManager.addNewSubtasks(List.of(first, second));
+
+        // Проверяем Сабтаски и пересчитанные поля Эпика
+        assertEquals(2, subIds.size(), "Должны добавиться два Сабтаска");
+        var epic = taskManager.getEpicById(epicId);
+        assertEquals(2, epic.getEpicSubtasksView().size(), "У Эпика должны быть два Сабтаска");
+        assertEquals(TaskStatus.IN_PROGRESS, epic.getStatus(), "Статус Эпика должен быть IN_PROGRESS");
+        assertEquals(LocalDateTime.of(2025, 8, 2, 11, 45), epic.getEndTime(), "Неверное время окончания Эпика");
+    }
+
+    @Test
+    @DisplayName("Пакетное добавление с пересечением по времени не добавляет ни одной задачи")
+    void shouldRejectWholeBatchOnInteraction() {
+        // Добавляем в трекер Таск со временем начала
+        taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 8, 1, 12, 0), Duration.ofMinutes(30)));
+
+        // Пытаемся добавить пачку, где одна задача пересекается с уже сохранённой
+        assertThrows(TaskInteractionException.class, () -> taskManager.addNewTasks(List.of(
+                new Task("Таск 1", "Описание", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 8, 1, 9, 0), Duration.ofMinutes(30)),
+                new Task("Таск 2", "Описание", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 8, 1, 12, 15), Duration.ofMinutes(30)))),
+                "Пересечение с сохранённой задачей должно приводить к исключению");
+
+        // Пытаемся добавить пачку, задачи которой пересекаются между собой
+        assertThrows(TaskInteractionException.class, () -> taskManager.addNewTasks(List.of(
+                new Task("Таск 3", "Описание", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 8, 1, 14, 0), Duration.ofMinutes(60)),
+                new Task("Таск 4", "Описание", 0, TaskStatus.NEW,
+                        LocalDateTime.of(2025, 8, 1, 14, 30), Duration.ofMinutes(10)))),
+                "Пересечение задач внутри пачки должно приводить к исключению");
+
+        // Проверяем, что в трекере остался только первый Таск
+        assertEquals(1, taskManager.getAllTasks().size(), "В трекере должен остаться один Таск");
+        assertEquals(1, taskManager.getPrioritizedTasks().size(), "В расписании должен остаться один Таск");
+    }
+
+    @Test
+    @DisplayName("Получение задачи любого типа по id")
+    void shouldGetAnyTaskById() {
+        // Добавляем в трекер Таск, Эпик и Сабтаск
+        final int taskId = taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW));
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int subId = taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW), epicId);
+
+        // Получаем задачи по id без указания типа
+        assertEquals(TaskType.TASK, taskManager.getById(taskId).getType(), "По id Таска должен вернуться Таск");
+        assertEquals(TaskType.EPIC, taskManager.getById(epicId).getType(), "По id Эпика должен вернуться Эпик");
+        assertEquals(TaskType.SUBTASK, taskManager.getById(subId).getType(),
+                "По id Сабтаска должен вернуться Сабтаск");
+
+        // Проверяем, что просмотры попали в историю
+        assertEquals(3, taskManager.getHistory().size(), "Все просмотры должны попасть в историю");
+
+        // Удаляем Сабтаск и проверяем, что по его id больше ничего не находится
+        taskManager.deleteSubtaskById(subId);
+        assertThrows(NoSuchElementException.class, () -> taskManager.getById(subId),
+                "По id удалённой задачи должно бросаться исключение");
+    }
+
+    @Test
+    @DisplayName("Транзакция меняет Сабтаски местами во времени за один коммит")
+    void shouldSwapSubtasksInTransaction() {
+        // Добавляем Эпик с двумя Сабтасками, идущими друг за другом
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int firstId = taskManager.addNewSubtask(new Subtask("Сабтаск 1", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 9, 1, 10, 0), Duration.ofMinutes(60)), epicId);
+        final int secondId = taskManager.addNewSubtask(new Subtask("Сабтаск 2", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 9, 1, 11, 0), Duration.ofMinutes(60)), epicId);
+
+        // Меняем Сабтаски местами в одной транзакции и добавляем новый Таск
+        var transaction = taskManager.beginTransaction();
+        transaction.updateSubtask(new Subtask("Сабтаск 1", "Описание", firstId, TaskStatus.DONE,
+                LocalDateTime.of(2025, 9, 1, 11, 0), Duration.ofMinutes(60)));
+        transaction.updateSubtask(new Subtask("Сабтаск 2", "Описание", secondId, TaskStatus.NEW,
+                LocalDateTime.of(2025, 9, 1, 10, 0), Duration.ofMinutes(60)));
+        transaction.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 9, 1, 12, 0), Duration.ofMinutes(30)));
+        var ids = transaction.commit();
+
+        // Проверяем новый порядок расписания и пересчитанный статус Эпика
+        var prioritized = taskManager.getPrioritizedTasks();
+        assertEquals(1, ids.size(), "Коммит должен вернуть id нового Таска");
+        assertEquals(List.of(secondId, firstId, ids.getFirst()), prioritized.stream().map(Task::getId).toList(),
+                "Сабтаски должны поменяться местами в расписании");
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpicById(epicId).getStatus(),
+                "Статус Эпика должен пересчитаться");
+        assertThrows(IllegalStateException.class, transaction::commit,
+                "Повторный коммит транзакции должен приводить к исключению");
+    }
+
+    @Test
+    @DisplayName("Транзакция с пересечением в итоговом состоянии не применяется")
+    void shouldNotApplyTransactionWithInteraction() {
+        // Добавляем два Таска с временем начала
+        final int firstId = taskManager.addNewTask(new Task("Таск 1", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 9, 1, 10, 0), Duration.ofMinutes(60)));
+        taskManager.addNewTask(new Task("Таск 2", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 9, 1, 11, 0), Duration.ofMinutes(60)));
+
+        // Готовим транзакцию, после которой Таски пересекаются, и коммитим её
+        var transaction = taskManager.beginTransaction();
+        transaction.addNewTask(new Task("Таск 3", "Описание", 0, TaskStatus.NEW));
+        transaction.updateTask(new Task("Таск 1", "Описание", firstId, TaskStatus.DONE,
+                LocalDateTime.of(2025, 9, 1, 10, 30), Duration.ofMinutes(60)));
+        assertThrows(TaskInteractionException.class, transaction::commit,
+                "Пересечение в итоговом состоянии должно приводить к исключению");
+
+        // Проверяем, что ни одна операция не применилась
+        assertEquals(2, taskManager.getAllTasks().size(), "Новый Таск не должен добавиться");
+        assertEquals(TaskStatus.NEW, taskManager.getTaskById(firstId).getStatus(), "Таск 1 не должен измениться");
+        assertEquals(2, taskManager.getPrioritizedTasks().size(), "Расписание не должно измениться");
+
+        // Откатываем другую транзакцию и проверяем, что её операции не применились
+        var rolledBack = taskManager.beginTransaction();
+        rolledBack.deleteTaskById(firstId);
+        rolledBack.rollback();
+        assertEquals(2, taskManager.getAllTasks().size(), "Откат не должен удалять Таск");
+    }
+
+    @Test
+    @DisplayName("Подписчик получает события об изменениях в трекере")
+    void shouldPublishChangeEvents() throws InterruptedException {
+        // Подписываемся на события трекера
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        var subscription = taskManager.subscribe(received::add);
+        var failing = taskManager.subscribe(event -> {
+            throw new IllegalStateException("Ошибка подписчика");
+        });
+
+        // Добавляем Эпик с Сабтаском, обновляем Сабтаск и удаляем Эпик
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int subId = taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW),
+                epicId);
+        taskManager.updateSubtask(new Subtask("Сабтаск", "Описание", subId, TaskStatus.DONE));
+        taskManager.deleteEpicById(epicId);
+
+        // Ждём все события и проверяем их порядок и содержимое
+        List<TaskEvent> events = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            var event = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "Событие не было доставлено");
+            events.add(event);
+        }
+        assertEquals(List.of(
+                new TaskEvent(events.getFirst().version(), ChangeType.CREATED, TaskType.EPIC, epicId),
+                new TaskEvent(events.getFirst().version() + 1, ChangeType.CREATED, TaskType.SUBTASK, subId),
+                new TaskEvent(events.getFirst().version() + 2, ChangeType.UPDATED, TaskType.EPIC, epicId),
+                new TaskEvent(events.getFirst().version() + 3, ChangeType.UPDATED, TaskType.SUBTASK, subId),
+                new TaskEvent(events.getFirst().version() + 4, ChangeType.UPDATED, TaskType.EPIC, epicId),
+                new TaskEvent(events.getFirst().version() + 5, ChangeType.DELETED, TaskType.SUBTASK, subId),
+                new TaskEvent(events.getFirst().version() + 6, ChangeType.DELETED, TaskType.EPIC, epicId)),
+                events, "Последовательность событий отличается");
+        assertEquals(0, subscription.getDroppedEvents(), "События не должны теряться");
+
+        // Закрываем подписку с ошибками и проверяем, что оставшиеся в очереди события обработаны и учтены
+        failing.close();
+        for (int i = 0; i < 50 && failing.getFailedEvents() < 7; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(7, failing.getFailedEvents(), "Ошибки подписчика должны учитываться");
+
+        // Отписываемся и проверяем, что новые события больше не приходят
+        subscription.close();
+        taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW));
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS), "После отписки события не должны приходить");
+    }
+
+    @Test
+    @DisplayName("Статистика доски пересчитывается при изменении задач")
+    void shouldMaintainBoardStats() {
+        // Добавляем просроченный Таск, Таск в будущем и Эпик с двумя Сабтасками
+        final int overdueId = taskManager.addNewTask(new Task("Просроченный", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2020, 1, 1, 10, 0), Duration.ofMinutes(30)));
+        taskManager.addNewTask(new Task("Будущий", "Описание", 0, TaskStatus.IN_PROGRESS,
+                LocalDateTime.of(2099, 1, 1, 10, 0), Duration.ofMinutes(45)));
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int doneId = taskManager.addNewSubtask(new Subtask("Сабтаск 1", "Описание", 0, TaskStatus.DONE,
+                LocalDateTime.of(2020, 2, 1, 10, 0), Duration.ofMinutes(60)), epicId);
+        taskManager.addNewSubtask(new Subtask("Сабтаск 2", "Описание", 0, TaskStatus.NEW), epicId);
+
+        // Проверяем счётчики, запланированное время и просрочку
+        var stats = taskManager.getStats();
+        assertEquals(2, stats.tasks(), "Некорректное количество Тасков");
+        assertEquals(1, stats.epics(), "Некорректное количество Эпиков");
+        assertEquals(2, stats.subtasks(), "Некорректное количество Сабтасков");
+        assertEquals(2, stats.taskStatuses().get(TaskStatus.NEW), "Некорректное количество новых задач");
+        assertEquals(1, stats.epicStatuses().get(TaskStatus.IN_PROGRESS), "Эпик должен быть в работе");
+        assertEquals(3, stats.scheduled(), "Некорректное количество задач в расписании");
+        assertEquals(135, stats.plannedMinutes(), "Некорректное запланированное время");
+        assertEquals(1, stats.overdue(), "Просроченной должна быть только незавершённая задача в прошлом");
+
+        // Проверяем прогресс Эпика
+        assertEquals(new EpicProgress(epicId, TaskStatus.IN_PROGRESS, 2, 1, 60),
+                taskManager.getEpicProgress(epicId), "Некорректный прогресс Эпика");
+
+        // Завершаем просроченный Таск, удаляем выполненный Сабтаск и проверяем пересчёт
+        taskManager.updateTask(new Task("Просроченный", "Описание", overdueId, TaskStatus.DONE,
+                LocalDateTime.of(2020, 1, 1, 10, 0), Duration.ofMinutes(30)));
+        taskManager.deleteSubtaskById(doneId);
+        stats = taskManager.getStats();
+        assertEquals(0, stats.overdue(), "Завершённая задача не должна считаться просроченной");
+        assertEquals(75, stats.plannedMinutes(), "Время удалённого Сабтаска не должно учитываться");
+        assertEquals(1, stats.epicStatuses().get(TaskStatus.NEW), "Эпик должен вернуться в статус NEW");
+        assertEquals(new EpicProgress(epicId, TaskStatus.NEW, 1, 0, 0), taskManager.getEpicProgress(epicId),
+                "Прогресс Эпика должен пересчитаться");
+
+        // Удаляем все Эпики и проверяем, что их задачи ушли из статистики
+        taskManager.deleteAllEpics();
+        stats = taskManager.getStats();
+        assertEquals(0, stats.epics(), "Эпики должны уйти из статистики");
+        assertEquals(0, stats.subtasks(), "Сабтаски должны уйти из статистики");
+        assertThrows(NoSuchElementException.class, () -> taskManager.getEpicProgress(epicId),
+                "Прогресс удалённого Эпика должен приводить к исключению");
+    }
+
+    @Test
+    @DisplayName("Зависимости между задачами и критический путь Эпика")
+    void shouldTrackDependenciesAndCriticalPath() {
+        // Добавляем Эпик с тремя Сабтасками и отдельный Таск
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int firstId = taskManager.addNewSubtask(new Subtask("Сабтаск 1", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 10, 1, 10, 0), Duration.ofMinutes(60)), epicId);
+        final int secondId = taskManager.addNewSubtask(new Subtask("Сабтаск 2", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 10, 2, 10, 0), Duration.ofMinutes(30)), epicId);
+        final int thirdId = taskManager.addNewSubtask(new Subtask("Сабтаск 3", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 10, 3, 10, 0), Duration.ofMinutes(45)), epicId);
+        final int taskId = taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 10, 4, 10, 0), Duration.ofMinutes(120)));
+
+        // Задаём зависимости, последняя из них меняет топологический порядок
+        taskManager.addDependency(secondId, firstId);
+        taskManager.addDependency(thirdId, taskId);
+        taskManager.addDependency(firstId, taskId);
+
+        // Проверяем критический путь и самые ранние старты
+        var path = taskManager.getCriticalPath(epicId);
+        assertEquals(List.of(taskId, firstId, secondId), path.taskIds(), "Некорректный критический путь");
+        assertEquals(210, path.durationMinutes(), "Некорректная длительность критического пути");
+        assertEquals(120L, path.earliestStarts().get(thirdId), "Некорректный ранний старт Сабтаска");
+        assertEquals(List.of(taskId), taskManager.getDependencies(thirdId), "Некорректные зависимости Сабтаска");
+
+        // Проверяем, что цикл, зависимость от себя и от Эпика не добавляются
+        assertThrows(DependencyCycleException.class, () -> taskManager.addDependency(taskId, secondId),
+                "Цикл в зависимостях должен приводить к исключению");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.addDependency(firstId, firstId),
+                "Зависимость от самой себя должна приводить к исключению");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.addDependency(firstId, epicId),
+                "Зависимость от Эпика должна приводить к исключению");
+        assertThrows(NoSuchElementException.class, () -> taskManager.addDependency(firstId, 100),
+                "Зависимость от несуществующей задачи должна приводить к исключению");
+
+        // Удаляем Таск и проверяем, что его связи ушли из графа
+        taskManager.deleteTaskById(taskId);
+        path = taskManager.getCriticalPath(epicId);
+        assertEquals(List.of(firstId, secondId), path.taskIds(), "Критический путь должен пересчитаться");
+        assertEquals(90, path.durationMinutes(), "Длительность должна пересчитаться");
+        assertEquals(List.of(), taskManager.getDependencies(thirdId), "Зависимости удалённого Таска должны уйти");
+
+        // Удаляем последнюю зависимость и проверяем повторное удаление
+        taskManager.removeDependency(secondId, firstId);
+        assertEquals(List.of(firstId), taskManager.getCriticalPath(epicId).taskIds(),
+                "Без зависимостей критическим становится самый длинный Сабтаск");
+        assertThrows(NoSuchElementException.class, () -> taskManager.removeDependency(secondId, firstId),
+                "Удаление несуществующей зависимости должно приводить к исключению");
+    }
+
+    @Test
+    @DisplayName("Повторения Таска разворачиваются в расписании без хранения")
+    void shouldExpandRecurringTasksLazily() {
+        // Добавляем ежедневный стендап на неделю одной записью
+        var standup = new Task("Стендап", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 11, 3, 9, 0), Duration.ofMinutes(15));
+        standup.setRecurrence(new Recurrence(Duration.ofDays(1), LocalDateTime.of(2025, 11, 9, 9, 0)));
+        final int standupId = taskManager.addNewTask(standup);
+        final int taskId = taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 11, 5, 10, 0), Duration.ofMinutes(60)));
+
+        // Проверяем, что в трекере одна запись, а в расписании все повторения
+        assertEquals(2, taskManager.getAllTasks().size(), "Серия должна храниться одной записью");
+        assertEquals(8, taskManager.getPrioritizedTasks().size(), "В расписании должны быть все повторения");
+        var range = taskManager.getPrioritizedTasks(LocalDateTime.of(2025, 11, 4, 0, 0),
+                LocalDateTime.of(2025, 11, 6, 0, 0));
+        assertEquals(List.of(standupId, standupId, taskId), range.stream().map(Task::getId).toList(),
+                "Некорректные задачи в интервале расписания");
+        assertEquals(LocalDateTime.of(2025, 11, 5, 9, 0), range.get(1).getStartTime(),
+                "Некорректное время повторения");
+
+        // Проверяем пересечения с повторениями и некорректные правила
+        assertThrows(TaskInteractionException.class, () -> taskManager.addNewTask(new Task("Созвон", "Описание",
+                0, TaskStatus.NEW, LocalDateTime.of(2025, 11, 7, 9, 10), Duration.ofMinutes(30))),
+                "Задача не должна пересекаться с повторением");
+        var review = new Task("Ревью", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 11, 1, 9, 0), Duration.ofMinutes(60));
+        review.setRecurrence(new Recurrence(Duration.ofDays(7), LocalDateTime.of(2025, 12, 1, 0, 0)));
+        assertThrows(TaskInteractionException.class, () -> taskManager.addNewTask(review),
+                "Серии не должны пересекаться между собой");
+        var longStandup = new Task("Стендап", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 12, 1, 9, 0), Duration.ofDays(2));
+        longStandup.setRecurrence(new Recurrence(Duration.ofDays(1), LocalDateTime.of(2025, 12, 9, 9, 0)));
+        assertThrows(IllegalArgumentException.class, () -> taskManager.addNewTask(longStandup),
+                "Повторение не может быть длиннее интервала");
+        var endlessStandup = new Task("Стендап", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 12, 1, 9, 0), Duration.ofMinutes(1));
+        endlessStandup.setRecurrence(new Recurrence(Duration.ofMinutes(1), LocalDateTime.of(2055, 12, 1, 9, 0)));
+        assertThrows(IllegalArgumentException.class, () -> taskManager.addNewTask(endlessStandup),
+                "Серия не может содержать неограниченное количество повторений");
+
+        // Выносим одно повторение в отдельную задачу и переносим его
+        final int detachedId = taskManager.detachOccurrence(standupId, LocalDateTime.of(2025, 11, 6, 9, 0));
+        taskManager.updateTask(new Task("Стендап", "Описание", detachedId, TaskStatus.NEW,
+                LocalDateTime.of(2025, 11, 6, 11, 0), Duration.ofMinutes(15)));
+        range = taskManager.getPrioritizedTasks(LocalDateTime.of(2025, 11, 6, 0, 0),
+                LocalDateTime.of(2025, 11, 7, 0, 0));
+        assertEquals(List.of(detachedId), range.stream().map(Task::getId).toList(),
+                "Вынесенное повторение должно заменить повторение серии");
+        assertThrows(NoSuchElementException.class,
+                () -> taskManager.detachOccurrence(standupId, LocalDateTime.of(2025, 11, 6, 9, 0)),
+                "Повторение нельзя вынести дважды");
+
+        // Удаляем серию и проверяем, что её повторения ушли из расписания
+        taskManager.deleteTaskById(standupId);
+        assertEquals(List.of(taskId, detachedId), taskManager.getPrioritizedTasks().stream()
+                .map(Task::getId).sorted().toList(), "В расписании должны остаться только обычные задачи");
+    }
+
+    @Test
+    @DisplayName("Массовое удаление не оставляет следов в истории, расписании и поиске")
+    void shouldIgnoreEntriesClearedInBulk() {
+        // Добавляем Таск и Сабтаск со временем, Таск без времени и просматриваем их
+        final LocalDateTime start = LocalDateTime.of(2025, 6, 2, 10, 0);
+        final int taskId = taskManager.addNewTask(new Task("Отчёт", "Описание", 0, TaskStatus.NEW, start,
+                Duration.ofMinutes(30)));
+        final int plainId = taskManager.addNewTask(new Task("Отчёт без времени", "Описание", 0, TaskStatus.NEW));
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int subId = taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW,
+                start.plusHours(1), Duration.ofMinutes(30)), epicId);
+        taskManager.getTaskById(taskId);
+        taskManager.getTaskById(plainId);
+        taskManager.getEpicById(epicId);
+        taskManager.getSubtaskById(subId);
+
+        // Удаляем все Таски и проверяем, что они пропали из истории, расписания, поиска и статистики
+        taskManager.deleteAllTasks();
+        assertEquals(List.of(subId, epicId), taskManager.getHistory().stream().map(Task::getId).toList(),
+                "В истории остались удалённые Таски");
+        assertEquals(List.of(subId), taskManager.getPrioritizedTasks().stream().map(Task::getId).toList(),
+                "В расписании остались удалённые Таски");
+        assertTrue(taskManager.searchTasks("отчёт", 10).isEmpty(), "Поиск нашёл удалённые Таски");
+        assertEquals(0, taskManager.getStats().tasks(), "Статистика учитывает удалённые Таски");
+
+        // Занимаем время удалённого Таска новым Таском
+        final int newTaskId = taskManager.addNewTask(new Task("Новый отчёт", "Описание", 0, TaskStatus.NEW, start,
+                Duration.ofMinutes(30)));
+        assertEquals(List.of(newTaskId, subId), taskManager.getPrioritizedTasks().stream().map(Task::getId)
+                .toList(), "Новый Таск не занял время удалённого");
+        assertEquals(List.of(newTaskId), taskManager.searchTasks("отчёт", 10).stream().map(Task::getId).toList(),
+                "Поиск должен находить только новый Таск");
+
+        // Удаляем все Эпики и проверяем, что вместе с ними пропали Сабтаски
+        taskManager.deleteAllEpics();
+        assertTrue(taskManager.getHistory().isEmpty(), "В истории остались удалённые Эпики и Сабтаски");
+        assertEquals(List.of(newTaskId), taskManager.getPrioritizedTasks().stream().map(Task::getId).toList(),
+                "В расписании остались удалённые Сабтаски");
+        var stats = taskManager.getStats();
+        assertEquals(1, stats.tasks(), "Статистика потеряла новый Таск");
+        assertEquals(0, stats.epics(), "Статистика учитывает удалённые Эпики");
+        assertEquals(0, stats.subtasks(), "Статистика учитывает удалённые Сабтаски");
+        assertEquals(1, stats.scheduled(), "Статистика учитывает удалённые запланированные задачи");
+
+        // Добавляем Сабтаск на время удалённого и проверяем, что пересечения нет
+        final int newEpicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int newSubId = taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW,
+                start.plusHours(1), Duration.ofMinutes(30)), newEpicId);
+        assertEquals(List.of(newTaskId, newSubId), taskManager.getPrioritizedTasks().stream().map(Task::getId)
+                .toList(), "Новый Сабтаск не занял время удалённого");
+    }
+
+    @Test
+    @DisplayName("Выборка задач по условиям с сортировкой и ограничением")
+    void shouldQueryTasks() {
+        // Добавляем Таски со временем и без, а также Эпик с двумя Сабтасками
+        final LocalDateTime start = LocalDateTime.of(2025, 7, 1, 9, 0);
+        final int lateId = taskManager.addNewTask(new Task("Поздний релиз", "Описание", 0, TaskStatus.NEW,
+                start.plusHours(3), Duration.ofMinutes(30)));
+        final int earlyId = taskManager.addNewTask(new Task("Ранний релиз", "Описание", 0, TaskStatus.DONE,
+                start, Duration.ofMinutes(60)));
+        final int plainId = taskManager.addNewTask(new Task("Созвон", "Описание", 0, TaskStatus.NEW));
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int firstSubId = taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW,
+                start.plusHours(1), Duration.ofMinutes(60)), epicId);
+        final int secondSubId = taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.DONE),
+                epicId);
+
+        // Выбираем Таски по статусу в порядке id
+        assertEquals(List.of(lateId, plainId), ids(taskManager.query(new TaskQuery(TaskType.TASK, TaskStatus.NEW,
+                null, null, null, null, null, 0, 10))), "Некорректная выборка по типу и статусу");
+
+        // Выбираем запланированные задачи интервала по времени окончания со смещением и ограничением
+        assertEquals(List.of(earlyId, epicId), ids(taskManager.query(new TaskQuery(null, null, null, start,
+                start.plusHours(4), null, TaskQuery.Sort.END, 0, 2))), "Некорректная выборка по интервалу");
+        assertEquals(List.of(epicId, firstSubId, lateId), ids(taskManager.query(new TaskQuery(null, null, null,
+                start, null, null, TaskQuery.Sort.START, 1, 5))), "Некорректное смещение выборки");
+
+        // Выбираем Эпики интервала: время Эпика берётся из его Сабтасков
+        assertEquals(List.of(epicId), ids(taskManager.query(new TaskQuery(TaskType.EPIC, null, null,
+                start.plusHours(1), start.plusHours(2), null, null, 0, 10))), "Эпик интервала не найден");
+        assertEquals(List.of(epicId, firstSubId), ids(taskManager.query(new TaskQuery(null, null, null,
+                start.plusHours(1), start.plusHours(2), null, null, 0, 10))), "Эпик должен попадать в интервал");
+
+        // Выбираем Сабтаски эпика и задачи по тексту
+        assertEquals(List.of(secondSubId), ids(taskManager.query(new TaskQuery(null, TaskStatus.DONE, epicId,
+                null, null, null, null, 0, 10))), "Некорректная выборка по эпику");
+        assertEquals(List.of(earlyId, lateId), ids(taskManager.query(new TaskQuery(null, null, null, null, null,
+                "релиз", TaskQuery.Sort.START, 0, 10))), "Некорректная выборка по тексту");
+        assertTrue(taskManager.query(new TaskQuery(null, null, null, null, null, null, null, 10, 10)).isEmpty(),
+                "Смещение за пределы выборки должно возвращать пустой список");
+
+        // Проверяем ошибки в условиях выборки
+        assertThrows(NoSuchElementException.class, () -> taskManager.query(new TaskQuery(null, null, epicId + 100,
+                null, null, null, null, 0, 10)), "Выборка по несуществующему эпику должна приводить к исключению");
+        assertThrows(IllegalArgumentException.class, () -> new TaskQuery(TaskType.TASK, null, epicId, null, null,
+                null, null, 0, 10), "Фильтр по эпику для Тасков должен приводить к исключению");
+        assertThrows(IllegalArgumentException.class, () -> new TaskQuery(null, null, null, null, null, null, null,
+                0, 0), "Пустой размер выборки должен приводить к исключению");
+    }
+
+    @Test
+    @DisplayName("Выборка по интервалу учитывает повторения серии")
+    void shouldQueryRecurringOccurrencesInRange() {
+        // Добавляем ежедневную серию на весь год
+        var standup = new Task("Стендап", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 1, 1, 9, 0), Duration.ofMinutes(15));
+        standup.setRecurrence(new Recurrence(Duration.ofDays(1), LocalDateTime.of(2025, 12, 31, 9, 0)));
+        final int standupId = taskManager.addNewTask(standup);
+
+        // Выбираем задачи за одни сутки в марте
+        final LocalDateTime from = LocalDateTime.of(2025, 3, 1, 0, 0);
+        final LocalDateTime to = LocalDateTime.of(2025, 3, 2, 0, 0);
+        var found = taskManager.query(new TaskQuery(null, null, null, from, to, null, TaskQuery.Sort.START, 0, 10));
+
+        // Проверяем, что выборка совпадает с расписанием интервала
+        assertEquals(List.of(standupId), ids(found), "В интервал должно попасть одно повторение серии");
+        assertEquals(LocalDateTime.of(2025, 3, 1, 9, 0), found.getFirst().getStartTime(),
+                "Некорректное время повторения в выборке");
+        assertEquals(taskManager.getPrioritizedTasks(from, to), found,
+                "Выборка по интервалу должна совпадать с расписанием интервала");
+    }
+
+    @Test
+    @DisplayName("Кэширование списка приоритетов и получение ближайших задач")
+    void shouldCachePrioritizedTasksAndGetNextTasks() {
+        // Добавляем три Таска со временем и один без времени
+        final LocalDateTime start = LocalDateTime.of(2025, 9, 1, 9, 0);
+        final int thirdId = taskManager.addNewTask(new Task("Таск 3", "Описание", 0, TaskStatus.NEW,
+                start.plusHours(2), Duration.ofMinutes(30)));
+        final int firstId = taskManager.addNewTask(new Task("Таск 1", "Описание", 0, TaskStatus.NEW, start,
+                Duration.ofMinutes(30)));
+        final int secondId = taskManager.addNewTask(new Task("Таск 2", "Описание", 0, TaskStatus.NEW,
+                start.plusHours(1), Duration.ofMinutes(30)));
+        final int plainId = taskManager.addNewTask(new Task("Таск без времени", "Описание", 0, TaskStatus.NEW));
+
+        // Проверяем, что повторный запрос возвращает тот же неизменяемый список
+        var prioritized = taskManager.getPrioritizedTasks();
+        assertSame(prioritized, taskManager.getPrioritizedTasks(), "Список приоритетов должен кэшироваться");
+        assertThrows(UnsupportedOperationException.class, () -> prioritized.add(new Task("Таск", "Описание", 0,
+                TaskStatus.NEW)), "Список приоритетов должен быть неизменяемым");
+
+        // Обновляем Таск без времени и проверяем, что кэш не сбросился
+        taskManager.updateTask(new Task("Таск без времени", "Описание", plainId, TaskStatus.DONE));
+        assertSame(prioritized, taskManager.getPrioritizedTasks(), "Изменение Таска без времени сбросило кэш");
+
+        // Получаем ближайшие задачи
+        assertEquals(List.of(firstId, secondId), ids(taskManager.getNextTasks(2)), "Некорректные ближайшие задачи");
+        assertEquals(List.of(firstId, secondId, thirdId), ids(taskManager.getNextTasks(10)),
+                "Ближайших задач не может быть больше, чем задач в расписании");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getNextTasks(0),
+                "Нулевое количество ближайших задач должно приводить к исключению");
+
+        // Переносим последний Таск в начало и проверяем, что список приоритетов обновился
+        taskManager.updateTask(new Task("Таск 3", "Описание", thirdId, TaskStatus.NEW, start.minusHours(1),
+                Duration.ofMinutes(30)));
+        assertEquals(List.of(thirdId, firstId, secondId), ids(taskManager.getPrioritizedTasks()),
+                "Список приоритетов не обновился после переноса Таска");
+        assertEquals(List.of(thirdId), ids(taskManager.getNextTasks(1)), "Ближайшая задача не обновилась");
+    }
+
+    @Test
+    @DisplayName("Проверяем очередь срочных задач с учётом дедлайна, статуса и веса эпика")
+    void shouldRankUrgentTasks() {
+        // Добавляем Таски с разными дедлайнами и статусами
+        final LocalDateTime start = LocalDateTime.of(2025, 9, 1, 9, 0);
+        final int lateId = taskManager.addNewTask(new Task("Поздний", "Описание", 0, TaskStatus.NEW,
+                start.plusDays(3), Duration.ofMinutes(60)));
+        final int earlyId = taskManager.addNewTask(new Task("Ранний", "Описание", 0, TaskStatus.NEW, start,
+                Duration.ofMinutes(60)));
+        final int workingId = taskManager.addNewTask(new Task("В работе", "Описание", 0, TaskStatus.IN_PROGRESS,
+                start.plusHours(20), Duration.ofMinutes(60)));
+        final int plainId = taskManager.addNewTask(new Task("Без времени", "Описание", 0, TaskStatus.NEW));
+        taskManager.addNewTask(new Task("Готовый", "Описание", 0, TaskStatus.DONE, start.plusDays(5),
+                Duration.ofMinutes(60)));
+
+        // Добавляем Эпик с тремя открытыми Сабтасками
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int scheduledSubId = taskManager.addNewSubtask(new Subtask("Сабтаск 1", "Описание", 0,
+                TaskStatus.NEW, start.plusDays(3).plusHours(2), Duration.ofMinutes(60)), epicId);
+        final int firstPlainSubId = taskManager.addNewSubtask(new Subtask("Сабтаск 2", "Описание", 0,
+                TaskStatus.NEW), epicId);
+        final int secondPlainSubId = taskManager.addNewSubtask(new Subtask("Сабтаск 3", "Описание", 0,
+                TaskStatus.NEW), epicId);
+
+        // Проверяем, что задача в работе и Сабтаски загруженного Эпика поднимаются выше, а готовые не попадают
+        assertEquals(List.of(workingId, earlyId, scheduledSubId, lateId, firstPlainSubId, secondPlainSubId,
+                plainId), ids(taskManager.getUrgentTasks(10)), "Некорректный порядок срочных задач");
+        assertEquals(List.of(workingId, earlyId), ids(taskManager.getUrgentTasks(2)),
+                "Некорректное количество срочных задач");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getUrgentTasks(0),
+                "Нулевое количество срочных задач должно приводить к исключению");
+
+        // Закрываем два Сабтаска и проверяем, что вес Эпика уменьшился
+        taskManager.updateSubtask(new Subtask("Сабтаск 2", "Описание", firstPlainSubId, TaskStatus.DONE));
+        taskManager.updateSubtask(new Subtask("Сабтаск 3", "Описание", secondPlainSubId, TaskStatus.DONE));
+        assertEquals(List.of(workingId, earlyId, lateId, scheduledSubId, plainId),
+                ids(taskManager.getUrgentTasks(10)), "Очередь не учла изменение веса Эпика");
+
+        // Удаляем все Таски и проверяем, что в очереди остался только Сабтаск
+        taskManager.deleteAllTasks();
+        assertEquals(List.of(scheduledSubId), ids(taskManager.getUrgentTasks(10)),
+                "В очереди остались удалённые Таски");
+    }
+
+    @Test
+    @DisplayName("Частичное обновление полей задач")
+    void shouldPatchTasks() {
+        // Добавляем два Таска со временем и Эпик с Сабтаском
+        final LocalDateTime start = LocalDateTime.of(2025, 9, 1, 9, 0);
+        final int taskId = taskManager.addNewTask(new Task("Сборка", "Описание", 0, TaskStatus.NEW, start,
+                Duration.ofMinutes(60)));
+        final int otherId = taskManager.addNewTask(new Task("Релиз", "Описание", 0, TaskStatus.NEW,
+                start.plusHours(2), Duration.ofMinutes(60)));
+        final int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        final int subId = taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW),
+                epicId);
+
+        // Меняем только статус Таска и проверяем, что остальные поля и расписание сохранились
+        var patched = taskManager.patchTask(taskId, new TaskPatch(null, null, TaskStatus.IN_PROGRESS, null, null));
+        assertEquals(TaskStatus.IN_PROGRESS, patched.getStatus(), "Статус Таска не обновился");
+        assertEquals("Сборка", patched.getTitle(), "Название Таска не должно меняться");
+        assertEquals(start, patched.getStartTime(), "Время Таска не должно меняться");
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getPrioritizedTasks().getFirst().getStatus(),
+                "Список приоритетов не увидел новый статус");
+
+        // Меняем название и проверяем поиск
+        taskManager.patchTask(taskId, new TaskPatch("Деплой", null, null, null, null));
+        assertTrue(taskManager.searchTasks("сборка", 10).isEmpty(), "Старое название не должно находиться");
+        assertEquals(taskId, taskManager.searchTasks("деплой", 10).getFirst().getId(), "Новое название не найдено");
+
+        // Пробуем перенести Таск на время другого Таска
+        assertThrows(TaskInteractionException.class, () -> taskManager.patchTask(taskId,
+                new TaskPatch(null, null, null, start.plusHours(2).plusMinutes(30), null)),
+                "Перенос на занятое время должен приводить к исключению");
+        assertEquals(List.of(taskId, otherId), ids(taskManager.getPrioritizedTasks()),
+                "Неудачный перенос не должен менять расписание");
+
+        // Переносим Таск на свободное время
+        taskManager.patchTask(taskId, new TaskPatch(null, null, null, start.plusHours(4), null));
+        assertEquals(List.of(otherId, taskId), ids(taskManager.getPrioritizedTasks()),
+                "Расписание не обновилось после переноса");
+
+        // Закрываем Сабтаск и проверяем статус Эпика
+        taskManager.patchSubtask(subId, new TaskPatch(null, null, TaskStatus.DONE, null, null));
+        assertEquals(TaskStatus.DONE, taskManager.getEpicById(epicId).getStatus(), "Статус Эпика не обновился");
+
+        // Меняем название Эпика и проверяем, что Сабтаски остались на месте
+        var epic = taskManager.patchEpic(epicId, new TaskPatch("Новый эпик", null, null, null, null));
+        assertEquals("Новый эпик", epic.getTitle(), "Название Эпика не обновилось");
+        assertEquals(List.of(subId), ids(taskManager.getAllEpicSubtasks(epicId)), "Сабтаски Эпика потерялись");
+
+        // Проверяем некорректные патчи
+        assertThrows(IllegalArgumentException.class, () -> taskManager.patchEpic(epicId,
+                new TaskPatch(null, null, TaskStatus.NEW, null, null)), "Статус Эпика нельзя менять напрямую");
+        assertThrows(IllegalArgumentException.class, () -> new TaskPatch(null, null, null, null, null),
+                "Пустой патч должен приводить к исключению");
+        assertThrows(NoSuchElementException.class, () -> taskManager.patchTask(999,
+                new TaskPatch(null, null, TaskStatus.DONE, null, null)), "Патч несуществующего Таска");
+    }
+
+    private static List<Integer> ids(List<? extends Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,96 @@
+package tracker.httptaskserver;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tracker.controllers.BoardRegistry;
+import tracker.controllers.TaskManager;
+import tracker.model.Task;
+import tracker.util.Managers;
+import tracker.util.TaskStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpTaskManagerBoardsTest {
+    // создаём экземпляр трекера InMemoryTaskManager и реестр досок во временном каталоге
+    TaskManager taskManager = Managers.getDefault();
+    BoardRegistry boards = Managers.getBoardRegistry(Files.createTempDirectory("boards").toFile(),
+            Duration.ofHours(1));
+    // передаём их в конструктор класса HttpTaskServer
+    HttpTaskServer server = new HttpTaskServer(taskManager, boards);
+    Gson gson = server.getGson();
+
+    static class TaskListTypeToken extends TypeToken<List<Task>> {
+    }
+
+    public HttpTaskManagerBoardsTest() throws IOException {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        server.start();
+    }
+
+    @AfterEach
+    public void shutDown() {
+        server.stop();
+        boards.close();
+    }
+
+    @Test
+    @DisplayName("Задачи разных досок не пересекаются")
+    public void shouldRouteRequestsToBoard() throws IOException, InterruptedException {
+        // добавляем задачу на доску alpha
+        HttpClient client = HttpClient.newHttpClient();
+        String taskJson = gson.toJson(new Task("Задача alpha", "Описание", 0, TaskStatus.NEW));
+        HttpRequest request = HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/boards/alpha/tasks"))
+                .POST(HttpRequest.BodyPublishers.ofString(taskJson)).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, response.statusCode());
+
+        // задача видна на доске alpha
+        request = HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/boards/alpha/tasks")).GET().build();
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        List<Task> tasks = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+        assertEquals(1, tasks.size(), "Некорректное количество задач на доске alpha");
+
+        // на доске beta и в основном трекере задач нет
+        request = HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/boards/beta/tasks")).GET().build();
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        tasks = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+        assertTrue(tasks.isEmpty(), "Задачи доски alpha не должны попадать на доску beta");
+        assertTrue(taskManager.getAllTasks().isEmpty(), "Задачи доски не должны попадать в основной трекер");
+    }
+
+    @Test
+    @DisplayName("Запрос к доске с некорректным именем или ресурсом")
+    public void shouldReturnErrorForInvalidBoardRequest() throws IOException, InterruptedException {
+        // запрашиваем несуществующий ресурс доски
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/boards/alpha/unknown"))
+                .GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(404, response.statusCode());
+
+        // запрашиваем доску с недопустимым именем
+        request = HttpRequest.newBuilder().uri(URI.create("http://localhost:8080/boards/al.pha/tasks")).GET().build();
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode());
+    }
+}
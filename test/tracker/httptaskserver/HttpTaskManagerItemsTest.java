@@ -0,0 +1,80 @@
+package tracker.httptaskserver;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tracker.controllers.TaskManager;
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.util.Managers;
+import tracker.util.TaskStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpTaskManagerItemsTest {
+    // создаём экземпляр трекера InMemoryTaskManager
+    TaskManager taskManager = Managers.getDefault();
+    // экземпляр TaskManager передаём в конструктор класса HttpTaskServer
+    HttpTaskServer server = new HttpTaskServer(taskManager);
+    Gson gson = server.getGson();
+
+    public HttpTaskManagerItemsTest() throws IOException {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        server.start();
+    }
+
+    @AfterEach
+    public void shutDown() {
+        taskManager.deleteAllTasks();
+        taskManager.deleteAllEpics();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Получаем задачу по id без указания её типа")
+    public void shouldReturnItemById() throws IOException, InterruptedException {
+        // добавляем в трекер Эпик с Сабтаском
+        int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        int subId = taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW), epicId);
+
+        // запрашиваем Сабтаск через общий эндпоинт
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/items/" + subId);
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем код ответа, тип задачи и её поля
+        assertEquals(200, response.statusCode());
+        var body = JsonParser.parseString(response.body()).getAsJsonObject();
+        assertEquals("SUBTASK", body.get("type").getAsString(), "Некорректный тип задачи");
+        var sub = gson.fromJson(body.get("item"), Subtask.class);
+        assertEquals(subId, sub.getId(), "Некорректный id задачи");
+        assertEquals(epicId, sub.getEpicId(), "Некорректный id Эпика у Сабтаска");
+    }
+
+    @Test
+    @DisplayName("Запрос несуществующей задачи по id")
+    public void shouldReturn404StatusCode() throws IOException, InterruptedException {
+        // создаём HTTP-клиент и запрос к задаче, которой нет в трекере
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/items/42");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+
+        // отправляем запрос и проверяем код ответа
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(404, response.statusCode());
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import tracker.controllers.TaskManager;
+import tracker.model.Recurrence;
 import tracker.model.Task;
 import tracker.util.Managers;
 import tracker.util.TaskStatus;
@@ -115,4 +116,69 @@ public class HttpTaskManagerPrioritizedTest {
         // проверяем код ответа - должен вернуться код ошибки 400
         assertEquals(400, response.statusCode());
     }
+
+    @Test
+    @DisplayName("Запрашиваем расписание в интервале с повторяющимся таском")
+    public void shouldGetPrioritizedTasksInRange() throws IOException, InterruptedException {
+        // добавляем ежедневный таск на неделю
+        var standup = new Task("Standup", "description", 0, TaskStatus.NEW,
+                LocalDateTime.parse("2025-05-05T09:00:00"), Duration.ofMinutes(15));
+        standup.setRecurrence(new Recurrence(Duration.ofDays(1), LocalDateTime.parse("2025-05-11T09:00:00")));
+        taskManager.addNewTask(standup);
+
+        // запрашиваем расписание на три дня
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/prioritized?from=2025-05-06T00:00&to=2025-05-09T00:00");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем код ответа и количество повторений в интервале
+        assertEquals(200, response.statusCode());
+        List<Task> occurrences = gson.fromJson(response.body(),
+                new HttpTaskManagerTasksTest.TaskListTypeToken().getType());
+        assertEquals(3, occurrences.size(), "Некорректное количество повторений");
+    }
+
+    @Test
+    @DisplayName("Запрашиваем ближайшие задачи из расписания")
+    public void shouldGetNextTasks() throws IOException, InterruptedException {
+        // добавляем ежедневный таск на неделю
+        var standup = new Task("Standup", "description", 0, TaskStatus.NEW,
+                LocalDateTime.parse("2025-05-05T09:00:00"), Duration.ofMinutes(15));
+        standup.setRecurrence(new Recurrence(Duration.ofDays(1), LocalDateTime.parse("2025-05-11T09:00:00")));
+        taskManager.addNewTask(standup);
+
+        // запрашиваем две ближайшие задачи
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/prioritized?limit=2");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем код ответа и время начала ближайших повторений
+        assertEquals(200, response.statusCode());
+        List<Task> next = gson.fromJson(response.body(), new HttpTaskManagerTasksTest.TaskListTypeToken().getType());
+        assertEquals(List.of(LocalDateTime.parse("2025-05-05T09:00:00"), LocalDateTime.parse("2025-05-06T09:00:00")),
+                next.stream().map(Task::getStartTime).toList(), "Некорректные ближайшие задачи");
+    }
+
+    @Test
+    @DisplayName("Запрашиваем очередь срочных задач")
+    public void shouldGetUrgentTasks() throws IOException, InterruptedException {
+        // добавляем таск со временем и таск в работе без времени
+        int scheduledId = taskManager.addNewTask(new Task("Scheduled", "description", 0, TaskStatus.NEW,
+                LocalDateTime.parse("2025-05-05T09:00:00"), Duration.ofMinutes(15)));
+        int workingId = taskManager.addNewTask(new Task("Working", "description", 0, TaskStatus.IN_PROGRESS));
+
+        // запрашиваем очередь срочных задач
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/prioritized?by=urgency&limit=5");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем код ответа и порядок задач
+        assertEquals(200, response.statusCode());
+        List<Task> urgent = gson.fromJson(response.body(), new HttpTaskManagerTasksTest.TaskListTypeToken().getType());
+        assertEquals(List.of(scheduledId, workingId), urgent.stream().map(Task::getId).toList(),
+                "Некорректная очередь срочных задач");
+    }
 }
@@ -0,0 +1,106 @@
+package tracker.httptaskserver;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tracker.controllers.TaskManager;
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+import tracker.util.Managers;
+import tracker.util.TaskStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpTaskManagerQueryTest {
+    // создаём экземпляр трекера InMemoryTaskManager
+    TaskManager taskManager = Managers.getDefault();
+    // экземпляр TaskManager передаём в конструктор класса HttpTaskServer
+    HttpTaskServer server = new HttpTaskServer(taskManager);
+    Gson gson = server.getGson();
+
+    static class TaskListTypeToken extends TypeToken<List<Task>> {
+    }
+
+    public HttpTaskManagerQueryTest() throws IOException {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        server.start();
+    }
+
+    @AfterEach
+    public void shutDown() {
+        taskManager.deleteAllTasks();
+        taskManager.deleteAllEpics();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Выбираем задачи интервала с сортировкой по началу и ограничением")
+    public void shouldQueryTasksInRange() throws IOException, InterruptedException {
+        // добавляем в трекер задачи в разное время и Сабтаск без времени
+        var start = LocalDateTime.of(2025, 8, 4, 9, 0);
+        int firstId = taskManager.addNewTask(new Task("Планёрка", "Описание", 0, TaskStatus.NEW, start,
+                Duration.ofMinutes(30)));
+        int secondId = taskManager.addNewTask(new Task("Ревью", "Описание", 0, TaskStatus.NEW, start.plusHours(2),
+                Duration.ofMinutes(30)));
+        taskManager.addNewTask(new Task("Ретро", "Описание", 0, TaskStatus.NEW, start.plusDays(1),
+                Duration.ofMinutes(30)));
+        int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.NEW), epicId);
+
+        // запрашиваем задачи первого дня по времени начала
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/query?type=task&from=" + start + "&to=" + start.plusHours(12)
+                + "&sort=start&limit=5");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем код ответа и состав выборки
+        assertEquals(200, response.statusCode());
+        List<Task> found = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+        assertEquals(List.of(firstId, secondId), found.stream().map(Task::getId).toList(),
+                "Некорректный состав выборки");
+    }
+
+    @Test
+    @DisplayName("Запрос выборки с некорректными параметрами")
+    public void shouldReturn400StatusCode() throws IOException, InterruptedException {
+        // создаём HTTP-клиент и запрос с неизвестной сортировкой
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/query?sort=title");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+
+        // отправляем запрос и проверяем код ответа
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    @DisplayName("Запрос выборки по несуществующему эпику")
+    public void shouldReturn404StatusCode() throws IOException, InterruptedException {
+        // создаём HTTP-клиент и запрос Сабтасков отсутствующего эпика
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/query?epic=999");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+
+        // отправляем запрос и проверяем код ответа
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(404, response.statusCode());
+    }
+}
@@ -0,0 +1,84 @@
+package tracker.httptaskserver;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tracker.controllers.TaskManager;
+import tracker.model.Task;
+import tracker.util.Managers;
+import tracker.util.TaskStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpTaskManagerSearchTest {
+    // создаём экземпляр трекера InMemoryTaskManager
+    TaskManager taskManager = Managers.getDefault();
+    // экземпляр TaskManager передаём в конструктор класса HttpTaskServer
+    HttpTaskServer server = new HttpTaskServer(taskManager);
+    Gson gson = server.getGson();
+
+    static class TaskListTypeToken extends TypeToken<List<Task>> {
+    }
+
+    public HttpTaskManagerSearchTest() throws IOException {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        server.start();
+    }
+
+    @AfterEach
+    public void shutDown() {
+        taskManager.deleteAllTasks();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Ищем задачи по словам из названия и описания")
+    public void shouldSearchTasks() throws IOException, InterruptedException {
+        // добавляем в трекер задачи с разными названиями
+        int releaseId = taskManager.addNewTask(new Task("Подготовить релиз", "Собрать сборку", 0, TaskStatus.NEW));
+        taskManager.addNewTask(new Task("Созвон", "Обсудить релиз", 0, TaskStatus.NEW));
+        taskManager.addNewTask(new Task("Ревью", "Проверить код", 0, TaskStatus.NEW));
+
+        // ищем задачи по префиксу слова «релиз»
+        HttpClient client = HttpClient.newHttpClient();
+        String query = URLEncoder.encode("рел", StandardCharsets.UTF_8);
+        URI url = URI.create("http://localhost:8080/search?q=" + query);
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем код ответа и порядок результатов — совпадение в названии весит больше
+        assertEquals(200, response.statusCode());
+        List<Task> found = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+        assertEquals(2, found.size(), "Некорректное количество найденных задач");
+        assertEquals(releaseId, found.get(0).getId(), "Первой должна идти задача с совпадением в названии");
+    }
+
+    @Test
+    @DisplayName("Запрос поиска без параметра q")
+    public void shouldReturn400StatusCode() throws IOException, InterruptedException {
+        // создаём HTTP-клиент и запрос без поисковой строки
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/search");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+
+        // отправляем запрос и проверяем код ответа
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode());
+    }
+}
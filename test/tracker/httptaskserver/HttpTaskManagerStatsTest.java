@@ -0,0 +1,90 @@
+package tracker.httptaskserver;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tracker.controllers.BoardStats;
+import tracker.controllers.EpicProgress;
+import tracker.controllers.TaskManager;
+import tracker.model.Epic;
+import tracker.model.Subtask;
+import tracker.model.Task;
+import tracker.util.Managers;
+import tracker.util.TaskStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpTaskManagerStatsTest {
+    // создаём экземпляр трекера InMemoryTaskManager
+    TaskManager taskManager = Managers.getDefault();
+    // экземпляр TaskManager передаём в конструктор класса HttpTaskServer
+    HttpTaskServer server = new HttpTaskServer(taskManager);
+    Gson gson = server.getGson();
+
+    public HttpTaskManagerStatsTest() throws IOException {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        server.start();
+    }
+
+    @AfterEach
+    public void shutDown() {
+        taskManager.deleteAllTasks();
+        taskManager.deleteAllEpics();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Получаем статистику доски и прогресс эпика")
+    public void shouldReturnStats() throws IOException, InterruptedException {
+        // добавляем в трекер таск и эпик с выполненным сабтаском
+        taskManager.addNewTask(new Task("Таск", "Описание", 0, TaskStatus.NEW));
+        int epicId = taskManager.addNewEpic(new Epic("Эпик", "Описание", 0));
+        taskManager.addNewSubtask(new Subtask("Сабтаск", "Описание", 0, TaskStatus.DONE), epicId);
+
+        // запрашиваем статистику доски
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/stats");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем код ответа и счётчики
+        assertEquals(200, response.statusCode());
+        BoardStats stats = gson.fromJson(response.body(), BoardStats.class);
+        assertEquals(1, stats.tasks(), "Некорректное количество тасков");
+        assertEquals(1, stats.epics(), "Некорректное количество эпиков");
+        assertEquals(1, stats.subtasks(), "Некорректное количество сабтасков");
+
+        // запрашиваем прогресс эпика и проверяем его
+        url = URI.create("http://localhost:8080/stats/" + epicId);
+        request = HttpRequest.newBuilder().uri(url).GET().build();
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        EpicProgress progress = gson.fromJson(response.body(), EpicProgress.class);
+        assertEquals(new EpicProgress(epicId, TaskStatus.DONE, 1, 1, 0), progress, "Некорректный прогресс эпика");
+    }
+
+    @Test
+    @DisplayName("Запрашиваем прогресс несуществующего эпика")
+    public void shouldReturn404StatusCode() throws IOException, InterruptedException {
+        // создаём HTTP-клиент и запрос прогресса по неизвестному id
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/stats/100");
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+
+        // отправляем запрос и проверяем код ответа
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(404, response.statusCode());
+    }
+}
@@ -271,4 +271,34 @@ public class HttpTaskManagerSubtasksTest {
         // проверяем код ответа
         assertEquals(404, response.statusCode());
     }
+
+    @Test
+    @DisplayName("Получаем подзадачи по фильтру статуса и наличия времени начала")
+    public void shouldReturnFilteredSubtasks() throws IOException, InterruptedException {
+        // добавляем в эпик две подзадачи в работе — со временем начала и без него
+        int scheduledId = manager.addNewSubtask(new Subtask("Sub 1", "Testing sub 1", 0, TaskStatus.IN_PROGRESS,
+                LocalDateTime.now(), Duration.ofMinutes(5)), epicId);
+        manager.addNewSubtask(new Subtask("Sub 2", "Testing sub 2", 0, TaskStatus.IN_PROGRESS), epicId);
+
+        // запрашиваем подзадачи в работе, у которых есть время начала
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create(String.format("http://localhost:8080/subtasks?status=IN_PROGRESS&scheduled=true&epic=%d",
+                epicId));
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем код ответа и найденные подзадачи
+        assertEquals(200, response.statusCode());
+        List<Subtask> subs = gson.fromJson(response.body(), new SubtaskListTypeToken().getType());
+        assertEquals(1, subs.size(), "Некорректное количество подзадач");
+        assertEquals(scheduledId, subs.get(0).getId(), "Найдена не та подзадача");
+
+        // запрашиваем подзадачи с неизвестным статусом
+        URI badUrl = URI.create("http://localhost:8080/subtasks?status=UNKNOWN");
+        HttpRequest badRequest = HttpRequest.newBuilder().uri(badUrl).GET().build();
+        HttpResponse<String> badResponse = client.send(badRequest, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем, что сервер вернул ошибку запроса
+        assertEquals(400, badResponse.statusCode());
+    }
 }
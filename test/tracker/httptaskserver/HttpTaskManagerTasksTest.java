@@ -271,4 +271,65 @@ public class HttpTaskManagerTasksTest {
         assertNotNull(tasksFromManager1, "Список задач не возвращается");
         assertEquals(1, tasksFromManager1.size(), "Некорректное количество задач");
     }
+
+    @Test
+    @DisplayName("Получаем задачи постранично по курсору")
+    public void shouldReturnTasksPage() throws IOException, InterruptedException {
+        // добавляем в трекер три задачи без времени начала
+        int firstId = manager.addNewTask(new Task("Test 1", "Testing task 1", 0, TaskStatus.NEW));
+        int secondId = manager.addNewTask(new Task("Test 2", "Testing task 2", 0, TaskStatus.NEW));
+        int thirdId = manager.addNewTask(new Task("Test 3", "Testing task 3", 0, TaskStatus.NEW));
+
+        // запрашиваем страницу из двух задач, начиная после первой
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create(String.format("http://localhost:8080/tasks?after=%d&limit=2", firstId));
+        HttpRequest request = HttpRequest.newBuilder().uri(url).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем код ответа и содержимое страницы
+        assertEquals(200, response.statusCode());
+        List<Task> page = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+        assertEquals(2, page.size(), "Некорректное количество задач на странице");
+        assertEquals(secondId, page.get(0).getId(), "Страница должна начинаться со второй задачи");
+        assertEquals(thirdId, page.get(1).getId(), "Страница должна заканчиваться третьей задачей");
+
+        // запрашиваем страницу с некорректным размером
+        URI badUrl = URI.create("http://localhost:8080/tasks?limit=0");
+        HttpRequest badRequest = HttpRequest.newBuilder().uri(badUrl).GET().build();
+        HttpResponse<String> badResponse = client.send(badRequest, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем, что сервер вернул ошибку запроса
+        assertEquals(400, badResponse.statusCode());
+    }
+
+    @Test
+    @DisplayName("Частично обновляем задачу методом PATCH")
+    public void shouldPatchTask() throws IOException, InterruptedException {
+        // добавляем задачу со временем в трекер
+        int id = manager.addNewTask(new Task("Test 1", "Testing task 1", 0, TaskStatus.NEW,
+                LocalDateTime.parse("2025-05-05T09:00:00"), Duration.ofMinutes(15)));
+
+        // отправляем только новый статус задачи
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create(String.format("http://localhost:8080/tasks/%d", id));
+        HttpRequest request = HttpRequest.newBuilder().uri(url)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\": \"DONE\"}")).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем код ответа и что остальные поля не изменились
+        assertEquals(200, response.statusCode());
+        Task patched = manager.getTaskById(id);
+        assertEquals(TaskStatus.DONE, patched.getStatus(), "Некорректный статус задачи");
+        assertEquals("Test 1", patched.getTitle(), "Некорректное имя задачи");
+        assertEquals(LocalDateTime.parse("2025-05-05T09:00:00"), patched.getStartTime(),
+                "Некорректное время начала задачи");
+
+        // отправляем патч без полей
+        HttpRequest emptyRequest = HttpRequest.newBuilder().uri(url)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{}")).build();
+        HttpResponse<String> emptyResponse = client.send(emptyRequest, HttpResponse.BodyHandlers.ofString());
+
+        // проверяем, что сервер вернул ошибку запроса
+        assertEquals(400, emptyResponse.statusCode());
+    }
 }
@@ -3,6 +3,7 @@ package tracker.model;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -195,4 +196,60 @@ class TaskTest {
         // Если у Эпика все Сабтаски со статусом IN_PROGRESS, его статус также должен быть IN_PROGRESS
         assertEquals(TaskStatus.IN_PROGRESS, epic.getStatus(), "Статус Эпика должен быть IN_PROGRESS");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Время окончания кэшируется и пересчитывается при изменении полей времени")
+    void shouldCacheEndTimeUntilTimeFieldsChange() {
+        // Создаём Таск с временем начала и длительностью
+        var task = new Task("Таск", "Описание", 0, TaskStatus.NEW,
+                LocalDateTime.of(2025, 3, 16, 12, 15), Duration.ofMinutes(10));
+
+        // Проверяем, что повторные вызовы getEndTime возвращают один и тот же объект
+        assertSame(task.getEndTime(), task.getEndTime(), "Время окончания должно браться из кэша");
+        assertEquals(10, task.getEndMinute() - task.getStartMinute(), "Разница в минутах должна быть 10");
+
+        // Меняем длительность и время начала и проверяем, что время окончания пересчиталось
+        task.setDuration(Duration.ofMinutes(30));
+        assertEquals(LocalDateTime.of(2025, 3, 16, 12, 45), task.getEndTime(), "Время окончания не пересчиталось");
+        task.setStartTime(null);
+        assertNull(task.getEndTime(), "У Таска без времени начала не должно быть времени окончания");
+    }
+
+    @Test
+    @DisplayName("Поля Эпика пересчитываются при удалении и изменении крайних Сабтасков")
+    void shouldUpdateEpicRollupsOnSubtaskChanges() {
+        // Добавляем в Эпик три Сабтаска, два из которых начинаются в одно время
+        var epic = new Epic("Эпик", "Описание", 1);
+        epic.addSubtaskInEpic(new Subtask("Сабтаск 1", "Описание", 2, TaskStatus.DONE,
+                LocalDateTime.of(2025, 4, 1, 9, 0), Duration.ofMinutes(30)));
+        epic.addSubtaskInEpic(new Subtask("Сабтаск 2", "Описание", 3, TaskStatus.DONE,
+                LocalDateTime.of(2025, 4, 1, 9, 0), Duration.ofMinutes(60)));
+        epic.addSubtaskInEpic(new Subtask("Сабтаск 3", "Описание", 4, TaskStatus.NEW,
+                LocalDateTime.of(2025, 4, 1, 12, 0), Duration.ofMinutes(15)));
+        assertEquals(Duration.ofMinutes(105), epic.getDuration(), "Длительность Эпика должна быть суммой");
+        assertEquals(LocalDateTime.of(2025, 4, 1, 12, 15), epic.getEndTime(), "Неверное время окончания Эпика");
+
+        // Удаляем последний и один из ранних Сабтасков
+        epic.deleteSubtaskInEpic(4);
+        epic.deleteSubtaskInEpic(2);
+
+        // Проверяем, что границы, длительность и статус пересчитались по оставшемуся Сабтаску
+        assertEquals(LocalDateTime.of(2025, 4, 1, 9, 0), epic.getStartTime(), "Неверное время начала Эпика");
+        assertEquals(LocalDateTime.of(2025, 4, 1, 10, 0), epic.getEndTime(), "Неверное время окончания Эпика");
+        assertEquals(Duration.ofMinutes(60), epic.getDuration(), "Неверная длительность Эпика");
+        assertEquals(TaskStatus.DONE, epic.getStatus(), "Статус Эпика должен быть DONE");
+
+        // Меняем оставшийся Сабтаск на месте и передаём его в Эпик повторно
+        var sub = epic.getEpicSubtasks().getFirst();
+        sub.setStatus(TaskStatus.IN_PROGRESS);
+        sub.setStartTime(LocalDateTime.of(2025, 4, 2, 9, 0));
+        epic.updateSubtaskInEpic(sub);
+        assertEquals(TaskStatus.IN_PROGRESS, epic.getStatus(), "Статус Эпика должен быть IN_PROGRESS");
+        assertEquals(LocalDateTime.of(2025, 4, 2, 10, 0), epic.getEndTime(), "Время окончания не пересчиталось");
+
+        // После удаления всех Сабтасков поля времени Эпика сбрасываются
+        epic.deleteAllEpicSubtasks();
+        assertNull(epic.getStartTime(), "У пустого Эпика не должно быть времени начала");
+        assertEquals(TaskStatus.NEW, epic.getStatus(), "Статус пустого Эпика должен быть NEW");
+    }
+}
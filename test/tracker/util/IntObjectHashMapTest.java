@@ -0,0 +1,68 @@
+package tracker.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+class IntObjectHashMapTest {
+    @Test
+    @DisplayName("Случайные вставки и удаления совпадают с HashMap")
+    void shouldMatchHashMapOnRandomOperations() {
+        // Выполняем одинаковые операции над IntObjectHashMap и HashMap
+        var random = new Random(42);
+        var expected = new HashMap<Integer, Integer>();
+        var actual = new IntObjectHashMap<Integer>();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextBoolean() ? random.nextInt(2_000) : random.nextInt();
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), actual.remove(key), "Удалённые значения отличаются");
+            } else {
+                Integer value = i;
+                assertEquals(expected.put(key, value), actual.put(key, value), "Заменённые значения отличаются");
+            }
+        }
+
+        // Проверяем размер, поиск по ключам и обход
+        assertEquals(expected.size(), actual.size(), "Размеры коллекций отличаются");
+        for (var entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get((int) entry.getKey()), "Значения по ключу отличаются");
+        }
+        assertEquals(expected, actual, "Содержимое коллекций отличается");
+    }
+
+    @Test
+    @DisplayName("Удаление через итератор не пропускает и не повторяет элементы")
+    void shouldRemoveWhileIterating() {
+        // Заполняем коллекцию ключами, которые попадают в одни и те же ячейки
+        var map = new IntObjectHashMap<String>();
+        for (int i = 0; i < 200; i++) {
+            map.put(i * 16, "значение " + i);
+        }
+
+        // Удаляем через итератор каждый второй ключ и запоминаем все пройденные
+        List<Integer> visited = new ArrayList<>();
+        var iterator = map.keySet().iterator();
+        while (iterator.hasNext()) {
+            int key = iterator.next();
+            visited.add(key);
+            if (key % 32 == 0) {
+                iterator.remove();
+            }
+        }
+
+        // Проверяем, что каждый ключ был пройден ровно один раз
+        assertEquals(200, visited.size(), "Каждый ключ должен быть пройден один раз");
+        assertEquals(100, map.size(), "Должна остаться половина ключей");
+        assertNull(map.get(0), "Ключ 0 должен быть удалён");
+        assertFalse(map.containsKey(64), "Ключ 64 должен быть удалён");
+        assertEquals("значение 1", map.get(16), "Ключ 16 должен остаться");
+    }
+}